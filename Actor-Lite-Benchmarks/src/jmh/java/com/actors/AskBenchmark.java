@@ -0,0 +1,100 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures a request and it's reply, through {@link ActorSystemInstance#ask(Message, Class, long)},
+ * against registering a temporary Actor at the {@link Message#getReplyToActor()} address,
+ * sending the request, and unregistering the temporary Actor after it receives the reply
+ * <p>
+ * all the Actors observe on {@link Schedulers#trampoline()}, so the reply is received before
+ * the benchmark method returns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AskBenchmark {
+
+    private final Responder responder = new Responder();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerResponder() {
+        system = ActorSystemInstance.getInstance("AskBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        responder.system = system;
+        system.register(responder);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterResponder() {
+        system.unregister(responder);
+    }
+
+    @Benchmark
+    public Object ask() {
+        return system.ask(new Message(1), Responder.class, 1000).blockingGet();
+    }
+
+    @Benchmark
+    public Object temporaryReplyActor() {
+        ReplyCollector collector = new ReplyCollector();
+        system.register(collector);
+        system.send(new Message(1, null, ReplyCollector.class), Responder.class);
+        system.unregister(collector);
+        return collector.reply;
+    }
+
+    static class Responder implements Actor {
+
+        ActorSystemInstance system;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            system.reply(message, new Message(2));
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class ReplyCollector implements Actor {
+
+        Message reply;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            reply = message;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * compares the throughput of an Actor that handles every {@link Message} in it's own call,
+ * to an Actor that implements {@link OnBatchReceived}, both Actors simulate a sink like a
+ * database, where every call pays a fixed cost (like opening a transaction) and every
+ * {@link Message} pays a smaller cost, the mailboxes are bounded and block the sender when
+ * full, so the score is the rate that the Actor keeps up with
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchDeliveryBenchmark {
+
+    private static final long CALL_COST_TOKENS = 500;
+    private static final long MESSAGE_COST_TOKENS = 20;
+    private static final int CAPACITY = 1024;
+
+    @Param({"16", "64", "256"})
+    int maxBatchSize;
+
+    private final Message message = new Message(1);
+    private final PerMessageActor perMessageActor = new PerMessageActor();
+    private final BatchActor batchActor = new BatchActor();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActors() {
+        batchActor.maxBatchSize = maxBatchSize;
+        system = ActorSystemInstance.getInstance("BatchDeliveryBenchmark-" + maxBatchSize,
+                new ActorSystemConfiguration.Builder()
+                        .spawnActors(false)
+                        .mailboxCapacity(CAPACITY)
+                        .mailboxOverflowPolicy(OverflowPolicy.BLOCK)
+                        .build());
+        system.register(perMessageActor);
+        system.register(batchActor);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActors() {
+        system.unregister(perMessageActor);
+        system.unregister(batchActor);
+    }
+
+    @Benchmark
+    public void sendToPerMessageActor() {
+        system.send(message, PerMessageActor.class);
+    }
+
+    @Benchmark
+    public void sendToBatchActor() {
+        system.send(message, BatchActor.class);
+    }
+
+    static class PerMessageActor implements Actor {
+
+        @Override
+        public void onMessageReceived(Message message) {
+            Blackhole.consumeCPU(CALL_COST_TOKENS);
+            Blackhole.consumeCPU(MESSAGE_COST_TOKENS);
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.single();
+        }
+    }
+
+    static class BatchActor extends PerMessageActor implements OnBatchReceived, OnCreateMailbox {
+
+        int maxBatchSize;
+
+        @Override
+        public void onBatchReceived(List<Message> messages) {
+            Blackhole.consumeCPU(CALL_COST_TOKENS);
+            for (int i = 0, size = messages.size(); i < size; i++) {
+                Blackhole.consumeCPU(MESSAGE_COST_TOKENS);
+            }
+        }
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            mailboxBuilder.maxBatchSize(maxBatchSize);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.actors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures the time it takes many Actors to handle one {@link Message} each, where every
+ * Actor blocks for {@link #BLOCKING_MILLIS} to simulate I/O, like a server or a database call,
+ * the modes are :
+ * <ul>
+ * <li>{@code io} : every Actor observes on {@link Schedulers#io()}, which holds a platform
+ * thread for every Actor that is blocked</li>
+ * <li>{@code dispatcher} : every Actor is hosted by a {@link Dispatcher} of
+ * {@link #DISPATCHER_THREADS} platform threads, so the blocked Actors wait for a free thread</li>
+ * <li>{@code virtualThreads} : every Actor is hosted by {@link Dispatcher#virtualThreads()}</li>
+ * </ul>
+ * the {@code virtualThreads} mode needs Java 21 or later, and the {@code io} mode with
+ * {@code 100000} Actors needs the process limits to allow as many platform threads, run
+ * it through :
+ * <p>
+ * {@code BlockingActorsBenchmark -jvmArgs -Xss256k}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BlockingActorsBenchmark {
+
+    private static final long BLOCKING_MILLIS = 10;
+    private static final int DISPATCHER_THREADS = 256;
+
+    @Param({"1000", "100000"})
+    int actors;
+
+    @Param({"io", "dispatcher", "virtualThreads"})
+    String mode;
+
+    private final Message message = new Message(1);
+    private Scheduler scheduler;
+    private Mailbox[] mailboxes;
+    private volatile CountDownLatch handled;
+
+    @Setup(Level.Trial)
+    public void createMailboxes() {
+        scheduler = scheduler();
+        mailboxes = new Mailbox[actors];
+        for (int i = 0; i < actors; i++) {
+            mailboxes[i] = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+            mailboxes[i].attach(scheduler, blockThenCountDown(), printStackTrace(), doNothing());
+        }
+    }
+
+    private Scheduler scheduler() {
+        switch (mode) {
+            case "dispatcher":
+                return new Dispatcher(DISPATCHER_THREADS);
+            case "virtualThreads":
+                return Dispatcher.virtualThreads();
+            default:
+                return Schedulers.io();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeMailboxes() {
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.close();
+        }
+        if (scheduler instanceof Dispatcher) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void sendToEveryActorThenAwaitAll() throws InterruptedException {
+        handled = new CountDownLatch(actors);
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.offer(message);
+        }
+        handled.await();
+    }
+
+    private Consumer<Message> blockThenCountDown() {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) throws Exception {
+                Thread.sleep(BLOCKING_MILLIS);
+                handled.countDown();
+            }
+        };
+    }
+
+    private static Consumer<Throwable> printStackTrace() {
+        return new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        };
+    }
+
+    private static Action doNothing() {
+        return new Action() {
+            @Override
+            public void run() {
+
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * sends a burst of progress updates, which share one {@link Message} id, to an Actor that
+ * handles them on a single thread, like the main thread, and waits until it handles the last
+ * one, with a {@link MailboxType#UNBOUNDED_LINKED} Mailbox every update is delivered, while a
+ * {@link MailboxType#CONFLATING} Mailbox delivers only the latest pending update
+ * <p>
+ * the {@code deliveries} secondary result counts the messages that the Actor handled
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflatingMailboxBenchmark {
+
+    private static final int MSG_PROGRESS = 1;
+
+    @Param({"1", "5"})
+    int mailboxType;
+
+    @Param({"500"})
+    int burst;
+
+    private final ProgressActor actor = new ProgressActor();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActor() {
+        system = ActorSystemInstance.getInstance("ConflatingMailboxBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        actor.mailboxType = mailboxType;
+        system.register(actor);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActor() {
+        system.unregister(actor);
+    }
+
+    @Benchmark
+    public void sendBurst(DeliveryCounters counters) {
+        long deliveries = actor.deliveries;
+        int last = actor.progress + burst;
+        for (int progress = actor.progress + 1; progress <= last; progress++) {
+            system.send(new Message(MSG_PROGRESS, progress), ProgressActor.class);
+        }
+        while (actor.progress != last) {
+            Thread.yield();
+        }
+        counters.deliveries += actor.deliveries - deliveries;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DeliveryCounters {
+
+        public long deliveries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            deliveries = 0;
+        }
+    }
+
+    static class ProgressActor implements Actor, OnCreateMailbox {
+
+        int mailboxType;
+        volatile int progress;
+        volatile long deliveries;
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            mailboxBuilder.mailboxType(mailboxType);
+        }
+
+        @Override
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void onMessageReceived(Message message) {
+            Blackhole.consumeCPU(256);
+            progress = message.getContent();
+            deliveries++;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.single();
+        }
+    }
+}
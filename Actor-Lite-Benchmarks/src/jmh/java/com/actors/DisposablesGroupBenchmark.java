@@ -0,0 +1,104 @@
+package com.actors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+
+/**
+ * compares the bookkeeping of {@link #messages} scheduled messages in a
+ * {@link DisposablesGroup}, to a {@link HashMap} of boxed ids, which is how they were tracked
+ * before, once while scheduling then cancelling every {@link Message}, and once while
+ * scheduling all of them then cancelling them all at once, like when an Activity is destroyed
+ * <p>
+ * the ids are above the range of the cached {@link Integer} instances, like the ids of most
+ * messages, run it with {@code -prof gc} to compare the allocations
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisposablesGroupBenchmark {
+
+    private static final int FIRST_ID = 1000;
+
+    @Param({"16", "1024"})
+    int messages;
+
+    private final Disposable disposable = Disposables.disposed();
+    private DisposablesGroup group;
+    private HashMap<Integer, Disposable> boxedGroup;
+
+    @Setup(Level.Trial)
+    public void createGroups() {
+        group = new DisposablesGroup();
+        boxedGroup = new HashMap<>();
+    }
+
+    @Benchmark
+    public DisposablesGroup putThenRemoveEach() {
+        for (int id = FIRST_ID; id < FIRST_ID + messages; id++) {
+            if (!group.containsKey(id)) {
+                group.put(id, disposable);
+            }
+            group.remove(id);
+        }
+        return group;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Disposable> putThenRemoveEachBoxed() {
+        for (int id = FIRST_ID; id < FIRST_ID + messages; id++) {
+            if (!boxedGroup.containsKey(id)) {
+                boxedGroup.put(id, disposable);
+            }
+            disposeIfNotDisposed(boxedGroup.remove(id));
+        }
+        return boxedGroup;
+    }
+
+    @Benchmark
+    public DisposablesGroup putAllThenClear() {
+        for (int id = FIRST_ID; id < FIRST_ID + messages; id++) {
+            group.put(id, disposable);
+        }
+        group.clear();
+        return group;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Disposable> putAllThenClearBoxed() {
+        for (int id = FIRST_ID; id < FIRST_ID + messages; id++) {
+            boxedGroup.put(id, disposable);
+        }
+        Iterator<Disposable> iterator = boxedGroup.values().iterator();
+        while (iterator.hasNext()) {
+            disposeIfNotDisposed(iterator.next());
+            iterator.remove();
+        }
+        return boxedGroup;
+    }
+
+    private static void disposeIfNotDisposed(Disposable disposable) {
+        if (disposable != null && !disposable.isDisposed()) {
+            disposable.dispose();
+        }
+    }
+}
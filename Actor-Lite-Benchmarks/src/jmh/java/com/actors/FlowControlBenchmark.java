@@ -0,0 +1,134 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * a fast producer sends a burst of messages to a slow Actor on an other thread, either through
+ * {@link ActorSystemInstance#send(Message, Class[])}, or through a {@link Flowable} that is
+ * subscribed to {@link ActorSystemInstance#sink(Class, int)}, and waits until the Actor
+ * handles all of them
+ * <p>
+ * every iteration runs one operation, and the {@code peakPendingMessages} secondary result
+ * holds the largest number of messages that waited in the Actor's {@link Mailbox} during it,
+ * with {@code send} it grows with the burst, while with {@code sink} it stays within the
+ * maximum pending messages of the sink
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowControlBenchmark {
+
+    private static final int MAX_PENDING = 128;
+
+    @Param({"1000000"})
+    int messages;
+
+    private final SlowActor actor = new SlowActor();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActor() {
+        system = ActorSystemInstance.getInstance("FlowControlBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        system.register(actor);
+        actor.mailbox = system.getMailboxes().get(SlowActor.class).blockingFirst();
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActor() {
+        system.unregister(actor);
+    }
+
+    @Benchmark
+    public void send(PendingCounters counters) {
+        long expected = actor.received + messages;
+        for (int i = 0; i < messages; i++) {
+            system.send(new Message(i), SlowActor.class);
+        }
+        awaitReceived(expected, counters);
+    }
+
+    @Benchmark
+    public void sink(PendingCounters counters) {
+        long expected = actor.received + messages;
+        Flowable.range(0, messages)
+                .map(new Function<Integer, Message>() {
+                    @Override
+                    public Message apply(Integer id) {
+                        return new Message(id);
+                    }
+                })
+                .subscribe(system.sink(SlowActor.class, MAX_PENDING));
+        awaitReceived(expected, counters);
+    }
+
+    private void awaitReceived(long expected, PendingCounters counters) {
+        while (actor.received < expected) {
+            Thread.yield();
+        }
+        counters.peakPendingMessages = actor.peakPending;
+        actor.peakPending = 0;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PendingCounters {
+
+        public long peakPendingMessages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakPendingMessages = 0;
+        }
+    }
+
+    static class SlowActor implements Actor {
+
+        volatile Mailbox mailbox;
+        volatile long received;
+        volatile int peakPending;
+
+        @Override
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void onMessageReceived(Message message) {
+            Blackhole.consumeCPU(64);
+            int pending = mailbox.size();
+            if (pending > peakPending) {
+                peakPending = pending;
+            }
+            received++;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.single();
+        }
+    }
+}
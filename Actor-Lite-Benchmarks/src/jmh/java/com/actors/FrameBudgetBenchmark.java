@@ -0,0 +1,157 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+
+/**
+ * sends a burst of messages to an Actor on a single "UI" thread, then posts a frame callback to
+ * the same thread, and measures the time until the frame callback runs, the thread works like
+ * a {@code Looper}, every scheduled task is posted to the end of it's queue
+ * <p>
+ * with no turn budget, the frame waits for the whole burst to be delivered, while with a
+ * budget, set through {@link MailboxBuilder#observeOn(Scheduler, long, TimeUnit)}, the frame
+ * runs after the first turn that used it's budget
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameBudgetBenchmark {
+
+    @Param({"0", "4"})
+    long turnBudgetMillis;
+
+    @Param({"500"})
+    int burst;
+
+    private final UiActor actor = new UiActor();
+    private ExecutorService uiThread;
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActor() {
+        uiThread = Executors.newSingleThreadExecutor();
+        actor.scheduler = new LooperScheduler(uiThread);
+        actor.turnBudgetMillis = turnBudgetMillis;
+        system = ActorSystemInstance.getInstance("FrameBudgetBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        system.register(actor);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActor() {
+        system.unregister(actor);
+        uiThread.shutdown();
+    }
+
+    @Benchmark
+    public void frameDelay() throws InterruptedException {
+        for (int i = 0; i < burst; i++) {
+            system.send(1, UiActor.class);
+        }
+        final CountDownLatch frame = new CountDownLatch(1);
+        uiThread.execute(new Runnable() {
+            @Override
+            public void run() {
+                frame.countDown();
+            }
+        });
+        frame.await();
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitBurst() {
+        while (system.getMailboxes().get(UiActor.class).blockingFirst().size() > 0) {
+            Thread.yield();
+        }
+    }
+
+    static class UiActor implements Actor, OnCreateMailbox {
+
+        Scheduler scheduler;
+        long turnBudgetMillis;
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            if (turnBudgetMillis > 0) {
+                mailboxBuilder.observeOn(scheduler, turnBudgetMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void onMessageReceived(Message message) {
+            Blackhole.consumeCPU(10000);
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return scheduler;
+        }
+    }
+
+    /**
+     * a {@link Scheduler} that posts every task to the end of an executor's queue, the same as
+     * a {@code Handler}, delays are not needed by this benchmark
+     */
+    private static class LooperScheduler extends Scheduler {
+
+        private final ExecutorService executor;
+
+        LooperScheduler(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @NonNull
+        @Override
+        public Worker createWorker() {
+            return new Worker() {
+
+                private volatile boolean disposed;
+
+                @NonNull
+                @Override
+                public Disposable schedule(@NonNull Runnable task, long delay,
+                                           @NonNull TimeUnit unit) {
+                    executor.execute(task);
+                    return Disposables.empty();
+                }
+
+                @Override
+                public void dispose() {
+                    disposed = true;
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return disposed;
+                }
+            };
+        }
+    }
+}
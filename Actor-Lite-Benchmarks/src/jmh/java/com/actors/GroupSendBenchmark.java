@@ -0,0 +1,152 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures broadcasting a {@link Message} to sixteen Actors, through
+ * {@link ActorSystemInstance#send(Message, Class[])} which looks up the mailboxes of every
+ * address on every send, and through an {@link ActorGroup} which loops over the mailboxes it
+ * holds
+ * <p>
+ * the Actors are postponed, and there mailboxes are full with a capacity of one message and
+ * {@link OverflowPolicy#DROP_NEWEST}, so every send only finds the mailboxes and drops the
+ * message, and the score is the cost of routing the message, not delivering it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupSendBenchmark {
+
+    private final Message message = new Message(1);
+    private final Actor[] actors = {new Member01(), new Member02(), new Member03(),
+            new Member04(), new Member05(), new Member06(), new Member07(), new Member08(),
+            new Member09(), new Member10(), new Member11(), new Member12(), new Member13(),
+            new Member14(), new Member15(), new Member16()};
+    private final Class<?>[] members = new Class<?>[actors.length];
+    private ActorSystemInstance system;
+    private ActorGroup group;
+
+    @Setup(Level.Trial)
+    public void registerActors() {
+        system = ActorSystemInstance.getInstance("GroupSendBenchmark",
+                new ActorSystemConfiguration.Builder()
+                        .spawnActors(false)
+                        .mailboxCapacity(1)
+                        .mailboxOverflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .build());
+        for (int i = 0; i < actors.length; i++) {
+            members[i] = actors[i].getClass();
+            system.postpone(actors[i]);
+        }
+        system.send(message, members);
+        group = system.createGroup("members", members);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActors() {
+        system.removeGroup("members");
+        for (Actor actor : actors) {
+            system.unregister(actor);
+        }
+    }
+
+    @Benchmark
+    public void sendToAllAddresses() {
+        system.send(message, members);
+    }
+
+    @Benchmark
+    public void sendToGroup() {
+        group.send(message);
+    }
+
+    @Benchmark
+    public void sendToGroupByName() {
+        system.sendToGroup(message, "members");
+    }
+
+    static class Member implements Actor {
+
+        volatile Message lastMessage;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            lastMessage = message;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class Member01 extends Member {
+    }
+
+    static class Member02 extends Member {
+    }
+
+    static class Member03 extends Member {
+    }
+
+    static class Member04 extends Member {
+    }
+
+    static class Member05 extends Member {
+    }
+
+    static class Member06 extends Member {
+    }
+
+    static class Member07 extends Member {
+    }
+
+    static class Member08 extends Member {
+    }
+
+    static class Member09 extends Member {
+    }
+
+    static class Member10 extends Member {
+    }
+
+    static class Member11 extends Member {
+    }
+
+    static class Member12 extends Member {
+    }
+
+    static class Member13 extends Member {
+    }
+
+    static class Member14 extends Member {
+    }
+
+    static class Member15 extends Member {
+    }
+
+    static class Member16 extends Member {
+    }
+}
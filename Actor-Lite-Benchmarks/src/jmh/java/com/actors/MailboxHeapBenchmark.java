@@ -0,0 +1,109 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * sends a few million messages to one long living Actor per iteration, and reports the heap
+ * that is still in use after a full GC, since a {@link Mailbox} releases every delivered
+ * {@link Message}, the retained heap should stay the same on every iteration instead of
+ * growing with the number of messages sent so far
+ * <p>
+ * every iteration runs one operation, and the {@code retainedHeapMegabytes} secondary result
+ * printed after each iteration holds the heap measured at the end of it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MailboxHeapBenchmark {
+
+    @Param({"10000000"})
+    int messages;
+
+    private final Message message = new Message(1);
+    private final CountingActor actor = new CountingActor();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActor() {
+        system = ActorSystemInstance.getInstance("MailboxHeapBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        system.register(actor);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActor() {
+        system.unregister(actor);
+    }
+
+    @Benchmark
+    public void sendMessages(HeapCounters counters) {
+        long expected = actor.received + messages;
+        for (int i = 0; i < messages; i++) {
+            system.send(message, CountingActor.class);
+        }
+        while (actor.received < expected) {
+            Thread.yield();
+        }
+        counters.retainedHeapMegabytes = retainedHeapMegabytes();
+    }
+
+    private static long retainedHeapMegabytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+
+        public long retainedHeapMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedHeapMegabytes = 0;
+        }
+    }
+
+    static class CountingActor implements Actor {
+
+        volatile long received;
+
+        @Override
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void onMessageReceived(Message message) {
+            received++;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures the overhead of {@link ActorSystemConfiguration.Builder#mailboxMetrics(boolean)}
+ * on sending and delivering a {@link Message}, with the metrics disabled, and enabled with
+ * the default sampling interval, a shorter one, and with every message timed
+ * <p>
+ * the receiving Actor observes on {@link Schedulers#trampoline()}, so every operation puts a
+ * message in the mailbox, takes it out and delivers it on the sending thread
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailboxMetricsBenchmark {
+
+    /**
+     * {@code 0} for no metrics, else the sampling interval of the metrics
+     */
+    @Param({"0", "64", "16", "1"})
+    public int samplingInterval;
+
+    private final Message message = new Message(1);
+    private final Class<?>[] receiver = {Receiver.class};
+    private final Receiver actor = new Receiver();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActor() {
+        ActorSystemConfiguration.Builder configuration = new ActorSystemConfiguration.Builder()
+                .spawnActors(false);
+        if (samplingInterval > 0) {
+            configuration.mailboxMetrics(true).mailboxMetricsSamplingInterval(samplingInterval);
+        }
+        system = ActorSystemInstance.getInstance("MailboxMetricsBenchmark-" + samplingInterval,
+                configuration.build());
+        system.register(actor);
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActor() {
+        system.unregister(actor);
+    }
+
+    @Benchmark
+    public void sendAndDeliver() {
+        system.send(message, receiver);
+    }
+
+    static class Receiver implements Actor {
+
+        volatile Message lastMessage;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            lastMessage = message;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+}
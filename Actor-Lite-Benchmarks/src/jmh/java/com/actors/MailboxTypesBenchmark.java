@@ -0,0 +1,153 @@
+package com.actors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * compares the enqueue / dequeue throughput of every {@link MailboxType}, once while the Actor
+ * receives on the sending thread, and once while four threads send to an Actor that receives
+ * on it's own thread, every Mailbox has a capacity of {@link #CAPACITY} and blocks the senders
+ * when it is full, so the score is the rate that the Actor keeps up with
+ * <p>
+ * {@link #sendOneMessageThenAwaitDelivery()} measures the latency of messages that are sent one
+ * after the other to an Actor with a thread of it's own, this is where the consumer spin of
+ * {@link MailboxType#SINGLE_CONSUMER_SPIN} pays off, since the next {@link Message} arrives
+ * while the Actor's thread is still spinning, instead of waking it up again
+ * <p>
+ * run it with {@code -prof gc} to compare the allocation rate of every type
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailboxTypesBenchmark {
+
+    private static final int CAPACITY = 1024;
+
+    @Param({"UNBOUNDED_LINKED", "BOUNDED_ARRAY", "PRIORITY", "SINGLE_CONSUMER_SPIN"})
+    String type;
+
+    private final Message message = new Message(1);
+    private final AtomicLong delivered = new AtomicLong();
+    private Mailbox sameThreadMailbox;
+    private Mailbox otherThreadMailbox;
+    private ExecutorService actorThread;
+    private Mailbox ownThreadMailbox;
+
+    @Setup(Level.Trial)
+    public void createMailboxes() {
+        sameThreadMailbox = mailbox(Schedulers.trampoline(), doNothing());
+        otherThreadMailbox = mailbox(Schedulers.single(), doNothing());
+        actorThread = Executors.newSingleThreadExecutor();
+        ownThreadMailbox = mailbox(Schedulers.from(actorThread), countDelivered(delivered));
+    }
+
+    private Mailbox mailbox(Scheduler scheduler, Consumer<Message> onMessageReceived) {
+        MailboxBuilder builder = new MailboxBuilder(null, new ActorSystemConfiguration.Builder().build())
+                .mailboxType(mailboxType())
+                .capacity(CAPACITY)
+                .overflowPolicy(OverflowPolicy.BLOCK)
+                .observeOn(scheduler)
+                .onMessageReceived(onMessageReceived);
+        if (MailboxType.PRIORITY == mailboxType()) {
+            builder.priority(byId());
+        }
+        return builder.build().getMailbox();
+    }
+
+    @MailboxType
+    private int mailboxType() {
+        switch (type) {
+            case "BOUNDED_ARRAY":
+                return MailboxType.BOUNDED_ARRAY;
+            case "PRIORITY":
+                return MailboxType.PRIORITY;
+            case "SINGLE_CONSUMER_SPIN":
+                return MailboxType.SINGLE_CONSUMER_SPIN;
+            default:
+                return MailboxType.UNBOUNDED_LINKED;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeMailboxes() {
+        sameThreadMailbox.close();
+        otherThreadMailbox.close();
+        ownThreadMailbox.close();
+        actorThread.shutdown();
+    }
+
+    @Benchmark
+    public boolean offerAndReceiveOnSameThread() {
+        return sameThreadMailbox.offer(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean offerFromFourThreadsAndReceiveOnActorThread() {
+        return otherThreadMailbox.offer(message);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long sendOneMessageThenAwaitDelivery() {
+        long expected = delivered.get() + 1;
+        ownThreadMailbox.offer(message);
+        while (delivered.get() < expected) {
+            // busy wait, parking the benchmark thread would dominate the measured latency
+        }
+        return expected;
+    }
+
+    private static Consumer<Message> doNothing() {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+
+            }
+        };
+    }
+
+    private static Consumer<Message> countDelivered(final AtomicLong delivered) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                delivered.incrementAndGet();
+            }
+        };
+    }
+
+    private static Comparator<Message> byId() {
+        return new Comparator<Message>() {
+            @Override
+            public int compare(Message left, Message right) {
+                return left.getId() < right.getId() ? -1 : (left.getId() == right.getId() ? 0 : 1);
+            }
+        };
+    }
+}
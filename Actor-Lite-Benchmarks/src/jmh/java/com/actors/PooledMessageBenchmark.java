@@ -0,0 +1,117 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * compares sending a new {@link Message} for every send with sending a {@link PooledMessage},
+ * through {@link ActorSystemInstance#send(Message, Class[])} to an Actor with a
+ * {@link MailboxType#BOUNDED_ARRAY} Mailbox, which does not allocate a node per message, the
+ * Mailbox capacity is below the size of the pool, so every pending message can go back to it
+ * <p>
+ * run it with {@code -prof gc}, the {@code gc.alloc.rate.norm} of the pooled sends is the
+ * allocation of the sending path without the {@link Message}, for the Actor that receives on
+ * it's own thread it is near zero, since it's drain is scheduled only when it's Mailbox becomes
+ * not empty, while {@link Schedulers#trampoline()} allocates a task for every scheduled drain
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledMessageBenchmark {
+
+    private static final int CAPACITY = 32;
+
+    private final Class<?>[] sameThreadActor = {SameThreadActor.class};
+    private final Class<?>[] otherThreadActor = {OtherThreadActor.class};
+    private final Actor[] actors = {new SameThreadActor(), new OtherThreadActor()};
+    private ActorSystemInstance system;
+    private int id;
+
+    @Setup(Level.Trial)
+    public void registerActors() {
+        system = ActorSystemInstance.getInstance("PooledMessageBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        for (Actor actor : actors) {
+            system.register(actor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActors() {
+        for (Actor actor : actors) {
+            system.unregister(actor);
+        }
+    }
+
+    @Benchmark
+    public void sendNewMessageOnSameThread() {
+        system.send(new Message(++id, this), sameThreadActor);
+    }
+
+    @Benchmark
+    public void sendPooledMessageOnSameThread() {
+        system.send(PooledMessage.obtain(++id, this), sameThreadActor);
+    }
+
+    @Benchmark
+    public void sendNewMessageToActorThread() {
+        system.send(new Message(++id, this), otherThreadActor);
+    }
+
+    @Benchmark
+    public void sendPooledMessageToActorThread() {
+        system.send(PooledMessage.obtain(++id, this), otherThreadActor);
+    }
+
+    static class SameThreadActor implements OnCreateMailbox {
+
+        volatile int lastId;
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            mailboxBuilder.mailboxType(MailboxType.BOUNDED_ARRAY)
+                    .capacity(CAPACITY)
+                    .overflowPolicy(OverflowPolicy.BLOCK);
+        }
+
+        @Override
+        public void onMessageReceived(Message message) {
+            lastId = message.getId();
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class OtherThreadActor extends SameThreadActor {
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.single();
+        }
+    }
+}
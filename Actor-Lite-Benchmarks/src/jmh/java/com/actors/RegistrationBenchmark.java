@@ -0,0 +1,81 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures the cost of one {@link ActorSystemInstance#register(Object)} followed by one
+ * {@link ActorSystemInstance#unregister(Object)}, which is what every Activity or Fragment
+ * pays through it's life-cycle, once for an Actor that has no other Actors of it's type, and
+ * once while {@link #OTHER_ACTORS} other Actors are registered in the same Actor-System
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final int OTHER_ACTORS = 100;
+
+    private final RegisteredActor actor = new RegisteredActor();
+    private ActorSystemInstance emptySystem;
+    private ActorSystemInstance busySystem;
+
+    @Setup(Level.Trial)
+    public void createActorSystems() {
+        emptySystem = ActorSystemInstance.getInstance("RegistrationBenchmark-empty",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        busySystem = ActorSystemInstance.getInstance("RegistrationBenchmark-busy",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        for (int i = 0; i < OTHER_ACTORS; i++) {
+            busySystem.register(new OtherActor());
+        }
+    }
+
+    @Benchmark
+    public void registerThenUnregister() {
+        emptySystem.register(actor);
+        emptySystem.unregister(actor);
+    }
+
+    @Benchmark
+    public void registerThenUnregisterBetweenOtherActors() {
+        busySystem.register(actor);
+        busySystem.unregister(actor);
+    }
+
+    static class RegisteredActor implements Actor {
+
+        @Override
+        public void onMessageReceived(Message message) {
+
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class OtherActor extends RegisteredActor {
+    }
+}
@@ -0,0 +1,122 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures {@link ScheduledMessageSender#send(Message, Class)} for a {@link Message} that is
+ * scheduled far enough to never fire during the benchmark, once followed by
+ * {@link Cancellable#cancel()}, which is the common case of a timeout that is not needed any
+ * more, and once for a {@link Message} that is already scheduled, every scheduled
+ * {@link Message} has it's own id, since a duplicate id is not scheduled again
+ * <p>
+ * {@link #sendThenCancelFromFourThreads(ThreadState)} schedules from four threads, every
+ * thread to it's own Actor, so the score shows if the schedules of unrelated Actors wait for
+ * each other
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduledMessageSenderBenchmark {
+
+    private static final long DELAY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Message scheduledMessage = new Message(-1);
+    private ActorSystemInstance system;
+    private ScheduledMessageSender sender;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void createSender() {
+        system = ActorSystemInstance.getInstance("ScheduledMessageSenderBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        sender = ActorScheduler.after(DELAY_MILLIS, system);
+        sender.send(scheduledMessage, ScheduledActor.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cancelScheduledMessages() {
+        ActorScheduler.cancel(ScheduledActor.class);
+    }
+
+    @Benchmark
+    public Object sendThenCancel() {
+        return sender.send(new Message(nextId++), ScheduledActor.class).cancel();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object sendThenCancelFromFourThreads(ThreadState thread) {
+        return sender.send(new Message(thread.nextId++), thread.actorAddress).cancel();
+    }
+
+    @Benchmark
+    public Cancellable sendAlreadyScheduled() {
+        return sender.send(scheduledMessage, ScheduledActor.class);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private static final Class<?>[] addresses = {ScheduledActorOne.class,
+                ScheduledActorTwo.class, ScheduledActorThree.class, ScheduledActorFour.class};
+        private static int threadsCount;
+
+        Class<?> actorAddress;
+        int nextId;
+
+        @Setup(Level.Trial)
+        public void selectActor() {
+            synchronized (ThreadState.class) {
+                actorAddress = addresses[threadsCount++ % addresses.length];
+            }
+        }
+    }
+
+    static class ScheduledActor implements Actor {
+
+        @Override
+        public void onMessageReceived(Message message) {
+
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class ScheduledActorOne extends ScheduledActor {
+    }
+
+    static class ScheduledActorTwo extends ScheduledActor {
+    }
+
+    static class ScheduledActorThree extends ScheduledActor {
+    }
+
+    static class ScheduledActorFour extends ScheduledActor {
+    }
+}
@@ -0,0 +1,93 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures the latency of {@link ActorSystemInstance#send(Message, Class[])} to one Actor while
+ * the number of registered Actors grows, the latency should stay flat since resolving the
+ * mailbox of an address does not depend on how many mailboxes are registered
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SendLatencyBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int registeredActors;
+
+    private final Message message = new Message(1);
+    private final List<Object> actors = new ArrayList<>();
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActors() {
+        system = ActorSystemInstance.getInstance("SendLatencyBenchmark-" + registeredActors,
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+
+        TargetActor target = new TargetActor();
+        system.register(target);
+        actors.add(target);
+
+        for (int i = 1; i < registeredActors; i++) {
+            IdleActor actor = new IdleActor();
+            system.register(actor);
+            actors.add(actor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActors() {
+        for (Object actor : actors) {
+            system.unregister(actor);
+        }
+        actors.clear();
+    }
+
+    @Benchmark
+    public void sendToOneActor() {
+        system.send(message, TargetActor.class);
+    }
+
+    static class TargetActor implements Actor {
+
+        volatile Message lastMessage;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            lastMessage = message;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class IdleActor extends TargetActor {
+    }
+}
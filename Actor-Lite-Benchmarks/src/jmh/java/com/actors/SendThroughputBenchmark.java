@@ -0,0 +1,95 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures how many messages per second can pass through
+ * {@link ActorSystemInstance#send(Message, Class[])}, to one Actor and to multiple Actors,
+ * the receiving Actors observe on {@link Schedulers#trampoline()} so the score is dominated by
+ * the sending path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SendThroughputBenchmark {
+
+    private final Message message = new Message(1);
+    private final Class<?>[] oneActor = {ActorOne.class};
+    private final Class<?>[] fourActors = {ActorOne.class, ActorTwo.class,
+            ActorThree.class, ActorFour.class};
+    private final Actor[] actors = {new ActorOne(), new ActorTwo(),
+            new ActorThree(), new ActorFour()};
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void registerActors() {
+        system = ActorSystemInstance.getInstance("SendThroughputBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build());
+        for (Actor actor : actors) {
+            system.register(actor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void unregisterActors() {
+        for (Actor actor : actors) {
+            system.unregister(actor);
+        }
+    }
+
+    @Benchmark
+    public void sendToOneActor() {
+        system.send(message, oneActor);
+    }
+
+    @Benchmark
+    public void sendToFourActors() {
+        system.send(message, fourActors);
+    }
+
+    static class ActorOne implements Actor {
+
+        volatile Message lastMessage;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            lastMessage = message;
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    static class ActorTwo extends ActorOne {
+    }
+
+    static class ActorThree extends ActorOne {
+    }
+
+    static class ActorFour extends ActorOne {
+    }
+}
@@ -0,0 +1,147 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import com.actors.annotations.Spawn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures the start / stop cycles of owners in a deep hierarchy of {@link Spawn} annotations,
+ * like nested Fragments where every level spawns the Actors of the next level, once for the
+ * root of a hierarchy of 16 levels, which spawns and clears all the levels, and once for a leaf
+ * owner that starts and stops while the whole hierarchy is registered
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnHierarchyBenchmark {
+
+    private final Level01 root = new Level01();
+    private final LeafOwner leafOwner = new LeafOwner();
+    private ActorSystemInstance emptySystem;
+    private ActorSystemInstance hierarchySystem;
+
+    @Setup(Level.Trial)
+    public void createSystems() {
+        emptySystem = ActorSystemInstance.getInstance("SpawnHierarchyBenchmark-Empty",
+                new ActorSystemConfiguration.Builder().spawnActors(true).build());
+        hierarchySystem = ActorSystemInstance.getInstance("SpawnHierarchyBenchmark-Hierarchy",
+                new ActorSystemConfiguration.Builder().spawnActors(true).build());
+        hierarchySystem.register(new Level01());
+    }
+
+    @Benchmark
+    public void startThenStopHierarchyRoot() {
+        emptySystem.register(root);
+        emptySystem.unregister(root);
+    }
+
+    @Benchmark
+    public void startThenStopLeafBesideHierarchy() {
+        hierarchySystem.register(leafOwner);
+        hierarchySystem.unregister(leafOwner);
+    }
+
+    static class LeafActor implements Actor {
+
+        @Override
+        public void onMessageReceived(Message message) {
+
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    @Spawn(LeafSpawned.class)
+    static class LeafOwner extends LeafActor {
+    }
+
+    static class LeafSpawned extends LeafActor {
+    }
+
+    @Spawn(Level02.class)
+    static class Level01 extends LeafActor {
+    }
+
+    @Spawn(Level03.class)
+    static class Level02 extends LeafActor {
+    }
+
+    @Spawn(Level04.class)
+    static class Level03 extends LeafActor {
+    }
+
+    @Spawn(Level05.class)
+    static class Level04 extends LeafActor {
+    }
+
+    @Spawn(Level06.class)
+    static class Level05 extends LeafActor {
+    }
+
+    @Spawn(Level07.class)
+    static class Level06 extends LeafActor {
+    }
+
+    @Spawn(Level08.class)
+    static class Level07 extends LeafActor {
+    }
+
+    @Spawn(Level09.class)
+    static class Level08 extends LeafActor {
+    }
+
+    @Spawn(Level10.class)
+    static class Level09 extends LeafActor {
+    }
+
+    @Spawn(Level11.class)
+    static class Level10 extends LeafActor {
+    }
+
+    @Spawn(Level12.class)
+    static class Level11 extends LeafActor {
+    }
+
+    @Spawn(Level13.class)
+    static class Level12 extends LeafActor {
+    }
+
+    @Spawn(Level14.class)
+    static class Level13 extends LeafActor {
+    }
+
+    @Spawn(Level15.class)
+    static class Level14 extends LeafActor {
+    }
+
+    @Spawn(Level16.class)
+    static class Level15 extends LeafActor {
+    }
+
+    static class Level16 extends LeafActor {
+    }
+}
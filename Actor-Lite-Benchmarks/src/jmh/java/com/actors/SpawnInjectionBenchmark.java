@@ -0,0 +1,115 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import com.actors.annotations.Spawn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures {@link ActorsInjector#injectFor(Object)} followed by
+ * {@link ActorsInjector#clearFor(Object)} for an owner annotated with {@link Spawn}, which
+ * creates and registers the spawned Actors, then unregisters them, once for Actors passed as
+ * classes, and once for Actors passed as class names, and once for an owner that is not
+ * annotated, which is the cost every registered Actor pays
+ * <p>
+ * it also measures a full start / stop cycle of a spawning owner, like an Activity that
+ * registers in {@code onStart()} and unregisters in {@code onStop()}, through an
+ * {@link ActorSystemInstance} that spawns Actors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnInjectionBenchmark {
+
+    private final SpawningOwner spawningOwner = new SpawningOwner();
+    private final SpawningByNameOwner spawningByNameOwner = new SpawningByNameOwner();
+    private final NonSpawningOwner nonSpawningOwner = new NonSpawningOwner();
+    private final SpawningOwner startedOwner = new SpawningOwner();
+    private ActorsInjector injector;
+    private ActorSystemInstance spawningSystem;
+
+    @Setup(Level.Trial)
+    public void createInjector() {
+        injector = ActorSystemInstance.getInstance("SpawnInjectionBenchmark",
+                new ActorSystemConfiguration.Builder().spawnActors(false).build())
+                .getActorsInjector();
+        spawningSystem = ActorSystemInstance.getInstance("SpawnInjectionBenchmark-Spawning",
+                new ActorSystemConfiguration.Builder().spawnActors(true).build());
+    }
+
+    @Benchmark
+    public void injectThenClearSpawnedClasses() {
+        injector.injectFor(spawningOwner);
+        injector.clearFor(spawningOwner);
+    }
+
+    @Benchmark
+    public void injectThenClearSpawnedClassNames() {
+        injector.injectFor(spawningByNameOwner);
+        injector.clearFor(spawningByNameOwner);
+    }
+
+    @Benchmark
+    public void injectThenClearWithoutSpawn() {
+        injector.injectFor(nonSpawningOwner);
+        injector.clearFor(nonSpawningOwner);
+    }
+
+    @Benchmark
+    public void startThenStopSpawningOwner() {
+        spawningSystem.register(startedOwner);
+        spawningSystem.unregister(startedOwner);
+    }
+
+    static class NonSpawningOwner implements Actor {
+
+        @Override
+        public void onMessageReceived(Message message) {
+
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    @Spawn({SpawnedOne.class, SpawnedTwo.class, SpawnedThree.class})
+    static class SpawningOwner extends NonSpawningOwner {
+    }
+
+    @Spawn(actorClasses = {"com.actors.SpawnInjectionBenchmark$SpawnedOne",
+            "com.actors.SpawnInjectionBenchmark$SpawnedTwo",
+            "com.actors.SpawnInjectionBenchmark$SpawnedThree"})
+    static class SpawningByNameOwner extends NonSpawningOwner {
+    }
+
+    static class SpawnedOne extends NonSpawningOwner {
+    }
+
+    static class SpawnedTwo extends NonSpawningOwner {
+    }
+
+    static class SpawnedThree extends NonSpawningOwner {
+    }
+}
@@ -0,0 +1,118 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import com.actors.annotations.Spawn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * measures the first registration of an owner annotated with {@link Spawn}, which resolves it's
+ * {@link SpawnTable} then creates the spawned Actors, in a fresh JVM for every measurement, so
+ * the spawned classes are not loaded yet, once through the table generated by the
+ * {@code Actor-Lite-Compiler} annotation processor, and once through reflection, for an owner
+ * that spawns Actors with private constructors, which the generated code can not call, the
+ * classes shared by both paths are loaded before measuring
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class SpawnTableBenchmark {
+
+    @Setup(Level.Trial)
+    public void loadActorsInjector(Blackhole blackhole) {
+        blackhole.consume(ActorsInjector.createSpawnTable(SpawnedActor.class));
+        blackhole.consume(LoadingOwner.class.getAnnotation(Spawn.class));
+        blackhole.consume(new SpawnedActor());
+    }
+
+    @Benchmark
+    public void firstSpawnThroughGeneratedTable(Blackhole blackhole) {
+        spawnAll(ActorsInjector.createSpawnTable(GeneratedTableOwner.class), blackhole);
+    }
+
+    @Benchmark
+    public void firstSpawnThroughReflection(Blackhole blackhole) {
+        spawnAll(ActorsInjector.createSpawnTable(ReflectionOwner.class), blackhole);
+    }
+
+    private static void spawnAll(SpawnTable spawnTable, Blackhole blackhole) {
+        for (int i = 0; i < spawnTable.size(); i++) {
+            blackhole.consume(spawnTable.actorClass(i));
+            blackhole.consume(spawnTable.spawn(i));
+        }
+    }
+
+    static class SpawnedActor implements Actor {
+
+        @Override
+        public void onMessageReceived(Message message) {
+
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    @Spawn
+    static class LoadingOwner extends SpawnedActor {
+    }
+
+    @Spawn(actorClasses = {"com.actors.SpawnTableBenchmark$PublicOne",
+            "com.actors.SpawnTableBenchmark$PublicTwo",
+            "com.actors.SpawnTableBenchmark$PublicThree"})
+    static class GeneratedTableOwner extends SpawnedActor {
+    }
+
+    @Spawn(actorClasses = {"com.actors.SpawnTableBenchmark$PrivateOne",
+            "com.actors.SpawnTableBenchmark$PrivateTwo",
+            "com.actors.SpawnTableBenchmark$PrivateThree"})
+    static class ReflectionOwner extends SpawnedActor {
+    }
+
+    static class PublicOne extends SpawnedActor {
+    }
+
+    static class PublicTwo extends SpawnedActor {
+    }
+
+    static class PublicThree extends SpawnedActor {
+    }
+
+    static class PrivateOne extends SpawnedActor {
+        private PrivateOne() {
+        }
+    }
+
+    static class PrivateTwo extends SpawnedActor {
+        private PrivateTwo() {
+        }
+    }
+
+    static class PrivateThree extends SpawnedActor {
+        private PrivateThree() {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.actors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+
+/**
+ * schedules {@link #TIMEOUTS} delayed tasks then cancels them all, like a burst of timeouts
+ * that are not needed any more, once on a {@link TimingWheel}, and once through
+ * {@link Single#delay(long, TimeUnit)}, which is how every scheduled {@link Message} was held
+ * before the {@link TimingWheel}, the delays are spread over {@link #MAX_DELAY_MILLIS} so they
+ * never fire during the benchmark
+ * <p>
+ * run it with {@code -prof gc} to compare the allocations of every scheduled task
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class TimingWheelBenchmark {
+
+    private static final int TIMEOUTS = 1000000;
+    private static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    @Param({"timingWheel", "singleDelay"})
+    String backend;
+
+    private final Disposable[] timeouts = new Disposable[TIMEOUTS];
+    private final Runnable task = doNothing();
+    private final Consumer<Object> consumer = ignore();
+    private TimingWheel wheel;
+
+    @Setup(Level.Trial)
+    public void createWheel() {
+        wheel = new TimingWheel(TimingWheel.DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS,
+                TimingWheel.DEFAULT_WHEEL_SIZE);
+    }
+
+    @Benchmark
+    public Disposable[] scheduleThenCancelMillion() {
+        boolean timingWheel = "timingWheel".equals(backend);
+        for (int i = 0; i < TIMEOUTS; i++) {
+            long delay = 1000 + i % MAX_DELAY_MILLIS;
+            timeouts[i] = timingWheel
+                    ? wheel.schedule(task, delay, TimeUnit.MILLISECONDS)
+                    : Single.just(task).delay(delay, TimeUnit.MILLISECONDS).subscribe(consumer);
+        }
+        for (int i = 0; i < TIMEOUTS; i++) {
+            timeouts[i].dispose();
+        }
+        return timeouts;
+    }
+
+    private static Runnable doNothing() {
+        return new Runnable() {
+            @Override
+            public void run() {
+
+            }
+        };
+    }
+
+    private static Consumer<Object> ignore() {
+        return new Consumer<Object>() {
+            @Override
+            public void accept(Object object) {
+
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.actors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures publishing a {@link Message} to sixteen subscribed Actors, by a topic name and by
+ * the {@link Message} id, against sending it to the same Actors through
+ * {@link ActorSystemInstance#send(Message, Class[])}
+ * <p>
+ * the Actors of {@link GroupSendBenchmark} are used, postponed with full mailboxes that drop
+ * the new messages, so the score is the cost of routing the message, not delivering it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopicPublishBenchmark {
+
+    private static final int MESSAGE_ID = 1;
+    private static final String TOPIC = "members";
+
+    private final Message message = new Message(MESSAGE_ID);
+    private final Actor[] actors = {new GroupSendBenchmark.Member01(),
+            new GroupSendBenchmark.Member02(), new GroupSendBenchmark.Member03(),
+            new GroupSendBenchmark.Member04(), new GroupSendBenchmark.Member05(),
+            new GroupSendBenchmark.Member06(), new GroupSendBenchmark.Member07(),
+            new GroupSendBenchmark.Member08(), new GroupSendBenchmark.Member09(),
+            new GroupSendBenchmark.Member10(), new GroupSendBenchmark.Member11(),
+            new GroupSendBenchmark.Member12(), new GroupSendBenchmark.Member13(),
+            new GroupSendBenchmark.Member14(), new GroupSendBenchmark.Member15(),
+            new GroupSendBenchmark.Member16()};
+    private final Class<?>[] members = new Class<?>[actors.length];
+    private ActorSystemInstance system;
+
+    @Setup(Level.Trial)
+    public void subscribeActors() {
+        system = ActorSystemInstance.getInstance("TopicPublishBenchmark",
+                new ActorSystemConfiguration.Builder()
+                        .spawnActors(false)
+                        .mailboxCapacity(1)
+                        .mailboxOverflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .build());
+        for (int i = 0; i < actors.length; i++) {
+            members[i] = actors[i].getClass();
+            system.postpone(actors[i]);
+            system.subscribe(TOPIC, members[i]);
+            system.subscribe(MESSAGE_ID, members[i]);
+        }
+        system.send(message, members);
+    }
+
+    @TearDown(Level.Trial)
+    public void unsubscribeActors() {
+        for (int i = 0; i < actors.length; i++) {
+            system.unsubscribe(TOPIC, members[i]);
+            system.unsubscribe(MESSAGE_ID, members[i]);
+            system.unregister(actors[i]);
+        }
+    }
+
+    @Benchmark
+    public void sendToAllAddresses() {
+        system.send(message, members);
+    }
+
+    @Benchmark
+    public void publishToTopic() {
+        system.publish(message, TOPIC);
+    }
+
+    @Benchmark
+    public void publishById() {
+        system.publish(message);
+    }
+}
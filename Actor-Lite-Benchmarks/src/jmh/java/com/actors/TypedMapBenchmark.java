@@ -0,0 +1,59 @@
+package com.actors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * measures {@link TypedMap#getOrIgnore(Class)} and {@link TypedMap#valuesOf(Class)} while the
+ * map holds {@link #size} entries, the looked up type has one entry, and the rest of the
+ * entries share another type, so the score shows if a lookup depends on the size of the map
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypedMapBenchmark {
+
+    @Param({"1", "16", "256", "4096"})
+    int size;
+
+    private TypedMap<Object> map;
+
+    @Setup(Level.Trial)
+    public void fillMap() {
+        map = new TypedMap<>(new ConcurrentHashMap<Object, Object>());
+        map.put(LookedUpKey.class, new Object());
+        for (int i = 1; i < size; i++) {
+            map.put(i, new Object());
+        }
+    }
+
+    @Benchmark
+    public Object getOrIgnore() {
+        return map.getOrIgnore(LookedUpKey.class).blockingFirst();
+    }
+
+    @Benchmark
+    public List<Object> valuesOf() {
+        return map.valuesOf(LookedUpKey.class);
+    }
+
+    static class LookedUpKey {
+    }
+}
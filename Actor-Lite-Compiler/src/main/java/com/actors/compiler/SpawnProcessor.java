@@ -0,0 +1,311 @@
+package com.actors.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * an annotation processor that generates a {@code com.actors.SpawnTable} for every class
+ * annotated with {@code @Spawn}, so the Actor-System creates the spawned Actors through their
+ * constructors directly, instead of reading the annotation, loading the classes passed by name
+ * and looking up their constructors through reflection
+ * <p>
+ * a table is generated only if all the spawned Actors can be created from the package of the
+ * annotated class, which are the non-abstract classes with a visible constructor that takes no
+ * parameters and declares no checked exceptions, and that are on the compile class-path, else no table is generated and the
+ * Actor-System reads the annotation through reflection, so a class passed by name that is not
+ * available at compile time still works
+ * <p>
+ * the processor is registered as an aggregating incremental processor, since a table depends
+ * on classes that are not reachable from the annotated class, like the classes passed by name
+ * and the constructors of the spawned classes, so Gradle runs it again when any of them changes
+ */
+@SupportedAnnotationTypes(SpawnProcessor.SPAWN)
+public class SpawnProcessor extends AbstractProcessor {
+
+    static final String SPAWN = "com.actors.annotations.Spawn";
+
+    // the values declared in com.actors.SpawnTable and com.actors.annotations.Spawn, the
+    // processor does not depend on the Actor-Lite classes so it can run without them
+    private static final String ACTOR = "com.actors.Actor";
+    private static final String SPAWN_TABLE = "com.actors.SpawnTable";
+    private static final String CLASS_NAME_SUFFIX = "_SpawnTable";
+    private static final String NULL_ACTOR = SPAWN + ".NullActor";
+    private static final String NO_ACTORS_CLASSES = "NO_ACTORS_CLASSES";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        TypeElement spawn = processingEnv.getElementUtils().getTypeElement(SPAWN);
+        if (spawn == null) {
+            return false;
+        }
+        for (TypeElement owner : ElementFilter.typesIn(roundEnvironment.getElementsAnnotatedWith(spawn))) {
+            if (owner.getKind() == ElementKind.CLASS && isNamed(owner)) {
+                processOwner(owner);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNamed(TypeElement owner) {
+        return owner.getNestingKind() == NestingKind.TOP_LEVEL
+                || owner.getNestingKind() == NestingKind.MEMBER;
+    }
+
+    private void processOwner(TypeElement owner) {
+        List<TypeElement> spawnedClasses = spawnedClasses(owner);
+        if (spawnedClasses == null) {
+            return;
+        }
+        try {
+            writeSpawnTable(owner, spawnedClasses);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "could not write the spawn table : " + e.getMessage(), owner);
+        }
+    }
+
+    /**
+     * @return the classes to spawn, in the order of the annotation, or {@code null} if at least
+     * one of them can not be created from the generated code
+     */
+    private List<TypeElement> spawnedClasses(TypeElement owner) {
+        Map<String, TypeElement> spawnedClasses = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : spawnAnnotation(owner).getElementValues().entrySet()) {
+
+            boolean byClassName = entry.getKey().getSimpleName().contentEquals("actorClasses");
+            for (AnnotationValue value : valuesOf(entry.getValue())) {
+                if (isDefaultValue(value)) {
+                    continue;
+                }
+                TypeElement spawnedClass = byClassName
+                        ? fromClassName(owner, (String) value.getValue())
+                        : (TypeElement) ((DeclaredType) value.getValue()).asElement();
+                if (spawnedClass == null || !isSpawnableFrom(owner, spawnedClass)) {
+                    return null;
+                }
+                spawnedClasses.put(spawnedClass.getQualifiedName().toString(), spawnedClass);
+            }
+        }
+        return new ArrayList<>(spawnedClasses.values());
+    }
+
+    private AnnotationMirror spawnAnnotation(TypeElement owner) {
+        for (AnnotationMirror annotation : owner.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(SPAWN)) {
+                return annotation;
+            }
+        }
+        throw new IllegalStateException(owner + " is not annotated with @Spawn");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> valuesOf(AnnotationValue value) {
+        if (value.getValue() instanceof List) {
+            return (List<? extends AnnotationValue>) value.getValue();
+        }
+        List<AnnotationValue> values = new ArrayList<>();
+        values.add(value);
+        return values;
+    }
+
+    private static boolean isDefaultValue(AnnotationValue value) {
+        Object content = value.getValue();
+        if (content instanceof DeclaredType) {
+            TypeElement type = (TypeElement) ((DeclaredType) content).asElement();
+            return type.getQualifiedName().contentEquals(NULL_ACTOR);
+        }
+        return NO_ACTORS_CLASSES.equals(content);
+    }
+
+    private TypeElement fromClassName(TypeElement owner, String className) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement spawnedClass = elements.getTypeElement(className.replace('$', '.'));
+        if (spawnedClass == null) {
+            note(owner, className + " is not available at compile time");
+            return null;
+        }
+        TypeMirror actor = elements.getTypeElement(ACTOR).asType();
+        if (!processingEnv.getTypeUtils().isAssignable(spawnedClass.asType(), actor)) {
+            note(owner, className + " is not an Actor");
+            return null;
+        }
+        return spawnedClass;
+    }
+
+    private boolean isSpawnableFrom(TypeElement owner, TypeElement spawnedClass) {
+        if (spawnedClass.getModifiers().contains(Modifier.ABSTRACT)) {
+            note(owner, spawnedClass + " is abstract");
+            return false;
+        }
+        if (!isTypeVisibleFrom(owner, spawnedClass)) {
+            note(owner, spawnedClass + " is not visible from " + packageOf(owner));
+            return false;
+        }
+        ExecutableElement constructor = defaultConstructorOf(spawnedClass);
+        if (constructor == null || !isAccessibleFrom(owner, constructor)) {
+            note(owner, spawnedClass + " has no visible constructor without parameters");
+            return false;
+        }
+        if (throwsCheckedExceptions(constructor)) {
+            note(owner, "the constructor of " + spawnedClass + " declares checked exceptions");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isTypeVisibleFrom(TypeElement owner, TypeElement spawnedClass) {
+        Element element = spawnedClass;
+        while (element instanceof TypeElement) {
+            if (element.getEnclosingElement() instanceof TypeElement
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            if (!isAccessibleFrom(owner, element)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private static ExecutableElement defaultConstructorOf(TypeElement spawnedClass) {
+        for (ExecutableElement constructor
+                : ElementFilter.constructorsIn(spawnedClass.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * the generated {@code spawn()} does not catch exceptions, so a constructor that declares
+     * checked exceptions would not compile there
+     */
+    private boolean throwsCheckedExceptions(ExecutableElement constructor) {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror runtimeException = elements.getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = elements.getTypeElement("java.lang.Error").asType();
+        for (TypeMirror thrownType : constructor.getThrownTypes()) {
+            if (!types.isAssignable(thrownType, runtimeException)
+                    && !types.isAssignable(thrownType, error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccessibleFrom(TypeElement owner, Element element) {
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE)
+                && packageOf(element).equals(packageOf(owner));
+    }
+
+    private String packageOf(Element element) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+        return packageElement.getQualifiedName().toString();
+    }
+
+    private void note(TypeElement owner, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "no spawn table is "
+                + "generated for " + owner + ", its Actors will be spawned through reflection, "
+                + "since " + reason, owner);
+    }
+
+    private void writeSpawnTable(TypeElement owner, List<TypeElement> spawnedClasses)
+            throws IOException {
+
+        Elements elements = processingEnv.getElementUtils();
+        String packageName = packageOf(owner);
+        String binaryName = elements.getBinaryName(owner).toString();
+        String tableName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                + CLASS_NAME_SUFFIX;
+        String qualifiedTableName = packageName.isEmpty() ? tableName : packageName + "." + tableName;
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(qualifiedTableName, owner)
+                .openWriter()) {
+            writer.write(spawnTableSource(owner, packageName, tableName, spawnedClasses));
+        }
+    }
+
+    private static String spawnTableSource(TypeElement owner, String packageName, String tableName,
+                                           List<TypeElement> spawnedClasses) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * the Actors spawned by ").append(owner.getQualifiedName())
+                .append(", generated from its @Spawn annotation, do not edit\n")
+                .append(" */\n")
+                .append("public final class ").append(tableName)
+                .append(" implements ").append(SPAWN_TABLE).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public int size() {\n")
+                .append("        return ").append(spawnedClasses.size()).append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<? extends ").append(ACTOR).append("> actorClass(int index) {\n")
+                .append("        switch (index) {\n");
+        for (int i = 0; i < spawnedClasses.size(); i++) {
+            source.append("            case ").append(i).append(":\n")
+                    .append("                return ").append(spawnedClasses.get(i).getQualifiedName())
+                    .append(".class;\n");
+        }
+        source.append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(String.valueOf(index));\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(ACTOR).append(" spawn(int index) {\n")
+                .append("        switch (index) {\n");
+        for (int i = 0; i < spawnedClasses.size(); i++) {
+            source.append("            case ").append(i).append(":\n")
+                    .append("                return new ").append(spawnedClasses.get(i).getQualifiedName())
+                    .append("();\n");
+        }
+        source.append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(String.valueOf(index));\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+}
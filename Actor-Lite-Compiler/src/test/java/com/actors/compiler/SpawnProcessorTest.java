@@ -0,0 +1,173 @@
+package com.actors.compiler;
+
+import com.actors.SpawnTable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpawnProcessorTest {
+
+    private static final String ACTOR_BODY = " implements com.actors.Actor {\n"
+            + "    public void onMessageReceived(com.actors.Message message) {}\n"
+            + "    public io.reactivex.Scheduler observeOnScheduler() {\n"
+            + "        return io.reactivex.schedulers.Schedulers.trampoline();\n"
+            + "    }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void processSpawnThenGenerateTableWithAllSpawnedActorsOnce() throws Exception {
+        File output = compile(
+                source("sample.Owner", "package sample;\n"
+                        + "@com.actors.annotations.Spawn(value = {Two.class, One.class},\n"
+                        + "        actorClasses = {\"sample.One\", \"sample.Holder$Three\"})\n"
+                        + "class Owner" + ACTOR_BODY),
+                source("sample.One", "package sample;\npublic class One" + ACTOR_BODY),
+                source("sample.Two", "package sample;\nclass Two" + ACTOR_BODY),
+                source("sample.Holder", "package sample;\npublic class Holder {\n"
+                        + "    static class Three" + ACTOR_BODY + "}\n"));
+
+        SpawnTable spawnTable = loadSpawnTable(output, "sample.Owner_SpawnTable");
+
+        assertEquals(3, spawnTable.size());
+        assertEquals("sample.Two", spawnTable.actorClass(0).getName());
+        assertEquals("sample.One", spawnTable.actorClass(1).getName());
+        assertEquals("sample.Holder$Three", spawnTable.actorClass(2).getName());
+        assertEquals(spawnTable.actorClass(2), spawnTable.spawn(2).getClass());
+    }
+
+    @Test
+    public void processSpawnOnNestedClassThenNameTableAfterBinaryName() throws Exception {
+        File output = compile(
+                source("sample.Screen", "package sample;\npublic class Screen {\n"
+                        + "    @com.actors.annotations.Spawn(One.class)\n"
+                        + "    static class Model" + ACTOR_BODY + "}\n"),
+                source("sample.One", "package sample;\npublic class One" + ACTOR_BODY));
+
+        SpawnTable spawnTable = loadSpawnTable(output, "sample.Screen$Model_SpawnTable");
+
+        assertEquals("sample.One", spawnTable.spawn(0).getClass().getName());
+    }
+
+    @Test
+    public void processSpawnWithPrivateConstructorThenDoNotGenerateTable() throws Exception {
+        File output = compile(
+                source("sample.Owner", "package sample;\n"
+                        + "@com.actors.annotations.Spawn(One.class)\n"
+                        + "class Owner" + ACTOR_BODY),
+                source("sample.One", "package sample;\npublic class One"
+                        + ACTOR_BODY.replaceFirst("\\{\n", "{\n    private One() {}\n")));
+
+        assertFalse(new File(output, "sample/Owner_SpawnTable.class").exists());
+    }
+
+    @Test
+    public void processSpawnWithConstructorThrowingCheckedExceptionThenDoNotGenerateTable()
+            throws Exception {
+        File output = compile(
+                source("sample.Owner", "package sample;\n"
+                        + "@com.actors.annotations.Spawn(One.class)\n"
+                        + "class Owner" + ACTOR_BODY),
+                source("sample.One", "package sample;\npublic class One"
+                        + ACTOR_BODY.replaceFirst("\\{\n",
+                        "{\n    public One() throws java.io.IOException {}\n")));
+
+        assertTrue(new File(output, "sample/Owner.class").exists());
+        assertFalse(new File(output, "sample/Owner_SpawnTable.class").exists());
+    }
+
+    @Test
+    public void processSpawnWithConstructorThrowingUncheckedExceptionThenGenerateTable()
+            throws Exception {
+        File output = compile(
+                source("sample.Owner", "package sample;\n"
+                        + "@com.actors.annotations.Spawn(One.class)\n"
+                        + "class Owner" + ACTOR_BODY),
+                source("sample.One", "package sample;\npublic class One"
+                        + ACTOR_BODY.replaceFirst("\\{\n",
+                        "{\n    public One() throws IllegalStateException {}\n")));
+
+        SpawnTable spawnTable = loadSpawnTable(output, "sample.Owner_SpawnTable");
+
+        assertEquals("sample.One", spawnTable.spawn(0).getClass().getName());
+    }
+
+    @Test
+    public void processSpawnWithPackagePrivateClassFromOtherPackageThenDoNotGenerateTable()
+            throws Exception {
+        File output = compile(
+                source("sample.Owner", "package sample;\n"
+                        + "@com.actors.annotations.Spawn(actorClasses = \"other.One\")\n"
+                        + "class Owner" + ACTOR_BODY),
+                source("other.One", "package other;\nclass One" + ACTOR_BODY));
+
+        assertFalse(new File(output, "sample/Owner_SpawnTable.class").exists());
+    }
+
+    @Test
+    public void processSpawnWithUnavailableClassNameThenDoNotGenerateTable() throws Exception {
+        File output = compile(
+                source("sample.Owner", "package sample;\n"
+                        + "@com.actors.annotations.Spawn(actorClasses = \"sample.Missing\")\n"
+                        + "class Owner" + ACTOR_BODY));
+
+        assertTrue(new File(output, "sample/Owner.class").exists());
+        assertFalse(new File(output, "sample/Owner_SpawnTable.class").exists());
+    }
+
+    private File source(String className, String content) throws IOException {
+        File file = new File(folder.getRoot(), "src/" + className.replace('.', '/') + ".java");
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8")) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    private File compile(File... sources) throws IOException {
+        File output = folder.newFolder();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = new ArrayList<>(Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.getPath(),
+                    "-s", output.getPath()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options,
+                    null, fileManager.getJavaFileObjects(sources));
+            task.setProcessors(Collections.singletonList(new SpawnProcessor()));
+            assertTrue(task.call());
+        }
+        return output;
+    }
+
+    private SpawnTable loadSpawnTable(File output, String className) throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()},
+                getClass().getClassLoader());
+        return (SpawnTable) classLoader.loadClass(className)
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+}
@@ -0,0 +1,120 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * a named group of Actor addresses, created once through
+ * {@link ActorSystemInstance#createGroup(String, Class[])}, that receives a {@link Message}
+ * in all it's members mailboxes, like broadcasting a "logout" or a "theme changed" event to
+ * many Actors
+ * <p>
+ * the group keeps an array of it's members mailboxes, taken from the Actor-System on the
+ * first send, then it is taken again only after an Actor is registered, postponed or
+ * unregistered, so sending to a group is a loop over an array, instead of looking up the
+ * mailboxes of every member on every send
+ * <p>
+ * an Actor that is registered after the group is created receives the messages sent after
+ * it's registration, and an Actor that is unregistered stops receiving them, as if the
+ * message was sent to all the members through {@link ActorSystemInstance#send(Message, Class[])}
+ */
+public class ActorGroup {
+
+    private static final Snapshot EMPTY_SNAPSHOT = new Snapshot(-1, new Mailbox[0]);
+
+    private final String name;
+    private final Class<?>[] members;
+    private final ActorSystemInstance actorSystem;
+    private volatile Snapshot snapshot = EMPTY_SNAPSHOT;
+
+    ActorGroup(@NonNull String name, @NonNull Class<?>[] members,
+               @NonNull ActorSystemInstance actorSystem) {
+        Set<Class<?>> uniqueMembers = new LinkedHashSet<>(Arrays.asList(members));
+        this.name = name;
+        this.members = uniqueMembers.toArray(new Class<?>[uniqueMembers.size()]);
+        this.actorSystem = actorSystem;
+    }
+
+    /**
+     * @return the name of this group
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the addresses of the Actors in this group, every address is added once
+     */
+    @NonNull
+    public List<Class<?>> getMembers() {
+        return Collections.unmodifiableList(Arrays.asList(members));
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id to all the members of this group
+     *
+     * @param messageId the id of the {@link Message}
+     */
+    public void send(int messageId) {
+        send(new Message(messageId));
+    }
+
+    /**
+     * send a {@link Message} to all the members of this group, a {@link PooledMessage} goes
+     * back to the pool after all the receiving Actors handle it, so it should not be used after
+     * this method returns
+     *
+     * @param message the {@link Message} object
+     */
+    public void send(@NonNull Message message) {
+        if (ActorSystemGlobalConfiguration.isTestingMode()) {
+            actorSystem.send(message, members);
+            return;
+        }
+        try {
+            ActorSystemInstance.offerToAll(message, mailboxes());
+        } finally {
+            PooledMessage.releaseIfPooled(message);
+        }
+    }
+
+    /**
+     * get the mailboxes of the members, the version is read before the mailboxes, so if the
+     * Actor-System is updated while they are taken, the next send takes them again
+     */
+    @NonNull
+    Mailbox[] mailboxes() {
+        TypedMap<Mailbox> actorsMailboxes = actorSystem.getMailboxes();
+        int version = actorsMailboxes.version();
+        Snapshot current = snapshot;
+        if (current.version == version) {
+            return current.mailboxes;
+        }
+
+        List<Mailbox> mailboxes = new ArrayList<>();
+        for (Class<?> member : members) {
+            mailboxes.addAll(actorsMailboxes.valuesOf(member));
+        }
+        current = new Snapshot(version, mailboxes.toArray(new Mailbox[mailboxes.size()]));
+        snapshot = current;
+        return current.mailboxes;
+    }
+
+    private static class Snapshot {
+
+        final int version;
+        final Mailbox[] mailboxes;
+
+        Snapshot(int version, Mailbox[] mailboxes) {
+            this.version = version;
+            this.mailboxes = mailboxes;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.actors;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Function;
+
+/**
+ * a class that schedules messages in {@link ActorSystem}, where it gives the ability to send
+ * a message after a certain delay to an Actor, or to send it periodically
+ * <p>
+ * the scheduled messages of every Actor address are tracked in their own
+ * {@link DisposablesGroup}, which is guarded by it's own monitor, so scheduling, cancelling and
+ * delivering the messages of one Actor does not block the other Actors
+ * <p>
+ * Created by Ahmed Adel Ismail on 5/25/2017.
+ */
+@SuppressWarnings("deprecation")
+public class ActorScheduler {
+
+    static final ConcurrentMap<Class<?>, DisposablesGroup> schedules = new ConcurrentHashMap<>();
+
+    ActorScheduler() {
+
+    }
+
+    /**
+     * schedule to send a {@link Message} after the passed milliseconds, the delay is measured
+     * in ticks of a timing wheel, so the {@link Message} is sent up to one tick later, which is
+     * {@code 10} milliseconds unless another tick is set through
+     * {@link ActorSystemConfiguration.Builder#timerTickMillis(long)}
+     *
+     * @param millis the delay in milliseconds
+     * @return a {@link ScheduledMessageSender} to send a scheduled {@link Message}
+     */
+
+    @NonNull
+    public static ScheduledMessageSender after(@IntRange(from = 0) long millis) {
+        return after(millis, ActorSystemInstance.getInstance(null));
+    }
+
+    /**
+     * schedule to send a {@link Message} after the passed milliseconds
+     *
+     * @param millis      the delay in milliseconds
+     * @param actorSystem the custom {@link ActorSystemInstance} : for unit testing only
+     * @return a {@link ScheduledMessageSender} to send a scheduled {@link Message}
+     */
+    @NonNull
+    static ScheduledMessageSender after(@IntRange(from = 0) long millis, ActorSystemInstance actorSystem) {
+        return new ScheduledMessageSender(millis, actorSystem);
+    }
+
+    /**
+     * schedule to send a {@link Message} periodically at a fixed rate, where every tick is
+     * measured from the scheduled time of the previous tick
+     *
+     * @param periodMillis the period in milliseconds
+     * @return a {@link PeriodicMessageSender} to send a periodic {@link Message}
+     */
+    @NonNull
+    public static PeriodicMessageSender every(@IntRange(from = 1) long periodMillis) {
+        return every(periodMillis, ActorSystemInstance.getInstance(null));
+    }
+
+    /**
+     * schedule to send a {@link Message} periodically at a fixed rate
+     *
+     * @param periodMillis the period in milliseconds
+     * @param actorSystem  the custom {@link ActorSystemInstance} : for unit testing only
+     * @return a {@link PeriodicMessageSender} to send a periodic {@link Message}
+     */
+    @NonNull
+    static PeriodicMessageSender every(@IntRange(from = 1) long periodMillis,
+                                       ActorSystemInstance actorSystem) {
+        return new PeriodicMessageSender(periodMillis, true, actorSystem);
+    }
+
+    /**
+     * schedule to send a {@link Message} periodically with a fixed delay, where every tick is
+     * measured from the time the previous tick was sent
+     *
+     * @param delayMillis the delay between the ticks in milliseconds
+     * @return a {@link PeriodicMessageSender} to send a periodic {@link Message}
+     */
+    @NonNull
+    public static PeriodicMessageSender fixedDelay(@IntRange(from = 1) long delayMillis) {
+        return fixedDelay(delayMillis, ActorSystemInstance.getInstance(null));
+    }
+
+    /**
+     * schedule to send a {@link Message} periodically with a fixed delay
+     *
+     * @param delayMillis the delay between the ticks in milliseconds
+     * @param actorSystem the custom {@link ActorSystemInstance} : for unit testing only
+     * @return a {@link PeriodicMessageSender} to send a periodic {@link Message}
+     */
+    @NonNull
+    static PeriodicMessageSender fixedDelay(@IntRange(from = 1) long delayMillis,
+                                            ActorSystemInstance actorSystem) {
+        return new PeriodicMessageSender(delayMillis, false, actorSystem);
+    }
+
+    /**
+     * schedule a {@link Message} for the passed Actor, unless a {@link Message} with the same
+     * id is already scheduled for it
+     *
+     * @param actorAddress the Actor class to receive the message
+     * @param message      the {@link Message} to schedule
+     * @param schedule     the function that schedules the {@link Message} and returns a
+     *                     {@link Disposable} to cancel it
+     * @return a {@link Cancellable} to cancel the scheduled {@link Message}
+     */
+    @NonNull
+    static Cancellable scheduleIfAbsent(Class<?> actorAddress, Message message,
+                                        Function<Message, Disposable> schedule) {
+        int id = message.getId();
+        while (true) {
+            DisposablesGroup disposables = getOrCreateDisposablesGroup(actorAddress);
+            synchronized (disposables) {
+                if (disposables.isRetired()) {
+                    continue;
+                }
+                if (!disposables.containsKey(id)) {
+                    putUnlessDisposed(disposables, id, apply(schedule, message));
+                }
+                return new Cancellable(actorAddress, id);
+            }
+        }
+    }
+
+    @NonNull
+    private static DisposablesGroup getOrCreateDisposablesGroup(Class<?> actorAddress) {
+        DisposablesGroup disposables = schedules.get(actorAddress);
+        if (disposables == null) {
+            DisposablesGroup newDisposables = new DisposablesGroup();
+            disposables = schedules.putIfAbsent(actorAddress, newDisposables);
+            if (disposables == null) {
+                disposables = newDisposables;
+            }
+        }
+        return disposables;
+    }
+
+    /**
+     * a {@link Disposable} that is disposed as soon as it is scheduled, like a {@link Message}
+     * scheduled on a stopped {@link TimingWheel}, is not kept, since it will never remove it's
+     * id, and would skip the next schedules of the same id
+     */
+    private static void putUnlessDisposed(DisposablesGroup disposables, int id,
+                                          Disposable disposable) {
+        if (!disposable.isDisposed()) {
+            disposables.put(id, disposable);
+        }
+    }
+
+    private static Disposable apply(Function<Message, Disposable> schedule, Message message) {
+        try {
+            return schedule.apply(message);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * remove a scheduled {@link Message} and dispose it if it is still waiting
+     *
+     * @param actorAddress  the Actor class of the scheduled {@link Message}
+     * @param id            the id of the scheduled {@link Message}
+     * @param retireIfEmpty {@code true} to remove the {@link DisposablesGroup} of the Actor if
+     *                      it has no more scheduled messages, this is done when a
+     *                      {@link Message} is delivered, while cancelling keeps the group for
+     *                      the next schedule
+     * @return the removed {@link Disposable}, or {@code null} if it was not found
+     */
+    static Disposable remove(Class<?> actorAddress, int id, boolean retireIfEmpty) {
+        DisposablesGroup disposables = schedules.get(actorAddress);
+        if (disposables == null) {
+            return null;
+        }
+        synchronized (disposables) {
+            Disposable disposable = disposables.remove(id);
+            if (retireIfEmpty && disposables.isEmpty() && !disposables.isRetired()) {
+                disposables.retire();
+                schedules.remove(actorAddress, disposables);
+            }
+            return disposable;
+        }
+    }
+
+    /**
+     * remove the scheduled messages that wait in a stopped {@link TimingWheel}, they will never
+     * be sent, so their ids are removed to be scheduled again on the next {@link TimingWheel}
+     *
+     * @param timingWheel the stopped {@link TimingWheel}
+     */
+    static void removeAll(TimingWheel timingWheel) {
+        for (DisposablesGroup disposables : schedules.values()) {
+            synchronized (disposables) {
+                for (int id : disposables.keys()) {
+                    if (timingWheel.holds(disposables.get(id))) {
+                        disposables.remove(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * cancel all the scheduled messages of an Actor
+     *
+     * @param actorAddress the Actor class of the scheduled messages
+     */
+    public static void cancel(@NonNull Class<?> actorAddress) {
+        DisposablesGroup disposables = schedules.remove(actorAddress);
+        if (disposables != null) {
+            synchronized (disposables) {
+                disposables.retire();
+                disposables.clear();
+            }
+        }
+    }
+}
+
+
+
@@ -0,0 +1,364 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.functions.Consumer;
+
+/**
+ * a class that handles the Actor System for the application
+ * <p>
+ * Created by Ahmed Adel Ismail on 5/2/2017.
+ */
+@SuppressWarnings("deprecation")
+public class ActorSystem {
+
+    private static final ActorSystemInstance implementation = ActorSystemInstance.getInstance(null);
+
+    private ActorSystem() {
+
+    }
+
+    /**
+     * start building a message to be sent across the Actor System
+     *
+     * @param id the id of the message
+     * @return a {@link MessageBuilder} to handle building the message
+     */
+    public static MessageBuilder createMessage(int id) {
+        return implementation.createMessage(id);
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id
+     *
+     * @param messageId       the id of the {@link Message}
+     * @param actorsAddresses the actor (or group of actors) that will receive this message
+     */
+    public static void send(int messageId, @NonNull Class<?>... actorsAddresses) {
+        implementation.send(messageId, actorsAddresses);
+    }
+
+    /**
+     * send a {@link Message} to a mailbox
+     *
+     * @param message         the {@link Message} object
+     * @param actorsAddresses the actor (or group of actors) that will receive this message
+     */
+    public static void send(final Message message, @NonNull Class<?>... actorsAddresses) {
+        implementation.send(message, actorsAddresses);
+    }
+
+    /**
+     * send a {@link Message} to an Actor and receive it's reply, without registering an Actor
+     * to receive the reply, the Actor replies through {@link #reply(Message, Message)}, and the
+     * returned {@link Single} emits the first reply on the replying Actor's thread
+     *
+     * @param message       the {@link Message} object
+     * @param actor         the Actor that will receive this message
+     * @param timeoutMillis the time to wait for the reply in milliseconds
+     * @return a {@link Single} that emits the reply, or a
+     * {@link java.util.concurrent.TimeoutException} if the reply does not come in time
+     */
+    @NonNull
+    public static Single<Message> ask(@NonNull Message message, @NonNull Class<?> actor,
+                                      long timeoutMillis) {
+        return implementation.ask(message, actor, timeoutMillis);
+    }
+
+    /**
+     * send a {@link Message} to an Actor and receive it's reply
+     *
+     * @param message the {@link Message} object
+     * @param actor   the Actor that will receive this message
+     * @param timeout the time to wait for the reply
+     * @param unit    the {@link TimeUnit} of the timeout
+     * @return a {@link Single} that emits the reply
+     * @see #ask(Message, Class, long)
+     */
+    @NonNull
+    public static Single<Message> ask(@NonNull Message message, @NonNull Class<?> actor,
+                                      long timeout, @NonNull TimeUnit unit) {
+        return implementation.ask(message, actor, timeout, unit);
+    }
+
+    /**
+     * reply to a {@link Message}, if it was sent through {@link #ask(Message, Class, long)},
+     * the reply goes to the asking code, else it is sent to the
+     * {@link Message#getReplyToActor()} of the request, if any
+     *
+     * @param request  the received {@link Message}
+     * @param response the reply
+     */
+    public static void reply(@NonNull Message request, @NonNull Message response) {
+        implementation.reply(request, response);
+    }
+
+    /**
+     * send a {@link Message} to an Actor only if it's {@link Mailbox} has room for it, without
+     * waiting or dropping pending messages, whatever the {@link OverflowPolicy} of the Mailbox
+     *
+     * @param message the {@link Message} object
+     * @param actor   the Actor that will receive this message
+     * @return {@code true} if the message was accepted, or {@code false} if the Mailbox is full,
+     * so the producer should slow down
+     */
+    public static boolean offer(@NonNull Message message, @NonNull Class<?> actor) {
+        return implementation.offer(message, actor);
+    }
+
+    /**
+     * create a {@link FlowableSubscriber} that sends the messages of a
+     * {@link io.reactivex.Flowable} to an Actor, requesting only the messages that fit in the
+     * Actor's {@link Mailbox}
+     *
+     * @param actor the Actor that will receive the messages
+     * @return a {@link FlowableSubscriber} to subscribe to the {@link io.reactivex.Flowable}
+     * @see #sink(Class, int)
+     */
+    @NonNull
+    public static FlowableSubscriber<Message> sink(@NonNull Class<?> actor) {
+        return implementation.sink(actor);
+    }
+
+    /**
+     * create a {@link FlowableSubscriber} that sends the messages of a
+     * {@link io.reactivex.Flowable} to an Actor, requesting only the messages that fit in the
+     * Actor's {@link Mailbox}, and at most the passed number of pending messages
+     *
+     * @param actor      the Actor that will receive the messages
+     * @param maxPending the maximum number of messages in the Actor's {@link Mailbox}
+     * @return a {@link FlowableSubscriber} to subscribe to the {@link io.reactivex.Flowable}
+     */
+    @NonNull
+    public static FlowableSubscriber<Message> sink(@NonNull Class<?> actor, int maxPending) {
+        return implementation.sink(actor, maxPending);
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id
+     *
+     * @param messageId        the id of the {@link Message}
+     * @param actorsClassNames the fully qualified class name for
+     *                         the actor (or group of actors) that will receive this message
+     */
+    public static void send(int messageId, @NonNull String... actorsClassNames) {
+        implementation.send(new Message(messageId), actorsClassNames);
+    }
+
+    /**
+     * send a {@link Message} to a mailbox
+     *
+     * @param message          the {@link Message} object
+     * @param actorsClassNames the fully qualified class name for
+     *                         the actor (or group of actors) that will receive this message
+     */
+    public static void send(final Message message, @NonNull String... actorsClassNames) {
+        implementation.send(message, actorsClassNames);
+    }
+
+    /**
+     * create a named group of Actors, that receives a {@link Message} in all it's members
+     * mailboxes, creating a group with an existing name replaces the old group
+     *
+     * @param name    the name of the group
+     * @param members the Actors addresses that will receive the messages sent to this group
+     * @return the created {@link ActorGroup}
+     */
+    @NonNull
+    public static ActorGroup createGroup(@NonNull String name, @NonNull Class<?>... members) {
+        return implementation.createGroup(name, members);
+    }
+
+    /**
+     * remove a group that was created through {@link #createGroup(String, Class[])}
+     *
+     * @param name the name of the group
+     */
+    public static void removeGroup(@NonNull String name) {
+        implementation.removeGroup(name);
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id to all the members of a group
+     *
+     * @param messageId the id of the {@link Message}
+     * @param groupName the name passed to {@link #createGroup(String, Class[])}
+     */
+    public static void sendToGroup(int messageId, @NonNull String groupName) {
+        implementation.sendToGroup(messageId, groupName);
+    }
+
+    /**
+     * send a {@link Message} to all the members of a group
+     *
+     * @param message   the {@link Message} object
+     * @param groupName the name passed to {@link #createGroup(String, Class[])}
+     */
+    public static void sendToGroup(final Message message, @NonNull String groupName) {
+        implementation.sendToGroup(message, groupName);
+    }
+
+    /**
+     * subscribe an Actor to a topic, so it receives the messages published to this topic,
+     * while it is registered
+     *
+     * @param topic the name of the topic
+     * @param actor the address of the subscribing Actor
+     */
+    public static void subscribe(@NonNull String topic, @NonNull Class<?> actor) {
+        implementation.subscribe(topic, actor);
+    }
+
+    /**
+     * subscribe an Actor to a {@link Message} id, so it receives the messages with this id
+     * that are published through {@link #publish(Message)}, while it is registered
+     *
+     * @param messageId the id of the {@link Message}
+     * @param actor     the address of the subscribing Actor
+     */
+    public static void subscribe(int messageId, @NonNull Class<?> actor) {
+        implementation.subscribe(messageId, actor);
+    }
+
+    /**
+     * remove the subscription made through {@link #subscribe(String, Class)}
+     *
+     * @param topic the name of the topic
+     * @param actor the address of the subscribed Actor
+     */
+    public static void unsubscribe(@NonNull String topic, @NonNull Class<?> actor) {
+        implementation.unsubscribe(topic, actor);
+    }
+
+    /**
+     * remove the subscription made through {@link #subscribe(int, Class)}
+     *
+     * @param messageId the id of the {@link Message}
+     * @param actor     the address of the subscribed Actor
+     */
+    public static void unsubscribe(int messageId, @NonNull Class<?> actor) {
+        implementation.unsubscribe(messageId, actor);
+    }
+
+    /**
+     * publish an empty {@link Message} with the passed id to the subscribers of a topic
+     *
+     * @param messageId the id of the {@link Message}
+     * @param topic     the name of the topic
+     */
+    public static void publish(int messageId, @NonNull String topic) {
+        implementation.publish(messageId, topic);
+    }
+
+    /**
+     * publish a {@link Message} to the Actors subscribed to a topic
+     *
+     * @param message the {@link Message} object
+     * @param topic   the name of the topic
+     */
+    public static void publish(final Message message, @NonNull String topic) {
+        implementation.publish(message, topic);
+    }
+
+    /**
+     * publish a {@link Message} to the Actors subscribed to it's id
+     *
+     * @param message the {@link Message} object
+     */
+    public static void publish(final Message message) {
+        implementation.publish(message);
+    }
+
+    /**
+     * take a snapshot of the metrics of every Actor's {@link Mailbox}, when they are enabled
+     * through {@link ActorSystemConfiguration.Builder#mailboxMetrics(boolean)}
+     *
+     * @return a {@link MailboxSnapshot} for every {@link Mailbox} that records metrics
+     */
+    @NonNull
+    public static List<MailboxSnapshot> mailboxesMetrics() {
+        return implementation.mailboxesMetrics();
+    }
+
+    /**
+     * stop the thread of the timing wheel that holds the messages scheduled through
+     * {@link ActorScheduler}, the scheduled messages that are not sent yet are dropped, and a
+     * new timing wheel is started by the next scheduled {@link Message}
+     */
+    public static void stopTimer() {
+        implementation.stopTimer();
+    }
+
+    /**
+     * register a class to a mailbox but with the default configurations
+     *
+     * @param actor             the Actor that will handle messages
+     * @param observeOn         the {@link Scheduler} that will host the received messages
+     * @param onMessageReceived the {@link Consumer} function that will be invoked
+     *                          when a message is received
+     * @deprecated use {@link #register(Actor)} instead
+     */
+    @Deprecated
+    public static void register(@NonNull Object actor,
+                                @NonNull final Scheduler observeOn,
+                                @NonNull final Consumer<Message> onMessageReceived) {
+        implementation.register(actor, observeOn, onMessageReceived);
+    }
+
+
+    /**
+     * register a class to a mailbox but with default configurations and will invoke
+     * {@link Actor#onMessageReceived(Message)} when the passed {@link Actor} receives a message,
+     * the address of this {@link Actor}'s Mailbox will be the {@link Class} of the passed object
+     *
+     * @param actor the {@link Actor} that will receive messages and it's {@link Class}
+     *              will be the address of it's mailbox
+     */
+    public static void register(@NonNull final Actor actor) {
+        implementation.register(actor);
+    }
+
+    /**
+     * register a class to a mailbox
+     *
+     * @param actor          the class (Actor) that will handle messages
+     * @param mailboxBuilder a function that takes a {@link MailboxBuilder} and generates a Mailbox
+     * @deprecated use {@link #register(Actor)} instead
+     */
+    @Deprecated
+    public static void register(@NonNull Object actor, @NonNull Consumer<MailboxBuilder> mailboxBuilder) {
+        implementation.register(actor, mailboxBuilder);
+    }
+
+    /**
+     * postpone the current Actor, this means that this actor will either register again, or
+     * unregister itself in a later point ... this function will cause any coming message to be
+     * queued until the Actor Registers itself again, and then it will re-send the queued messages
+     * <p>
+     * if the Actor unregistered itself, the pending messages will be cancelled
+     *
+     * @param actor the Actor to be postponed
+     */
+    public static void postpone(@NonNull Object actor) {
+        implementation.postpone(actor);
+    }
+
+    /**
+     * unregister a class from it's mailbox, notice that this method will close the
+     * {@link Mailbox} to notify the actor that it has completed it's task and
+     * will not receive messages any more, the messages that are not delivered yet are dropped
+     *
+     * @param actor the Actor that was registered
+     */
+    public static void unregister(@NonNull Object actor) {
+        implementation.unregister(actor);
+    }
+
+
+}
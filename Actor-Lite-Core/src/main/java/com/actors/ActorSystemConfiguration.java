@@ -0,0 +1,252 @@
+package com.actors;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+
+/**
+ * a class that holds the configurations for the Actor-System
+ * <p>
+ * Created by Ahmed Adel Ismail on 2/27/2018.
+ */
+public class ActorSystemConfiguration {
+
+    final boolean spawnActors;
+    final boolean postponeMailboxOnStop;
+    @RegistrationStage
+    final int registerActors;
+    @UnregistrationStage
+    final int unregisterActors;
+    final int mailboxCapacity;
+    @OverflowPolicy
+    final int mailboxOverflowPolicy;
+    @Nullable
+    final Dispatcher dispatcher;
+    @Nullable
+    final Dispatcher virtualThreadsDispatcher;
+    final long timerTickMillis;
+    final int timerWheelSize;
+    final boolean mailboxMetrics;
+    final int mailboxMetricsSamplingInterval;
+
+    private ActorSystemConfiguration(Builder builder) {
+        spawnActors = builder.spawnActors;
+        postponeMailboxOnStop = builder.postponeMailboxOnStop;
+        registerActors = builder.registerActors;
+        unregisterActors = builder.unregisterActors;
+        mailboxCapacity = builder.mailboxCapacity;
+        mailboxOverflowPolicy = builder.mailboxOverflowPolicy;
+        dispatcher = builder.dispatcher;
+        virtualThreadsDispatcher = builder.virtualThreads ? Dispatcher.sharedVirtualThreads() : null;
+        timerTickMillis = builder.timerTickMillis;
+        timerWheelSize = builder.timerWheelSize;
+        mailboxMetrics = builder.mailboxMetrics;
+        mailboxMetricsSamplingInterval = builder.mailboxMetricsSamplingInterval;
+    }
+
+
+    /**
+     * {@code ActorSystemConfiguration} builder static inner class.
+     */
+    public static final class Builder {
+        private boolean spawnActors = true;
+        private int registerActors = RegistrationStage.ON_START;
+        private int unregisterActors = UnregistrationStage.ON_STOP;
+        private boolean postponeMailboxOnStop = true;
+        private int mailboxCapacity = Mailbox.UNBOUNDED;
+        private int mailboxOverflowPolicy = OverflowPolicy.DROP_NEWEST;
+        private Dispatcher dispatcher;
+        private boolean virtualThreads;
+        private long timerTickMillis = TimingWheel.DEFAULT_TICK_MILLIS;
+        private int timerWheelSize = TimingWheel.DEFAULT_WHEEL_SIZE;
+        private boolean mailboxMetrics;
+        private int mailboxMetricsSamplingInterval = 64;
+
+        public Builder() {
+        }
+
+        /**
+         * Sets the {@code spawnActors} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param spawnActors the {@code spawnActors} to set
+         * @return a reference to this Builder
+         */
+        @RestrictTo(RestrictTo.Scope.TESTS)
+        public Builder spawnActors(boolean spawnActors) {
+            this.spawnActors = spawnActors;
+            return this;
+        }
+
+        /**
+         * Sets the {@code postponeMailboxOnStop} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param postponeMailboxOnStop the {@code postponeMailboxOnStop} to set
+         * @return a reference to this Builder
+         */
+        public Builder postponeMailboxOnStop(boolean postponeMailboxOnStop) {
+            this.postponeMailboxOnStop = postponeMailboxOnStop;
+            return this;
+        }
+
+        /**
+         * Sets the {@code registerActors} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param registerActors the {@code registerActors} to set
+         * @return a reference to this Builder
+         */
+        public Builder registerActors(int registerActors) {
+            this.registerActors = registerActors;
+            return this;
+        }
+
+        /**
+         * Sets the {@code unregisterActors} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param unregisterActors the {@code unregisterActors} to set
+         * @return a reference to this Builder
+         */
+        public Builder unregisterActors(int unregisterActors) {
+            this.unregisterActors = unregisterActors;
+            return this;
+        }
+
+        /**
+         * Sets the {@code mailboxCapacity} and returns a reference to this Builder so that the methods can be chained together.
+         * this is the default capacity of every mailbox in the Actor-System, which can be
+         * overridden through {@link MailboxBuilder#capacity(int)}
+         *
+         * @param mailboxCapacity the {@code mailboxCapacity} to set, the default is {@link Mailbox#UNBOUNDED}
+         * @return a reference to this Builder
+         */
+        public Builder mailboxCapacity(int mailboxCapacity) {
+            if (mailboxCapacity <= 0) {
+                throw new IllegalArgumentException("mailboxCapacity should be greater than zero");
+            }
+            this.mailboxCapacity = mailboxCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the {@code mailboxOverflowPolicy} and returns a reference to this Builder so that the methods can be chained together.
+         * this is the default {@link OverflowPolicy} of every mailbox in the Actor-System, which
+         * can be overridden through {@link MailboxBuilder#overflowPolicy(int)}
+         *
+         * @param mailboxOverflowPolicy the {@code mailboxOverflowPolicy} to set, the default is {@link OverflowPolicy#DROP_NEWEST}
+         * @return a reference to this Builder
+         */
+        public Builder mailboxOverflowPolicy(@OverflowPolicy int mailboxOverflowPolicy) {
+            this.mailboxOverflowPolicy = mailboxOverflowPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the {@code dispatcher} and returns a reference to this Builder so that the methods can be chained together.
+         * the {@link Dispatcher} hosts every Actor that observes on
+         * {@link io.reactivex.schedulers.Schedulers#computation()}, which is the default
+         * {@link io.reactivex.Scheduler} of a {@link MailboxBuilder}, so thousands of Actors share
+         * it's threads fairly, the other Schedulers are not affected
+         *
+         * @param dispatcher the {@code dispatcher} to set, the default is {@code null}
+         * @return a reference to this Builder
+         */
+        public Builder dispatcher(@Nullable Dispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+            return this;
+        }
+
+        /**
+         * Sets the {@code virtualThreads} and returns a reference to this Builder so that the methods can be chained together.
+         * when enabled, every Actor that observes on
+         * {@link io.reactivex.schedulers.Schedulers#computation()} or
+         * {@link io.reactivex.schedulers.Schedulers#io()} runs on it's own virtual thread, see
+         * {@link Dispatcher#virtualThreads()}, all the configurations share one such
+         * {@link Dispatcher}, this takes precedence over
+         * {@link #dispatcher(Dispatcher)}, and it is available on Java 21 or later only, not on
+         * Android
+         *
+         * @param virtualThreads the {@code virtualThreads} to set, the default is {@code false}
+         * @return a reference to this Builder
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the {@code timerTickMillis} and returns a reference to this Builder so that the methods can be chained together.
+         * the scheduled messages of {@link ActorScheduler#after(long)} are kept in a timing wheel
+         * that moves one tick at a time, so a scheduled message is delivered up to one tick
+         * later than it's delay, a shorter tick is more accurate, but wakes up more often while
+         * there are scheduled messages
+         *
+         * @param timerTickMillis the {@code timerTickMillis} to set, the default is {@code 10}
+         * @return a reference to this Builder
+         */
+        public Builder timerTickMillis(long timerTickMillis) {
+            if (timerTickMillis <= 0) {
+                throw new IllegalArgumentException("timerTickMillis should be greater than zero");
+            }
+            this.timerTickMillis = timerTickMillis;
+            return this;
+        }
+
+        /**
+         * Sets the {@code timerWheelSize} and returns a reference to this Builder so that the methods can be chained together.
+         * this is the number of ticks in one round of the timing wheel, rounded up to a power of
+         * two, the messages that are scheduled further than one round are checked once every
+         * round, see {@link #timerTickMillis(long)}
+         *
+         * @param timerWheelSize the {@code timerWheelSize} to set, the default is {@code 512}
+         * @return a reference to this Builder
+         */
+        public Builder timerWheelSize(int timerWheelSize) {
+            if (timerWheelSize <= 0 || timerWheelSize > (1 << 30)) {
+                throw new IllegalArgumentException("timerWheelSize should be between 1 and 2^30");
+            }
+            this.timerWheelSize = timerWheelSize;
+            return this;
+        }
+
+        /**
+         * Sets the {@code mailboxMetrics} and returns a reference to this Builder so that the methods can be chained together.
+         * when enabled, every mailbox created after this configuration is set counts the
+         * messages that enter, leave and are dropped by it, and times a sample of them while
+         * they wait and while the Actor handles them, the metrics are read through
+         * {@link ActorSystem#mailboxesMetrics()}
+         *
+         * @param mailboxMetrics the {@code mailboxMetrics} to set, the default is {@code false}
+         * @return a reference to this Builder
+         */
+        public Builder mailboxMetrics(boolean mailboxMetrics) {
+            this.mailboxMetrics = mailboxMetrics;
+            return this;
+        }
+
+        /**
+         * Sets the {@code mailboxMetricsSamplingInterval} and returns a reference to this Builder so that the methods can be chained together.
+         * when {@link #mailboxMetrics(boolean)} is enabled, one message in every interval is
+         * timed, the interval is rounded up to a power of two, a shorter interval gives more
+         * accurate histograms, but reads the clock more often
+         *
+         * @param mailboxMetricsSamplingInterval the {@code mailboxMetricsSamplingInterval} to set, the default is {@code 64}
+         * @return a reference to this Builder
+         */
+        public Builder mailboxMetricsSamplingInterval(int mailboxMetricsSamplingInterval) {
+            if (mailboxMetricsSamplingInterval <= 0 || mailboxMetricsSamplingInterval > (1 << 30)) {
+                throw new IllegalArgumentException("mailboxMetricsSamplingInterval should be between 1 and 2^30");
+            }
+            this.mailboxMetricsSamplingInterval = mailboxMetricsSamplingInterval;
+            return this;
+        }
+
+        /**
+         * Returns a {@code ActorSystemConfiguration} built from the parameters previously set.
+         *
+         * @return a {@code ActorSystemConfiguration} built with parameters of this {@code ActorSystemConfiguration.Builder}
+         * @throws UnsupportedOperationException if {@link #virtualThreads(boolean)} is enabled
+         *                                       on a runtime that does not support them
+         */
+        public ActorSystemConfiguration build() {
+            return new ActorSystemConfiguration(this);
+        }
+    }
+}
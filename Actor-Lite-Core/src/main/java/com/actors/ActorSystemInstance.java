@@ -0,0 +1,1069 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+
+import com.chaining.Chain;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+
+/**
+ * an implementation to the {@link ActorSystem}, this class is not part of the API,
+ * it is public just for testing
+ * <p>
+ * sending a message never takes a lock, the mailboxes are resolved from the snapshots held by
+ * {@link TypedMap}, while registering, un-registering and postponing an Actor are serialized
+ * per Actor address only, so Actors of different addresses do not wait for each other
+ * <p>
+ * every Actor has a {@link Mailbox} that holds only the messages that are not delivered yet,
+ * it's capacity and {@link OverflowPolicy} are taken from the {@link ActorSystemConfiguration}
+ * unless the Actor sets them through it's {@link MailboxBuilder}
+ * <p>
+ * the messages scheduled through {@link ActorScheduler} are held by a {@link TimingWheel} that
+ * is created on the first scheduled message, from the {@link ActorSystemConfiguration} at
+ * that time, it's thread runs until {@link #stopTimer()} is invoked
+ * <p>
+ * the {@link ActorGroup} instances are kept by there name, every group holds the mailboxes of
+ * it's members, so sending to a group does not look up the mailboxes of every member
+ * <p>
+ * the subscribers of every topic and {@link Message} id are kept in a {@link Topic}, publishing
+ * reads there copy-on-write array without taking a lock
+ * <p>
+ * asking an Actor through {@link #ask(Message, Class, long, TimeUnit)} does not register
+ * anything, the reply channel travels with the {@link AskMessage} itself, and it's timeout is a
+ * task in the {@link TimingWheel}
+ * <p>
+ * Created by Ahmed Adel Ismail on 10/10/2017.
+ */
+public class ActorSystemInstance {
+
+    protected static final Map<Object, ActorSystemInstance> instances = new LinkedHashMap<>();
+    protected final TypedMap<Mailbox> mailboxes;
+    protected final TypedMap<Disposable> actorsDisposables;
+    protected final ActorsInjector actorsInjector;
+    protected volatile ActorSystemConfiguration configuration;
+    private final ConcurrentMap<Class<?>, Object> registrationLocks;
+    private final ConcurrentMap<String, ActorGroup> groups;
+    private final ConcurrentMap<Object, Topic> topics;
+    private volatile TimingWheel timingWheel;
+
+
+    protected ActorSystemInstance() {
+        this(new ActorSystemConfiguration.Builder().build());
+    }
+
+    protected ActorSystemInstance(ActorSystemConfiguration configuration) {
+        this.configuration = configuration;
+        this.registrationLocks = new ConcurrentHashMap<>();
+        this.groups = new ConcurrentHashMap<>();
+        this.topics = new ConcurrentHashMap<>();
+        this.mailboxes = new TypedMap<>(new ConcurrentHashMap<Object, Mailbox>());
+        this.actorsDisposables = new TypedMap<>(new ConcurrentHashMap<Object, Disposable>());
+        this.actorsInjector = new ActorsInjector(this);
+
+    }
+
+    @RestrictTo(RestrictTo.Scope.TESTS)
+    public static ActorSystemInstance getInstance(Object key, ActorSystemConfiguration configuration) {
+        synchronized (ActorSystemInstance.class) {
+            return doGetInstance(key, configuration);
+        }
+    }
+
+    @NonNull
+    private static ActorSystemInstance doGetInstance(Object key, ActorSystemConfiguration configuration) {
+        ActorSystemInstance actorSystem = instances.get(key);
+        if (actorSystem == null) {
+            actorSystem = new ActorSystemInstance(configuration);
+            instances.put(key, actorSystem);
+        }
+        return actorSystem;
+    }
+
+    public static ActorSystemInstance getInstance(Object key) {
+        synchronized (ActorSystemInstance.class) {
+            return doGetInstance(key);
+        }
+    }
+
+    @NonNull
+    private static ActorSystemInstance doGetInstance(Object key) {
+        ActorSystemInstance actorSystem = instances.get(key);
+        if (actorSystem == null) {
+            actorSystem = new ActorSystemInstance();
+            instances.put(key, actorSystem);
+        }
+        return actorSystem;
+    }
+
+    /**
+     * replace the {@link ActorSystemConfiguration} of this instance, the mailboxes that are
+     * already created keep their capacity and {@link OverflowPolicy}
+     *
+     * @param configuration the new {@link ActorSystemConfiguration}
+     */
+    void setConfiguration(@NonNull ActorSystemConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * start building a message to be sent across the Actor System
+     *
+     * @param id the id of the message
+     * @return a {@link MessageBuilder} to handle building the message
+     */
+    public MessageBuilder createMessage(int id) {
+        return new MessageBuilder(this, id);
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id
+     *
+     * @param messageId the id of the {@link Message}
+     * @param actors    the actor (or group of actors) that will receive this message
+     */
+    public void send(int messageId, @NonNull Class<?>... actors) {
+        send(new Message(messageId), actors);
+    }
+
+    /**
+     * send a {@link Message} to a mailbox, a {@link PooledMessage} goes back to the pool after
+     * all the receiving Actors handle it, so it should not be used after this method returns
+     * <p>
+     * if a receiving {@link Mailbox} is full and it's policy is {@link OverflowPolicy#FAIL},
+     * the {@link Message} is still sent to the other Actors, then the
+     * {@link IllegalStateException} is thrown
+     *
+     * @param message the {@link Message} object
+     * @param actors  the actor (or group of actors) that will receive this message
+     */
+    public void send(final Message message, @NonNull final Class<?>... actors) {
+        send(message, actors, true);
+    }
+
+    /**
+     * send a {@link Message} from a thread that should never wait for a full {@link Mailbox},
+     * like the thread of the {@link TimingWheel} that sends the scheduled messages, or an Actor
+     * that replies, if a receiving {@link Mailbox} is full and it's policy is
+     * {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#FAIL}, the {@link Message} is
+     * dropped the same as {@link OverflowPolicy#DROP_NEWEST}
+     *
+     * @param message the {@link Message} object
+     * @param actors  the actor (or group of actors) that will receive this message
+     */
+    void sendWithoutWaiting(final Message message, @NonNull final Class<?>... actors) {
+        send(message, actors, false);
+    }
+
+    private void send(Message message, Class<?>[] actors, boolean mayWait) {
+        if (actors.length == 0) {
+            throw new UnsupportedOperationException("no Actors passed to the parameters");
+        }
+        IllegalStateException failure;
+        try {
+            if (ActorSystemGlobalConfiguration.isTestingMode()) {
+                failure = doSendMessagesForAllInstances(message, actors, mayWait);
+            } else {
+                failure = doSendMessage(message, actors, mayWait);
+            }
+        } finally {
+            PooledMessage.releaseIfPooled(message);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Nullable
+    private IllegalStateException doSendMessagesForAllInstances(final Message message,
+                                                                @NonNull final Class<?>[] actors,
+                                                                boolean mayWait) {
+        IllegalStateException failure = null;
+        for (ActorSystemInstance actorSystemInstance : instances.values()) {
+            IllegalStateException instanceFailure =
+                    actorSystemInstance.doSendMessage(message, actors, mayWait);
+            if (failure == null) {
+                failure = instanceFailure;
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * @return the {@link IllegalStateException} of the first full {@link Mailbox} that has the
+     * {@link OverflowPolicy#FAIL} policy, after the {@link Message} is offered to every Mailbox
+     */
+    @Nullable
+    private IllegalStateException doSendMessage(Message message,
+                                                @NonNull Class<?>[] actors,
+                                                boolean mayWait) {
+        IllegalStateException failure = null;
+        for (Class<?> actor : actors) {
+            List<Mailbox> actorMailboxes = mailboxes.valuesOf(actor);
+            for (int i = 0, size = actorMailboxes.size(); i < size; i++) {
+                Mailbox mailbox = actorMailboxes.get(i);
+                if (!mayWait) {
+                    mailbox.offerWithoutWaiting(message);
+                    continue;
+                }
+                try {
+                    mailbox.offer(message);
+                } catch (IllegalStateException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * offer a {@link Message} to every {@link Mailbox}, then throw the
+     * {@link IllegalStateException} of the first full {@link Mailbox} that has the
+     * {@link OverflowPolicy#FAIL} policy, if any
+     */
+    static void offerToAll(Message message, Mailbox[] mailboxes) throws IllegalStateException {
+        IllegalStateException failure = null;
+        for (int i = 0; i < mailboxes.length; i++) {
+            try {
+                mailboxes[i].offer(message);
+            } catch (IllegalStateException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @NonNull
+    private Consumer<Throwable> printStackTrace() {
+        return new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) throws Exception {
+                throwable.printStackTrace();
+            }
+        };
+    }
+
+    /**
+     * send a {@link Message} to an Actor and receive it's reply, the Actor replies through
+     * {@link #reply(Message, Message)}, this is the same as
+     * {@link #ask(Message, Class, long, TimeUnit)} with the timeout in milliseconds
+     *
+     * @param message       the {@link Message} object
+     * @param actor         the Actor that will receive this message
+     * @param timeoutMillis the time to wait for the reply in milliseconds
+     * @return a {@link Single} that emits the reply
+     */
+    @NonNull
+    public Single<Message> ask(@NonNull Message message, @NonNull Class<?> actor,
+                               long timeoutMillis) {
+        return ask(message, actor, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * send a {@link Message} to an Actor and receive it's reply, without registering an Actor
+     * to receive the reply, the Actor replies through {@link #reply(Message, Message)}
+     * <p>
+     * the message is sent right away, and the returned {@link Single} emits the first reply on
+     * the replying Actor's thread, or it emits a {@link NoSuchElementException} if no Actor is
+     * registered or postponed with the passed address, or a
+     * {@link java.util.concurrent.TimeoutException} if the reply does not come in time, a
+     * {@link PooledMessage} goes back to the pool before this method returns
+     *
+     * @param message the {@link Message} object
+     * @param actor   the Actor that will receive this message
+     * @param timeout the time to wait for the reply
+     * @param unit    the {@link TimeUnit} of the timeout
+     * @return a {@link Single} that emits the reply
+     */
+    @NonNull
+    public Single<Message> ask(@NonNull Message message, @NonNull Class<?> actor,
+                               long timeout, @NonNull TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout should be greater than zero");
+        }
+        AskMessage request = new AskMessage(message, actor);
+        PooledMessage.releaseIfPooled(message);
+        if (doAsk(request, actor)) {
+            request.startTimeout(getTimingWheel(), timeout, unit);
+        } else {
+            request.fail(new NoSuchElementException("no Actor registered at : " + actor.getName()));
+        }
+        return request.reply();
+    }
+
+    private boolean doAsk(AskMessage request, Class<?> actor) {
+        if (!ActorSystemGlobalConfiguration.isTestingMode()) {
+            return deliver(request, actor);
+        }
+        boolean delivered = false;
+        for (ActorSystemInstance actorSystemInstance : instances.values()) {
+            delivered |= actorSystemInstance.deliver(request, actor);
+        }
+        return delivered;
+    }
+
+    private boolean deliver(Message message, Class<?> actor) {
+        boolean delivered = false;
+        List<Mailbox> actorMailboxes = mailboxes.valuesOf(actor);
+        for (int i = 0, size = actorMailboxes.size(); i < size; i++) {
+            delivered |= actorMailboxes.get(i).offer(message);
+        }
+        return delivered;
+    }
+
+    /**
+     * send a {@link Message} to an Actor only if it's {@link Mailbox} has room for it, unlike
+     * {@link #send(Message, Class[])}, the {@link OverflowPolicy} of the Mailbox is not applied,
+     * so this method never waits, and no pending message is dropped to make room, a producer
+     * that receives {@code false} should slow down, or try again later
+     * <p>
+     * if the address has more than one Mailbox, the message is put in every Mailbox that has
+     * room for it, a {@link PooledMessage} goes back to the pool after all the receiving Actors
+     * handle it, so it should not be used after this method returns
+     *
+     * @param message the {@link Message} object
+     * @param actor   the Actor that will receive this message
+     * @return {@code true} if all the mailboxes of the Actor accepted the message, or
+     * {@code false} if any of them is full, or if no Actor is registered or postponed with the
+     * passed address
+     */
+    public boolean offer(@NonNull Message message, @NonNull Class<?> actor) {
+        try {
+            if (!ActorSystemGlobalConfiguration.isTestingMode()) {
+                List<Mailbox> actorMailboxes = mailboxes.valuesOf(actor);
+                return !actorMailboxes.isEmpty() && doOffer(message, actorMailboxes);
+            }
+            boolean found = false;
+            boolean accepted = true;
+            for (ActorSystemInstance actorSystemInstance : instances.values()) {
+                List<Mailbox> actorMailboxes = actorSystemInstance.mailboxes.valuesOf(actor);
+                found |= !actorMailboxes.isEmpty();
+                accepted &= doOffer(message, actorMailboxes);
+            }
+            return found && accepted;
+        } finally {
+            PooledMessage.releaseIfPooled(message);
+        }
+    }
+
+    private static boolean doOffer(Message message, List<Mailbox> actorMailboxes) {
+        boolean accepted = true;
+        for (int i = 0, size = actorMailboxes.size(); i < size; i++) {
+            accepted &= actorMailboxes.get(i).tryOffer(message);
+        }
+        return accepted;
+    }
+
+    /**
+     * create a {@link FlowableSubscriber} that sends the messages of a {@link Flowable}
+     * to an Actor at the pace of the Actor, this is the same as {@link #sink(Class, int)} with
+     * the capacity of the Actor's {@link Mailbox} as the maximum pending messages, or
+     * {@link Flowable#bufferSize()} if the Mailbox is unbounded
+     *
+     * @param actor the Actor that will receive the messages
+     * @return a {@link FlowableSubscriber} to be passed to
+     * {@link Flowable#subscribe(FlowableSubscriber)}
+     */
+    @NonNull
+    public FlowableSubscriber<Message> sink(@NonNull Class<?> actor) {
+        int maxPending = Flowable.bufferSize();
+        List<Mailbox> actorMailboxes = mailboxes.valuesOf(actor);
+        for (int i = 0, size = actorMailboxes.size(); i < size; i++) {
+            int capacity = actorMailboxes.get(i).capacity();
+            if (capacity != Mailbox.UNBOUNDED) {
+                maxPending = capacity;
+                break;
+            }
+        }
+        return sink(actor, maxPending);
+    }
+
+    /**
+     * create a {@link FlowableSubscriber} that sends the messages of a {@link Flowable}
+     * to an Actor, it requests from the {@link Flowable} only the messages that fit
+     * in the Actor's {@link Mailbox}, and it requests more every time the Actor handles a
+     * {@link Message}, so a fast producer slows down at the source instead of filling the memory
+     * <p>
+     * the Actor should be registered or postponed before the {@link Flowable} is
+     * subscribed, else the subscription is cancelled, and it is cancelled as well when the
+     * Actor is unregistered, each sink is subscribed only once
+     *
+     * @param actor      the Actor that will receive the messages
+     * @param maxPending the maximum number of messages in the Actor's {@link Mailbox} before
+     *                   the sink stops requesting, it is limited by the capacity of the
+     *                   {@link Mailbox} as well
+     * @return a {@link FlowableSubscriber} to be passed to
+     * {@link Flowable#subscribe(FlowableSubscriber)}
+     */
+    @NonNull
+    public FlowableSubscriber<Message> sink(@NonNull Class<?> actor, int maxPending) {
+        return new MailboxSink(mailboxes, actor, maxPending);
+    }
+
+    /**
+     * reply to a {@link Message}, if it was sent through
+     * {@link #ask(Message, Class, long, TimeUnit)}, the reply goes to the asking code, else it
+     * is sent to the {@link Message#getReplyToActor()} of the request, if any
+     * <p>
+     * only the first reply to an asked {@link Message} is received, the later replies and the
+     * replies that come after the timeout are dropped
+     *
+     * @param request  the received {@link Message}
+     * @param response the reply
+     */
+    public void reply(@NonNull Message request, @NonNull Message response) {
+        if (request instanceof AskMessage) {
+            if (!((AskMessage) request).complete(response)) {
+                PooledMessage.releaseIfPooled(response);
+            }
+        } else if (request.getReplyToActor() != null) {
+            sendWithoutWaiting(response, request.getReplyToActor());
+        } else {
+            PooledMessage.releaseIfPooled(response);
+        }
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id
+     *
+     * @param messageId        the id of the {@link Message}
+     * @param actorsClassNames the fully qualified class name for
+     *                         the actor (or group of actors) that will receive this message
+     */
+    public void send(int messageId, @NonNull String... actorsClassNames) {
+        send(new Message(messageId), actorsClassNames);
+    }
+
+    /**
+     * send a {@link Message} to a mailbox
+     *
+     * @param message          the {@link Message} object
+     * @param actorsClassNames the fully qualified class name for
+     *                         the actor (or group of actors) that will receive this message
+     */
+    public void send(final Message message, @NonNull String... actorsClassNames) {
+        List<Class<?>> classes = new ArrayList<>();
+        for (String actorClassName : actorsClassNames) {
+            try {
+                classes.add(Class.forName(actorClassName));
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+        send(message, classes.toArray(new Class<?>[0]));
+    }
+
+    /**
+     * create a named group of Actors, that receives a {@link Message} in all it's members
+     * mailboxes through {@link #sendToGroup(Message, String)}, or through the returned
+     * {@link ActorGroup}, creating a group with an existing name replaces the old group
+     * <p>
+     * the members do not need to be registered when the group is created, the group delivers
+     * to the Actors that are registered at the time of sending
+     *
+     * @param name    the name of the group
+     * @param members the Actors addresses that will receive the messages sent to this group
+     * @return the created {@link ActorGroup}
+     */
+    @NonNull
+    public ActorGroup createGroup(@NonNull String name, @NonNull Class<?>... members) {
+        if (members.length == 0) {
+            throw new UnsupportedOperationException("no Actors passed to the parameters");
+        }
+        ActorGroup group = new ActorGroup(name, members, this);
+        groups.put(name, group);
+        return group;
+    }
+
+    /**
+     * @param name the name of the group
+     * @return the {@link ActorGroup} created with this name, or {@code null} if no group was
+     * created with this name, or it was removed
+     */
+    @Nullable
+    public ActorGroup getGroup(@NonNull String name) {
+        return groups.get(name);
+    }
+
+    /**
+     * remove a group that was created through {@link #createGroup(String, Class[])}, the
+     * members of the group stay registered
+     *
+     * @param name the name of the group
+     */
+    public void removeGroup(@NonNull String name) {
+        groups.remove(name);
+    }
+
+    /**
+     * send an empty {@link Message} with the passed id to all the members of a group
+     *
+     * @param messageId the id of the {@link Message}
+     * @param groupName the name passed to {@link #createGroup(String, Class[])}
+     */
+    public void sendToGroup(int messageId, @NonNull String groupName) {
+        sendToGroup(new Message(messageId), groupName);
+    }
+
+    /**
+     * send a {@link Message} to all the members of a group, if there is no group with the passed
+     * name, the message is dropped, the same as sending a message to an Actor that is not
+     * registered
+     *
+     * @param message   the {@link Message} object
+     * @param groupName the name passed to {@link #createGroup(String, Class[])}
+     */
+    public void sendToGroup(@NonNull Message message, @NonNull String groupName) {
+        ActorGroup group = groups.get(groupName);
+        if (group != null) {
+            group.send(message);
+        } else {
+            PooledMessage.releaseIfPooled(message);
+        }
+    }
+
+    /**
+     * subscribe an Actor to a topic, so it receives the messages published to this topic
+     * through {@link #publish(Message, String)}, the subscription is kept until
+     * {@link #unsubscribe(String, Class)} is invoked, and the Actor receives the published
+     * messages while it is registered, the same as {@link #send(Message, Class[])}
+     *
+     * @param topic the name of the topic
+     * @param actor the address of the subscribing Actor
+     */
+    public void subscribe(@NonNull String topic, @NonNull Class<?> actor) {
+        topic(topic).subscribe(actor);
+    }
+
+    /**
+     * subscribe an Actor to a {@link Message} id, so it receives the messages with this id
+     * that are published through {@link #publish(Message)}
+     *
+     * @param messageId the id of the {@link Message}
+     * @param actor     the address of the subscribing Actor
+     * @see #subscribe(String, Class)
+     */
+    public void subscribe(int messageId, @NonNull Class<?> actor) {
+        topic(messageId).subscribe(actor);
+    }
+
+    /**
+     * remove the subscription made through {@link #subscribe(String, Class)}
+     *
+     * @param topic the name of the topic
+     * @param actor the address of the subscribed Actor
+     */
+    public void unsubscribe(@NonNull String topic, @NonNull Class<?> actor) {
+        topic(topic).unsubscribe(actor);
+    }
+
+    /**
+     * remove the subscription made through {@link #subscribe(int, Class)}
+     *
+     * @param messageId the id of the {@link Message}
+     * @param actor     the address of the subscribed Actor
+     */
+    public void unsubscribe(int messageId, @NonNull Class<?> actor) {
+        topic(messageId).unsubscribe(actor);
+    }
+
+    /**
+     * publish an empty {@link Message} with the passed id to the subscribers of a topic
+     *
+     * @param messageId the id of the {@link Message}
+     * @param topic     the name of the topic
+     */
+    public void publish(int messageId, @NonNull String topic) {
+        publish(new Message(messageId), topic);
+    }
+
+    /**
+     * publish a {@link Message} to the Actors subscribed to a topic, if no Actor is
+     * subscribed, the message is dropped
+     *
+     * @param message the {@link Message} object
+     * @param topic   the name of the topic
+     */
+    public void publish(@NonNull Message message, @NonNull String topic) {
+        doPublish(message, topics.get(topic));
+    }
+
+    /**
+     * publish a {@link Message} to the Actors subscribed to it's id, if no Actor is
+     * subscribed, the message is dropped
+     *
+     * @param message the {@link Message} object
+     */
+    public void publish(@NonNull Message message) {
+        doPublish(message, topics.get(message.getId()));
+    }
+
+    private void doPublish(Message message, Topic topic) {
+        try {
+            if (topic == null || topic.isEmpty()) {
+                return;
+            }
+            if (ActorSystemGlobalConfiguration.isTestingMode()) {
+                IllegalStateException failure =
+                        doSendMessagesForAllInstances(message, topic.subscribers(), true);
+                if (failure != null) {
+                    throw failure;
+                }
+                return;
+            }
+            offerToAll(message, topic.mailboxes(mailboxes));
+        } finally {
+            PooledMessage.releaseIfPooled(message);
+        }
+    }
+
+    @NonNull
+    private Topic topic(@NonNull Object key) {
+        Topic topic = topics.get(key);
+        if (topic == null) {
+            Topic newTopic = new Topic();
+            topic = topics.putIfAbsent(key, newTopic);
+            if (topic == null) {
+                topic = newTopic;
+            }
+        }
+        return topic;
+    }
+
+    /**
+     * register a class to a mailbox but with the default configurations
+     *
+     * @param actor             the Actor that will handle messages
+     * @param observeOn         the {@link Scheduler} that will host the received messages
+     * @param onMessageReceived the {@link Consumer} function that will be invoked
+     *                          when a message is received
+     * @deprecated use {@link #register(Actor)} instead
+     */
+    @Deprecated
+    public void register(@NonNull Object actor,
+                         @NonNull final Scheduler observeOn,
+                         @NonNull final Consumer<Message> onMessageReceived) {
+        register(actor, defaultMailboxBuilder(actor, observeOn, onMessageReceived));
+    }
+
+    /**
+     * register a class to a mailbox
+     *
+     * @param actor          the class (Actor) that will handle messages
+     * @param mailboxBuilder a function that takes a {@link MailboxBuilder} and generates a Mailbox
+     * @deprecated use {@link #register(Actor)} instead
+     */
+    @Deprecated
+    public void register(@NonNull Object actor,
+                         @NonNull Consumer<MailboxBuilder> mailboxBuilder) {
+        synchronized (registrationLock(actor)) {
+            doRegister(actor, mailboxBuilder);
+        }
+
+        if (configuration.spawnActors) {
+            actorsInjector.injectFor(actor);
+        }
+    }
+
+    /**
+     * get the lock that serializes the registration of the passed Actor's address, Actors are
+     * registered and unregistered by there instance or there {@link Class}, both share the
+     * same lock
+     *
+     * @param actor the Actor instance or it's {@link Class}
+     * @return the lock of this Actor's address
+     */
+    @NonNull
+    private Object registrationLock(@NonNull Object actor) {
+        Class<?> address = new ObjectTypeRetriever().apply(actor);
+        Object lock = registrationLocks.get(address);
+        if (lock == null) {
+            Object newLock = new Object();
+            lock = registrationLocks.putIfAbsent(address, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+        return lock;
+    }
+
+    @NonNull
+    protected Consumer<MailboxBuilder> defaultMailboxBuilder(
+            final Object actor,
+            final Scheduler observeOn,
+            final Consumer<Message> onMessageReceived) {
+
+        return new Consumer<MailboxBuilder>() {
+            @Override
+            public void accept(MailboxBuilder builder) {
+                builder.observeOn(observeOn).onMessageReceived(onMessageReceived);
+                if (actor instanceof OnActorUnregistered) {
+                    builder.onMailboxClosed(invokeOnUnregister((OnActorUnregistered) actor));
+                }
+                if (actor instanceof OnBatchReceived) {
+                    builder.onBatchReceived(invokeOnBatchReceived((OnBatchReceived) actor));
+                }
+                if (actor instanceof OnCreateMailbox) {
+                    ((OnCreateMailbox) actor).onCreateMailbox(builder);
+                }
+            }
+        };
+    }
+
+    protected void doRegister(Object actor, Consumer<MailboxBuilder> mailboxBuilderFunction) {
+        Chain.let(new MailboxBuilder(mailboxes.getOrIgnore(actor).blockingGet(), configuration))
+                .apply(mailboxBuilderFunction)
+                .map(toFinalMailboxBuilder())
+                .apply(addMailbox(actor))
+                .apply(addDisposable(actor))
+                .apply(clearMailboxBuilder());
+    }
+
+    @NonNull
+    private static Consumer<List<Message>> invokeOnBatchReceived(final OnBatchReceived actor) {
+        return new Consumer<List<Message>>() {
+            @Override
+            public void accept(List<Message> messages) throws Exception {
+                actor.onBatchReceived(messages);
+            }
+        };
+    }
+
+    @NonNull
+    private static Action invokeOnUnregister(final OnActorUnregistered actor) {
+        return new Action() {
+            @Override
+            public void run() throws Exception {
+                actor.onUnregister();
+            }
+        };
+    }
+
+    @NonNull
+    private Function<MailboxBuilder, MailboxBuilder> toFinalMailboxBuilder() {
+        return new Function<MailboxBuilder, MailboxBuilder>() {
+            @Override
+            public MailboxBuilder apply(MailboxBuilder mailboxBuilder) {
+                return mailboxBuilder.build();
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<MailboxBuilder> addMailbox(final Object actor) {
+        return new Consumer<MailboxBuilder>() {
+            @Override
+            public void accept(MailboxBuilder builder) {
+                mailboxes.put(actor, builder.getMailbox());
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<MailboxBuilder> addDisposable(final Object actor) {
+        return new Consumer<MailboxBuilder>() {
+            @Override
+            public void accept(MailboxBuilder builder) {
+                actorsDisposables.put(actor, builder.getActorDisposable());
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<MailboxBuilder> clearMailboxBuilder() {
+        return new Consumer<MailboxBuilder>() {
+            @Override
+            public void accept(MailboxBuilder builder) {
+                builder.clear();
+            }
+        };
+    }
+
+    /**
+     * register a class to a mailbox but with default configurations and will invoke
+     * {@link Actor#onMessageReceived(Message)} when the passed {@link Actor} receives a message,
+     * the address of this {@link Actor}'s Mailbox will be the {@link Class} of the passed object,
+     * and the {@link Scheduler} that will be used to observe on the Mailbox is the
+     * one supplied by the {@link Actor#observeOnScheduler()}
+     *
+     * @param actor the {@link Actor} that will receive messages and it's {@link Class}
+     *              will be the address of it's mailbox
+     */
+    public void register(@NonNull final Actor actor) {
+        register(actor, defaultMailboxBuilder(actor, actor.observeOnScheduler(),
+                invokeActorOnMessageReceived(actor)));
+    }
+
+    @NonNull
+    private Consumer<Message> invokeActorOnMessageReceived(@NonNull final Actor actor) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) throws Exception {
+                actor.onMessageReceived(message);
+            }
+        };
+    }
+
+    /**
+     * postpone the current Actor, this means that this actor will either register again, or
+     * unregister itself in a later point ... this function will cause any coming message to be
+     * queued until the Actor Registers itself again, and then it will re-send the queued messages
+     * <p>
+     * the messages that were not delivered before postponing are kept in the queue as well,
+     * while the number of queued messages is limited by the capacity of the Actor's
+     * {@link Mailbox}
+     * <p>
+     * if the Actor unregistered itself, the pending messages will be cancelled
+     *
+     * @param actor the Actor to be postponed
+     */
+    public void postpone(Object actor) {
+        if (configuration.spawnActors) {
+            actorsInjector.clearFor(actor);
+        }
+
+        synchronized (registrationLock(actor)) {
+            Chain.let(actor)
+                    .apply(addPostponedMailboxIfMissing())
+                    .apply(detachActor());
+        }
+    }
+
+    @NonNull
+    private Consumer<Object> addPostponedMailboxIfMissing() {
+        return new Consumer<Object>() {
+            @Override
+            public void accept(Object o) {
+                if (!mailboxes.getOrIgnore(o).isEmpty().blockingGet()) {
+                    return;
+                }
+                ActorSystemConfiguration current = configuration;
+                mailboxes.put(o, new Mailbox(MailboxType.UNBOUNDED_LINKED,
+                        current.mailboxCapacity, current.mailboxOverflowPolicy, null,
+                        MailboxBuilder.newMetrics(current.mailboxMetrics
+                                ? current.mailboxMetricsSamplingInterval : 0)));
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<Object> detachActor() {
+        return new Consumer<Object>() {
+            @Override
+            public void accept(Object o) {
+                actorsDisposables.getOrIgnore(o)
+                        .doOnSuccess(removeDisposableByObject(o))
+                        .subscribe(invokeDisposeIfNotDisposed(), printStackTrace());
+            }
+        };
+    }
+
+    /**
+     * unregister a class from it's mailbox, notice that this method will close the
+     * {@link Mailbox} to notify the actor that it has completed it's task and
+     * will not receive messages any more, the messages that are not delivered yet are dropped
+     *
+     * @param actor the Actor that was registered through {@link #register(Object, Consumer)}} or
+     *              {@link #register(Object, Consumer)}
+     */
+    public void unregister(@NonNull Object actor) {
+        if (configuration.spawnActors) {
+            actorsInjector.clearFor(actor);
+        }
+
+        synchronized (registrationLock(actor)) {
+            doUnregister(actor);
+        }
+    }
+
+    private void doUnregister(@NonNull Object actor) {
+        if (actor instanceof Class) {
+            doUnregisterClass((Class<?>) actor);
+        } else {
+            doUnregisterObject(actor);
+        }
+    }
+
+    private void doUnregisterClass(final Class<?> actor) {
+        Observable.fromIterable(mailboxes.removeAll(actor))
+                .blockingSubscribe(invokeMailboxClose(), printStackTrace());
+
+        Observable.fromIterable(actorsDisposables.removeAll(actor))
+                .blockingSubscribe(invokeDisposeIfNotDisposed(), printStackTrace());
+    }
+
+    @NonNull
+    private Consumer<Mailbox> invokeMailboxClose() {
+        return new Consumer<Mailbox>() {
+            @Override
+            public void accept(Mailbox mailbox) throws Exception {
+                mailbox.close();
+            }
+        };
+    }
+
+    @NonNull
+    private Disposable dummyDisposable() {
+        return new Disposable() {
+            @Override
+            public void dispose() {
+
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return false;
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<Disposable> invokeDisposeIfNotDisposed() {
+        return new Consumer<Disposable>() {
+            @Override
+            public void accept(Disposable disposable) throws Exception {
+                disposeIfNotDisposed(disposable);
+            }
+        };
+    }
+
+    private void disposeIfNotDisposed(Disposable disposable) {
+        if (!disposable.isDisposed()) disposable.dispose();
+    }
+
+    private void doUnregisterObject(final @NonNull Object actor) {
+        mailboxes.getOrIgnore(actor)
+                .doOnSuccess(invokeMailboxClose())
+                .doOnSuccess(removeMailboxByObject(actor))
+                .flatMap(toActorDisposableMaybe(actor))
+                .doOnSuccess(removeDisposableByObject(actor))
+                .defaultIfEmpty(dummyDisposable())
+                .subscribe(invokeDisposeIfNotDisposed(), printStackTrace());
+
+
+    }
+
+
+    @NonNull
+    private Consumer<Mailbox> removeMailboxByObject(final Object actor) {
+        return new Consumer<Mailbox>() {
+            @Override
+            public void accept(Mailbox mailbox) {
+                mailboxes.remove(actor);
+            }
+        };
+    }
+
+    @NonNull
+    private Function<Mailbox, Maybe<Disposable>> toActorDisposableMaybe(final Object actor) {
+        return new Function<Mailbox, Maybe<Disposable>>() {
+            @Override
+            public Maybe<Disposable> apply(Mailbox mailbox) {
+                return actorsDisposables.getOrIgnore(actor);
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<Disposable> removeDisposableByObject(final Object actor) {
+        return new Consumer<Disposable>() {
+            @Override
+            public void accept(Disposable disposable) throws Exception {
+                actorsDisposables.remove(actor);
+            }
+        };
+    }
+
+    /**
+     * take a snapshot of the metrics of every {@link Mailbox} that records them, which are
+     * the mailboxes created while {@link ActorSystemConfiguration.Builder#mailboxMetrics(boolean)}
+     * is enabled, a postponed Actor's {@link Mailbox} is included as well
+     *
+     * @return a {@link MailboxSnapshot} for every {@link Mailbox} that records metrics
+     */
+    @NonNull
+    public List<MailboxSnapshot> mailboxesMetrics() {
+        List<MailboxSnapshot> snapshots = new ArrayList<>();
+        ObjectTypeRetriever typeRetriever = new ObjectTypeRetriever();
+        for (Map.Entry<Object, Mailbox> entry : mailboxes) {
+            MailboxMetrics metrics = entry.getValue().metrics();
+            if (metrics != null && entry.getKey() != null) {
+                snapshots.add(metrics.snapshot(typeRetriever.apply(entry.getKey()),
+                        entry.getValue()));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * stop the thread of the timing wheel that holds the messages scheduled through
+     * {@link ActorScheduler}, and the timeouts of {@link #ask(Message, Class, long, TimeUnit)},
+     * the scheduled messages that are not sent yet are dropped, and the pending asks will not
+     * time out, the next scheduled {@link Message} or ask with a timeout starts a new timing
+     * wheel, from the {@link ActorSystemConfiguration} at that time
+     */
+    public void stopTimer() {
+        TimingWheel wheel;
+        synchronized (this) {
+            wheel = timingWheel;
+            timingWheel = null;
+        }
+        if (wheel != null) {
+            wheel.stop();
+            ActorScheduler.removeAll(wheel);
+        }
+    }
+
+    TypedMap<Mailbox> getMailboxes() {
+        return mailboxes;
+    }
+
+    TypedMap<Disposable> getActorsDisposables() {
+        return actorsDisposables;
+    }
+
+    ActorsInjector getActorsInjector() {
+        return actorsInjector;
+    }
+
+    @NonNull
+    TimingWheel getTimingWheel() {
+        TimingWheel wheel = timingWheel;
+        if (wheel == null) {
+            synchronized (this) {
+                wheel = timingWheel;
+                if (wheel == null) {
+                    wheel = new TimingWheel(configuration.timerTickMillis,
+                            TimeUnit.MILLISECONDS, configuration.timerWheelSize);
+                    timingWheel = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+}
@@ -0,0 +1,292 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+
+import com.actors.annotations.Spawn;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * a class that is responsible for tracking Spawned actors, registering and un-registering them
+ * when the Actor created them registers and un-registers
+ * <p>
+ * the Actors spawned by every Actor class are resolved once, into a {@link SpawnTable}, so an
+ * Actor that registers again, like an Activity on every {@code onStart()}, does not cause any
+ * reflection lookups, the table is the one generated by the {@code Actor-Lite-Compiler}
+ * annotation processor if found, else it is read from the {@link Spawn} annotation, with the
+ * constructors of the spawned Actors made accessible
+ * <p>
+ * every owner keeps the list of the Actors it spawned, and every spawned Actor keeps the number
+ * of it's owners, an Actor spawned by many owners is created once, and unregistered when it's
+ * last owner unregisters, so unregistering an owner touches only the Actors it spawned, no
+ * matter how many other owners and spawned Actors are registered, an Actor that was registered
+ * by hand before it was requested to be spawned is not owned, and is left registered
+ * <p>
+ * Created by Ahmed Adel Ismail on 2/27/2018.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class ActorsInjector {
+
+    private static final ConcurrentMap<Class<?>, SpawnTable> spawnTables = new ConcurrentHashMap<>();
+
+    private final Object ownershipLock = new Object();
+    private final Map<Object, List<SpawnedActor>> ownedActors = new HashMap<>();
+    private final Map<Class<?>, SpawnedActor> spawnedActors = new HashMap<>();
+    private final ActorSystemInstance actorSystem;
+
+    ActorsInjector(ActorSystemInstance actorSystem) {
+        this.actorSystem = actorSystem;
+    }
+
+    void injectFor(final Object actor) {
+        try {
+            invokeInjectFor(actor);
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+
+
+    }
+
+    private void invokeInjectFor(Object actor) {
+        SpawnTable spawnTable = spawnTableOf(actor.getClass());
+        if (spawnTable.size() == 0) {
+            return;
+        }
+        synchronized (ownershipLock) {
+            if (!ownedActors.containsKey(actor)) {
+                ownedActors.put(actor, spawnFor(spawnTable));
+            }
+        }
+    }
+
+    @NonNull
+    private List<SpawnedActor> spawnFor(SpawnTable spawnTable) {
+        List<SpawnedActor> owned = new ArrayList<>(spawnTable.size());
+        for (int i = 0, size = spawnTable.size(); i < size; i++) {
+            Class<? extends Actor> actorClass = spawnTable.actorClass(i);
+            SpawnedActor spawnedActor = spawnedActors.get(actorClass);
+            boolean registered = !actorSystem.getMailboxes().valuesOf(actorClass).isEmpty();
+            if (spawnedActor == null && registered) {
+                continue;
+            }
+            if (spawnedActor == null) {
+                spawnedActor = new SpawnedActor(actorClass);
+            }
+            if (!registered && !spawn(spawnTable, i, spawnedActor)) {
+                continue;
+            }
+            spawnedActors.put(actorClass, spawnedActor);
+            spawnedActor.ownersCount++;
+            owned.add(spawnedActor);
+        }
+        return owned;
+    }
+
+    private boolean spawn(SpawnTable spawnTable, int index, SpawnedActor spawnedActor) {
+        try {
+            spawnedActor.actor = spawnTable.spawn(index);
+        } catch (Throwable e) {
+            e.printStackTrace();
+            return false;
+        }
+        actorSystem.register(spawnedActor.actor);
+        return true;
+    }
+
+    @NonNull
+    private static SpawnTable spawnTableOf(Class<?> ownerClass) {
+        SpawnTable spawnTable = spawnTables.get(ownerClass);
+        if (spawnTable == null) {
+            spawnTable = createSpawnTable(ownerClass);
+            spawnTables.putIfAbsent(ownerClass, spawnTable);
+        }
+        return spawnTable;
+    }
+
+    @NonNull
+    static SpawnTable createSpawnTable(Class<?> ownerClass) {
+        if (!ownerClass.isAnnotationPresent(Spawn.class)) {
+            return ReflectiveSpawnTable.EMPTY;
+        }
+        SpawnTable generatedSpawnTable = generatedSpawnTable(ownerClass);
+        if (generatedSpawnTable != null) {
+            return generatedSpawnTable;
+        }
+        return ReflectiveSpawnTable.of(ownerClass.getAnnotation(Spawn.class));
+    }
+
+    @Nullable
+    private static SpawnTable generatedSpawnTable(Class<?> ownerClass) {
+        try {
+            return (SpawnTable) Class.forName(ownerClass.getName() + SpawnTable.CLASS_NAME_SUFFIX,
+                    true, ownerClass.getClassLoader()).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (Throwable e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    void clearFor(final Object actor) {
+        try {
+            invokeClearFor(actor);
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void invokeClearFor(Object actor) {
+        synchronized (ownershipLock) {
+            List<SpawnedActor> owned = ownedActors.remove(actor);
+            if (owned == null) {
+                return;
+            }
+            for (int i = 0, size = owned.size(); i < size; i++) {
+                SpawnedActor spawnedActor = owned.get(i);
+                if (--spawnedActor.ownersCount == 0) {
+                    spawnedActors.remove(spawnedActor.actorClass);
+                    actorSystem.unregister(spawnedActor.actor);
+                }
+            }
+        }
+    }
+
+    @RestrictTo(RestrictTo.Scope.TESTS)
+    Map<Actor, Set<Object>> getInjectedActorsOwners() {
+        Map<Actor, Set<Object>> injectedActorsOwners = new HashMap<>();
+        synchronized (ownershipLock) {
+            for (Map.Entry<Object, List<SpawnedActor>> entry : ownedActors.entrySet()) {
+                for (SpawnedActor spawnedActor : entry.getValue()) {
+                    Set<Object> owners = injectedActorsOwners.get(spawnedActor.actor);
+                    if (owners == null) {
+                        owners = new LinkedHashSet<>();
+                        injectedActorsOwners.put(spawnedActor.actor, owners);
+                    }
+                    owners.add(entry.getKey());
+                }
+            }
+        }
+        return injectedActorsOwners;
+    }
+
+    @RestrictTo(RestrictTo.Scope.LIBRARY)
+    public void clear() {
+        synchronized (ownershipLock) {
+            ownedActors.clear();
+            spawnedActors.clear();
+        }
+    }
+
+    /**
+     * a spawned Actor and the number of registered owners that spawned it, the Actor is
+     * unregistered when the last owner unregisters, if the Actor was unregistered while it's
+     * owners are still registered, it is spawned again by the next owner that registers
+     */
+    private static class SpawnedActor {
+
+        final Class<? extends Actor> actorClass;
+        Actor actor;
+        int ownersCount;
+
+        SpawnedActor(Class<? extends Actor> actorClass) {
+            this.actorClass = actorClass;
+        }
+    }
+
+    /**
+     * a {@link SpawnTable} read from the {@link Spawn} annotation of a class that has no
+     * generated table, the classes passed by name are loaded once, and the constructors are made
+     * accessible once
+     */
+    private static class ReflectiveSpawnTable implements SpawnTable {
+
+        private static final ReflectiveSpawnTable EMPTY =
+                new ReflectiveSpawnTable(new ArrayList<Constructor<? extends Actor>>());
+
+        private final Constructor<? extends Actor>[] constructors;
+
+        // there is no generic array creation, so the array is created raw then cast
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ReflectiveSpawnTable(List<Constructor<? extends Actor>> constructors) {
+            this.constructors = constructors.toArray(new Constructor[constructors.size()]);
+        }
+
+        @NonNull
+        static ReflectiveSpawnTable of(Spawn spawn) {
+            List<Constructor<? extends Actor>> constructors = new ArrayList<>();
+            for (Class<? extends Actor> spawnedClass : spawnedClasses(spawn)) {
+                try {
+                    Constructor<? extends Actor> constructor = spawnedClass.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    constructors.add(constructor);
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                }
+            }
+            return new ReflectiveSpawnTable(constructors);
+        }
+
+        @NonNull
+        private static Set<Class<? extends Actor>> spawnedClasses(Spawn spawn) {
+            Class<? extends Actor>[] classes = spawn.value();
+            String[] classesNames = spawn.actorClasses();
+            Set<Class<? extends Actor>> spawnedClasses = new LinkedHashSet<>();
+
+            if (Spawn.NullActor.class != classes[0]) {
+                spawnedClasses.addAll(Arrays.asList(classes));
+            }
+
+            if (!Spawn.NO_ACTORS_CLASSES.equals(classesNames[0])) {
+                appendActorClassFromClassName(classesNames, spawnedClasses);
+            }
+
+            return spawnedClasses;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void appendActorClassFromClassName(String[] classesNames,
+                                                          Set<Class<? extends Actor>> spawnedClasses) {
+            for (String className : classesNames) {
+                try {
+                    spawnedClasses.add((Class<? extends Actor>) Class.forName(className));
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return constructors.length;
+        }
+
+        @NonNull
+        @Override
+        public Class<? extends Actor> actorClass(int index) {
+            return constructors[index].getDeclaringClass();
+        }
+
+        @NonNull
+        @Override
+        public Actor spawn(int index) {
+            try {
+                return constructors[index].newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * a bounded lock-free queue over a pre-allocated array, the length of the array is the
+ * capacity rounded up to a power of two, every slot holds a sequence number that tells the
+ * producers and the consumers whether it is free or taken, so offering and polling never
+ * allocate and never take a lock
+ * <p>
+ * the {@link #iterator()} walks a snapshot of the elements, so the methods of
+ * {@link java.util.Collection} that are based on it, like {@link #contains(Object)} and
+ * {@link #toString()}, see the queue as it was when they started, while removing an element
+ * from the middle of the ring is not supported
+ *
+ * @param <E> the type of the elements
+ */
+class ArrayRingQueue<E> extends AbstractQueue<E> {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final int mask;
+
+    ArrayRingQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity should be between 1 and "
+                    + MAXIMUM_CAPACITY + " : " + capacity);
+        }
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        this.buffer = new AtomicReferenceArray<>(length);
+        this.sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) {
+            sequences.set(i, i);
+        }
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+        this.mask = length - 1;
+    }
+
+    @Override
+    public boolean offer(@NonNull E element) {
+        for (; ; ) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        for (; ; ) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = buffer.get(index);
+                    buffer.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return element;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        return sequences.get(index) == position + 1 ? buffer.get(index) : null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    /**
+     * iterate over a snapshot of the elements between the head and the tail of the queue, an
+     * element that is polled while the snapshot is taken may be skipped, and the elements that
+     * are offered after that are not included, the returned {@link Iterator} does not support
+     * {@link Iterator#remove()}
+     *
+     * @return an {@link Iterator} over the snapshot
+     */
+    @NonNull
+    @Override
+    public Iterator<E> iterator() {
+        long end = tail.get();
+        List<E> elements = new ArrayList<>(size());
+        for (long position = head.get(); position < end; position++) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                continue;
+            }
+            E element = buffer.get(index);
+            if (element != null && sequences.get(index) == position + 1) {
+                elements.add(element);
+            }
+        }
+        return Collections.unmodifiableList(elements).iterator();
+    }
+}
@@ -0,0 +1,92 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.subjects.SingleSubject;
+
+/**
+ * a {@link Message} sent through {@link ActorSystemInstance#ask(Message, Class, long, TimeUnit)},
+ * it is a copy of the asked {@link Message} that carries the channel of it's reply, so the
+ * asking code receives the reply without registering an Actor
+ * <p>
+ * the receiving Actor replies through {@link ActorSystem#reply(Message, Message)}, the first
+ * reply completes the channel, and the later replies are ignored, if no reply comes before
+ * the timeout, the channel fails with a {@link TimeoutException}, the timeout is a task in the
+ * {@link TimingWheel} of the Actor-System, which is cancelled by the reply
+ */
+final class AskMessage extends Message implements Runnable {
+
+    private static final AtomicIntegerFieldUpdater<AskMessage> completedUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(AskMessage.class, "completed");
+
+    private final SingleSubject<Message> reply = SingleSubject.create();
+    private final Class<?> actor;
+    private volatile int completed;
+    private volatile Disposable timeout;
+
+    AskMessage(@NonNull Message message, @NonNull Class<?> actor) {
+        super(message.getId(), message.getContent(), message.getReplyToActor());
+        this.actor = actor;
+    }
+
+    @NonNull
+    Single<Message> reply() {
+        return reply.hide();
+    }
+
+    /**
+     * start the timeout of the reply, unless it is already completed
+     */
+    void startTimeout(@NonNull TimingWheel timingWheel, long delay, @NonNull TimeUnit unit) {
+        if (completed == 0) {
+            timeout = timingWheel.schedule(this, delay, unit);
+            if (completed != 0) {
+                timeout.dispose();
+            }
+        }
+    }
+
+    /**
+     * @param response the reply
+     * @return {@code true} if this is the first reply, or {@code false} if the channel is
+     * already completed
+     */
+    boolean complete(@NonNull Message response) {
+        if (!completedUpdater.compareAndSet(this, 0, 1)) {
+            return false;
+        }
+        cancelTimeout();
+        reply.onSuccess(response);
+        return true;
+    }
+
+    boolean fail(@NonNull Throwable error) {
+        if (!completedUpdater.compareAndSet(this, 0, 1)) {
+            return false;
+        }
+        cancelTimeout();
+        reply.onError(error);
+        return true;
+    }
+
+    private void cancelTimeout() {
+        Disposable current = timeout;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * invoked by the {@link TimingWheel} when the timeout expires
+     */
+    @Override
+    public void run() {
+        fail(new TimeoutException("no reply from " + actor.getName() + " to message " + getId()));
+    }
+}
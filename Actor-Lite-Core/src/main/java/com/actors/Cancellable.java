@@ -1,5 +1,7 @@
 package com.actors;
 
+import android.support.annotation.Nullable;
+
 import io.reactivex.disposables.Disposable;
 
 
@@ -18,11 +20,9 @@ public class Cancellable {
         this.actorAddress = actorAddress;
     }
 
+    @Nullable
     public Disposable cancel() {
-        synchronized (ActorScheduler.lock) {
-            return ActorScheduler.getNonNullDisposableGroup(actorAddress)
-                    .remove(id);
-        }
+        return ActorScheduler.remove(actorAddress, id, false);
     }
 
 
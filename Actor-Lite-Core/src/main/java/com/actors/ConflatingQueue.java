@@ -0,0 +1,136 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * a thread-safe queue that holds at most one {@link Message} per key, putting a
+ * {@link Message} with the key of a pending one replaces it in it's place, so the pending keys
+ * are delivered in the order they were first put in, each with it's latest {@link Message}
+ * <p>
+ * every key is held by a slot, which is found through a {@link ConcurrentMap} and replaced
+ * through a compare-and-set, so replacing costs the same no matter how many messages are
+ * pending, a slot is emptied when it's {@link Message} is polled, and a {@link Message} that
+ * comes after that takes a new slot at the tail of the queue
+ * <p>
+ * the key is passed with every {@link Message}, so the {@link Mailbox} computes it from the
+ * original {@link Message} before wrapping it, that is why this is not a
+ * {@link java.util.Queue}, the {@link Mailbox} puts it's messages through
+ * {@link #put(Object, Message)} instead of {@code offer()}
+ */
+class ConflatingQueue {
+
+    private final ConcurrentMap<Object, Slot> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Slot> slots = new ConcurrentLinkedQueue<>();
+
+    /**
+     * put a {@link Message} at the tail of the queue, or in the place of the pending
+     * {@link Message} of the same key
+     *
+     * @param key     the key of the {@link Message}, should not be {@code null}
+     * @param message the {@link Message} to put
+     * @return the replaced {@link Message}, or {@code null} if no {@link Message} of the same
+     * key was pending
+     */
+    @Nullable
+    Message put(@NonNull Object key, @NonNull Message message) {
+        for (; ; ) {
+            Slot slot = pending.get(key);
+            if (slot != null) {
+                Message replaced = slot.replace(message);
+                if (replaced != null) {
+                    return replaced;
+                }
+                pending.remove(key, slot);
+                continue;
+            }
+            Slot newSlot = new Slot(key, message);
+            if (pending.putIfAbsent(key, newSlot) == null) {
+                slots.offer(newSlot);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @param key the key of the {@link Message}, should not be {@code null}
+     * @return {@code true} if a {@link Message} of the passed key is pending
+     */
+    boolean isPending(@NonNull Object key) {
+        return pending.containsKey(key);
+    }
+
+    /**
+     * replace the pending {@link Message} of the same key, if any, without adding a new slot
+     *
+     * @param key     the key of the {@link Message}, should not be {@code null}
+     * @param message the {@link Message} to put
+     * @return the replaced {@link Message}, or {@code null} if no {@link Message} of the same
+     * key was pending, in this case the passed {@link Message} is not put
+     */
+    @Nullable
+    Message replace(@NonNull Object key, @NonNull Message message) {
+        Slot slot = pending.get(key);
+        return slot != null ? slot.replace(message) : null;
+    }
+
+    /**
+     * take the oldest pending {@link Message} out of the queue
+     *
+     * @return the {@link Message}, or {@code null} if the queue is empty
+     */
+    @Nullable
+    Message poll() {
+        Slot slot;
+        while ((slot = slots.poll()) != null) {
+            Message message = slot.take();
+            pending.remove(slot.key, slot);
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    /**
+     * the place of a key in the queue, it holds the latest {@link Message} of the key until it
+     * is polled, then it holds {@code null} and it is not used any more
+     */
+    private static class Slot {
+
+        final Object key;
+        private final AtomicReference<Message> message;
+
+        Slot(Object key, Message message) {
+            this.key = key;
+            this.message = new AtomicReference<>(message);
+        }
+
+        @Nullable
+        Message replace(Message newMessage) {
+            for (; ; ) {
+                Message current = message.get();
+                if (current == null) {
+                    return null;
+                }
+                if (message.compareAndSet(current, newMessage)) {
+                    return current;
+                }
+            }
+        }
+
+        @Nullable
+        Message take() {
+            return message.getAndSet(null);
+        }
+    }
+}
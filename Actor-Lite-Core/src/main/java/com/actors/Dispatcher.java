@@ -0,0 +1,331 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * a {@link Scheduler} that runs many Actors over a fixed pool of threads, an Actor hosted by a
+ * Dispatcher handles up to {@link #throughput()} messages in one turn, then it gives the thread
+ * to the next Actor that is waiting, and waits for another turn if it still has pending
+ * messages, so a busy Actor does not delay the other Actors more than one turn
+ * <p>
+ * an Actor is hosted by a Dispatcher when it observes on it, through
+ * {@link Actor#observeOnScheduler()} or {@link MailboxBuilder#observeOn(Scheduler)}, or when the
+ * Dispatcher is set to {@link ActorSystemConfiguration.Builder#dispatcher(Dispatcher)}, which
+ * hosts the Actors that observe on {@link Schedulers#computation()}
+ * <p>
+ * on a JVM that supports virtual threads (Java 21 or later), {@link #virtualThreads()} creates
+ * a Dispatcher that runs every turn of an Actor on it's own virtual thread, so Actors that
+ * block on I/O do not hold a platform thread while they wait
+ */
+public class Dispatcher extends Scheduler {
+
+    /**
+     * the number of messages an Actor handles in one turn, unless another value is passed
+     */
+    public static final int DEFAULT_THROUGHPUT = 5;
+
+    private static final AtomicInteger dispatchersCount = new AtomicInteger();
+    private static Dispatcher sharedVirtualThreads;
+
+    private final ExecutorService executor;
+    private final int throughput;
+    private final String name;
+    private volatile ScheduledThreadPoolExecutor timer;
+
+    /**
+     * create a Dispatcher with {@link #DEFAULT_THROUGHPUT}
+     *
+     * @param threads the number of threads in the pool
+     */
+    public Dispatcher(int threads) {
+        this(threads, DEFAULT_THROUGHPUT);
+    }
+
+    /**
+     * create a Dispatcher
+     *
+     * @param threads    the number of threads in the pool
+     * @param throughput the number of messages an Actor handles before giving it's thread
+     *                   to the next Actor
+     */
+    public Dispatcher(int threads, int throughput) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads should be greater than zero");
+        }
+        if (throughput <= 0) {
+            throw new IllegalArgumentException("throughput should be greater than zero");
+        }
+        this.throughput = throughput;
+        this.name = "ActorDispatcher-" + dispatchersCount.incrementAndGet();
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreads(name + "-"));
+    }
+
+    private Dispatcher(ExecutorService executor, int throughput) {
+        this.executor = executor;
+        this.throughput = throughput;
+        this.name = "ActorDispatcher-" + dispatchersCount.incrementAndGet();
+    }
+
+    /**
+     * create a Dispatcher that runs every turn of an Actor on a new virtual thread, an Actor
+     * still handles one {@link Message} at a time, but blocking in
+     * {@link Actor#onMessageReceived(Message)} parks only it's virtual thread, since every Actor
+     * has it's own thread, the Actors do not take turns, so there is no throughput limit
+     * <p>
+     * create it once and share it between the Actors that need it
+     *
+     * @return a new Dispatcher over virtual threads
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads,
+     *                                       like Android or a JVM older than Java 21
+     */
+    @NonNull
+    public static Dispatcher virtualThreads() throws UnsupportedOperationException {
+        return new Dispatcher(newVirtualThreadPerTaskExecutor(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * the {@link #virtualThreads()} Dispatcher that is shared by the whole Actor-System, by
+     * {@link ActorSystemConfiguration.Builder#virtualThreads(boolean)} and by
+     * {@link MailboxBuilder#observeOnVirtualThreads()}, so building configurations does not
+     * create executors that are never shut down, it is created on first use only
+     *
+     * @return the shared Dispatcher over virtual threads
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    @NonNull
+    static synchronized Dispatcher sharedVirtualThreads() throws UnsupportedOperationException {
+        if (sharedVirtualThreads == null) {
+            sharedVirtualThreads = virtualThreads();
+        }
+        return sharedVirtualThreads;
+    }
+
+    /**
+     * @return {@code true} if the runtime supports {@link #virtualThreads()}
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return virtualThreadPerTaskExecutorFactory() != null;
+    }
+
+    @NonNull
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method factory = virtualThreadPerTaskExecutorFactory();
+        if (factory == null) {
+            throw new UnsupportedOperationException("virtual threads are not supported " +
+                    "by this runtime, they need Java 21 or later");
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException("failed to create virtual threads", e);
+        }
+    }
+
+    private static Method virtualThreadPerTaskExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    private static ThreadFactory daemonThreads(final String prefix) {
+        return new ThreadFactory() {
+            private final AtomicInteger threadsCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, prefix + threadsCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * @return the number of messages an Actor handles in one turn
+     */
+    public int throughput() {
+        return throughput;
+    }
+
+    @NonNull
+    @Override
+    public Worker createWorker() {
+        return new DispatcherWorker();
+    }
+
+    /**
+     * stop the threads of this Dispatcher, the Actors that are hosted by it will not
+     * receive messages any more
+     */
+    @Override
+    public synchronized void shutdown() {
+        executor.shutdown();
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the thread that waits for the delayed tasks of this Dispatcher, it is started
+     * when the first delayed task is scheduled
+     */
+    private ScheduledExecutorService timer() {
+        ScheduledThreadPoolExecutor current = timer;
+        if (current == null) {
+            synchronized (this) {
+                current = timer;
+                if (current == null) {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException(name + " is shut down");
+                    }
+                    current = new ScheduledThreadPoolExecutor(1, daemonThreads(name + "-timer-"));
+                    current.setRemoveOnCancelPolicy(true);
+                    timer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * a {@link Worker} that runs it's tasks one after the other in the order they were
+     * scheduled, the {@link #wip} counter makes sure that only one task of the Worker is in the
+     * pool at a time, and every task runs in it's own turn, so after a task, the Worker goes to
+     * the end of the pool's queue if it still has pending tasks, this way a {@link Mailbox} drain
+     * that gives up it's turn waits for the other Actors, and delayed tasks wait on the timer of
+     * the Dispatcher before they are put in the Worker's queue
+     */
+    private class DispatcherWorker extends Worker implements Runnable {
+
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean disposed = new AtomicBoolean();
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+            if (disposed.get()) {
+                return Disposables.disposed();
+            }
+            Task task = new Task(run);
+            if (delay <= 0) {
+                enqueue(task);
+            } else {
+                try {
+                    task.timeout = timer().schedule(enqueueLater(task), delay, unit);
+                } catch (RejectedExecutionException e) {
+                    task.dispose();
+                }
+            }
+            return task;
+        }
+
+        private Runnable enqueueLater(final Task task) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    enqueue(task);
+                }
+            };
+        }
+
+        private void enqueue(Task task) {
+            tasks.offer(task);
+            if (wip.getAndIncrement() == 0) {
+                execute();
+            }
+        }
+
+        private void execute() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                dispose();
+            }
+        }
+
+        /**
+         * run one task, then go to the end of the pool's queue if more tasks are pending
+         */
+        @Override
+        public void run() {
+            Task task = tasks.poll();
+            if (task != null) {
+                task.run();
+            }
+            if (wip.decrementAndGet() != 0) {
+                execute();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                Task task;
+                while ((task = tasks.poll()) != null) {
+                    task.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+
+        private class Task implements Runnable, Disposable {
+
+            private final Runnable run;
+            private final AtomicBoolean cancelled = new AtomicBoolean();
+            volatile Future<?> timeout;
+
+            Task(Runnable run) {
+                this.run = run;
+            }
+
+            @Override
+            public void run() {
+                if (!cancelled.get() && !disposed.get()) {
+                    run.run();
+                }
+            }
+
+            @Override
+            public void dispose() {
+                if (cancelled.compareAndSet(false, true)) {
+                    Future<?> pendingTimeout = timeout;
+                    if (pendingTimeout != null) {
+                        pendingTimeout.cancel(false);
+                    }
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return cancelled.get();
+            }
+        }
+    }
+}
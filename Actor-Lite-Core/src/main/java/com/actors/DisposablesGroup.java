@@ -0,0 +1,171 @@
+package com.actors;
+
+import android.support.annotation.Nullable;
+
+import io.reactivex.disposables.Disposable;
+
+/**
+ * a group of {@link Disposable} instances, keyed by the id of the scheduled {@link Message},
+ * there is one group for every Actor address in {@link ActorScheduler}, and the group's monitor
+ * guards it, so the schedules of different Actors do not wait for each other
+ * <p>
+ * the ids are kept in an open-addressing hash table of primitive {@code int} keys, with linear
+ * probing, so scheduling a {@link Message} does not box it's id, and {@link #clear()} is a loop
+ * over the table that does not allocate
+ * <p>
+ * once a group becomes empty by delivering it's messages, or is cancelled, it is retired and
+ * removed from {@link ActorScheduler}, a retired group is never used again, so a thread that
+ * finds a retired group should look up the group of the Actor again
+ * <p>
+ * Created by Ahmed Adel Ismail on 5/26/2017.
+ */
+class DisposablesGroup {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Disposable[] values = new Disposable[INITIAL_CAPACITY];
+    private int size;
+    private boolean retired;
+
+    boolean containsKey(int key) {
+        return values[indexOf(key)] != null;
+    }
+
+    @Nullable
+    Disposable get(int key) {
+        return values[indexOf(key)];
+    }
+
+    void put(int key, Disposable disposable) {
+        int index = indexOf(key);
+        if (values[index] == null) {
+            if ((size + 1) * 4 > values.length * 3) {
+                resize(values.length * 2);
+                index = indexOf(key);
+            }
+            size++;
+        }
+        keys[index] = key;
+        values[index] = disposable;
+    }
+
+    /**
+     * remove a {@link Disposable} if found, this method invokes {@link Disposable#dispose()}
+     * before removing
+     *
+     * @param key the key for that {@link Disposable}
+     * @return the removed {@link Disposable}
+     */
+    @Nullable
+    Disposable remove(int key) {
+        int index = indexOf(key);
+        Disposable disposable = values[index];
+        if (disposable == null) {
+            return null;
+        }
+        removeAt(index);
+        if (!disposable.isDisposed()) {
+            disposable.dispose();
+        }
+        return disposable;
+    }
+
+    /**
+     * dispose and remove all the {@link Disposable} instances
+     */
+    void clear() {
+        Disposable[] values = this.values;
+        for (int i = 0; i < values.length; i++) {
+            Disposable disposable = values[i];
+            if (disposable != null) {
+                values[i] = null;
+                if (!disposable.isDisposed()) {
+                    disposable.dispose();
+                }
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * @return a copy of the keys in this group
+     */
+    int[] keys() {
+        int[] result = new int[size];
+        for (int i = 0, j = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[j++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    /**
+     * @return the index of the key, or the index of the empty slot where it should be put
+     */
+    private int indexOf(int key) {
+        int mask = values.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * remove the entry at the passed index, and shift back the entries that probed past it,
+     * so the table never holds deleted markers
+     */
+    private void removeAt(int index) {
+        int mask = values.length - 1;
+        int empty = index;
+        int next = (index + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - empty) & mask)) {
+                keys[empty] = keys[next];
+                values[empty] = values[next];
+                empty = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[empty] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Disposable[] oldValues = values;
+        keys = new int[capacity];
+        values = new Disposable[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * a histogram of positive {@code long} values, like durations in nanoseconds, that records a
+ * value by incrementing one bucket, and never allocates
+ * <p>
+ * the buckets are laid out like an HDR histogram, every power of two is split into
+ * {@link #SUB_BUCKETS} buckets of equal width, so the values below {@link #SUB_BUCKETS} are
+ * recorded exactly, and any larger value is recorded in a bucket that is at most 12.5% wider
+ * than it's lower bound, from nanoseconds up to {@link Long#MAX_VALUE}, in
+ * {@link #BUCKETS} buckets
+ */
+class Histogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * @param value the value to record, a negative value is recorded as zero
+     */
+    void record(long value) {
+        counts.incrementAndGet(indexOf(value));
+    }
+
+    @NonNull
+    HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(copy);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        return lowerBoundOf(index) + ((1L << shift) - 1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.actors;
+
+/**
+ * the values recorded by a histogram of {@link MailboxSnapshot}, at the time the snapshot was
+ * taken, the values are durations in nanoseconds
+ * <p>
+ * every value is recorded in a bucket, the values below 8 are exact, and a larger value is
+ * known within 12.5% of it's bucket's lower bound, so the results of {@link #max()},
+ * {@link #mean()} and {@link #percentile(double)} are within that precision, the buckets
+ * themselves are available through {@link #buckets()}, {@link #lowerBound(int)},
+ * {@link #upperBound(int)} and {@link #count(int)} to be exported as they are
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+
+    HistogramSnapshot(long[] counts) {
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        this.counts = counts;
+        this.count = count;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return the upper bound of the bucket of the largest recorded value, or {@code 0} if no
+     * value is recorded
+     */
+    public long max() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return Histogram.upperBoundOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the mean of the recorded values, taking every value as the middle of it's bucket,
+     * or {@code 0} if no value is recorded
+     */
+    public double mean() {
+        if (count == 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                double middle = (Histogram.lowerBoundOf(i) / 2.0) + (Histogram.upperBoundOf(i) / 2.0);
+                total += middle * counts[i];
+            }
+        }
+        return total / count;
+    }
+
+    /**
+     * @param percentile the percentile, from {@code 0} to {@code 100}, like {@code 99.9}
+     * @return the upper bound of the bucket that holds the value at this percentile, or
+     * {@code 0} if no value is recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile should be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Histogram.upperBoundOf(i);
+            }
+        }
+        return max();
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int buckets() {
+        return counts.length;
+    }
+
+    /**
+     * @param bucket the index of the bucket, from zero to {@link #buckets()} - 1
+     * @return the smallest value recorded in this bucket
+     */
+    public long lowerBound(int bucket) {
+        return Histogram.lowerBoundOf(bucket);
+    }
+
+    /**
+     * @param bucket the index of the bucket, from zero to {@link #buckets()} - 1
+     * @return the largest value recorded in this bucket
+     */
+    public long upperBound(int bucket) {
+        return Histogram.upperBoundOf(bucket);
+    }
+
+    /**
+     * @param bucket the index of the bucket, from zero to {@link #buckets()} - 1
+     * @return the number of values recorded in this bucket
+     */
+    public long count(int bucket) {
+        return counts[bucket];
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", mean=" + Math.round(mean()) +
+                ", p50=" + percentile(50) +
+                ", p99=" + percentile(99) +
+                ", max=" + max() +
+                '}';
+    }
+}
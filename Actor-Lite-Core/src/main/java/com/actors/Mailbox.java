@@ -0,0 +1,1109 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * the Mailbox of an Actor, it holds only the messages that are not delivered yet, every
+ * delivered {@link Message} is released right away, so a long living Actor does not keep
+ * references to the messages it already handled
+ * <p>
+ * any number of threads can {@link #offer(Message)} messages, while the messages are delivered
+ * one at a time on the {@link Scheduler} of the attached Actor, a Mailbox with no attached
+ * Actor (a postponed Mailbox) keeps it's messages until an Actor is attached again
+ * <p>
+ * the number of pending messages is limited by the capacity of the Mailbox, when it is
+ * full, the {@link OverflowPolicy} decides what happens to the sent messages
+ * <p>
+ * the queue that holds the pending messages is chosen by the {@link MailboxType}, every queue
+ * accepts concurrent polling as well, since dropping the oldest message and closing the
+ * Mailbox can happen on the sender's thread
+ * <p>
+ * a Mailbox holds a reference to every {@link PooledMessage} in it's queue, and releases it
+ * after the message is delivered or dropped
+ * <p>
+ * when a Mailbox records {@link MailboxMetrics}, a sampled message is put in the queue inside a
+ * {@link TimedMessage} that holds the time it was put, and it is taken out of it when it is
+ * delivered, so the other messages are queued as they are, and the clock is read only for the
+ * sampled messages
+ * <p>
+ * a sender that should not flood the Mailbox uses {@link #tryOffer(Message)}, which never
+ * applies the {@link OverflowPolicy}, and it can listen to the delivered messages through
+ * {@link #addDemandListener(Runnable)}, to send more when there is room
+ * <p>
+ * a {@link MailboxType#CONFLATING} Mailbox holds at most one pending {@link Message} per key,
+ * a {@link Message} that has the key of a pending one replaces it without taking more of the
+ * capacity, and the replaced {@link Message} is released and counted as dropped
+ * <p>
+ * a Mailbox with a turn budget, set through {@link #setTurnBudget(long)}, stops delivering
+ * when a turn of the Actor's {@link Scheduler} takes longer than the budget, and schedules the
+ * rest of the messages in a new turn, so an Actor on a UI thread gives the thread back for
+ * the next frame, every turn that is yielded this way is counted in {@link #deferredTurns()}
+ */
+public class Mailbox {
+
+    /**
+     * the capacity of a Mailbox that never rejects messages
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * the times a {@link MailboxType#SINGLE_CONSUMER_SPIN} Mailbox checks it's empty queue
+     * before leaving the Actor's thread, with a single CPU the sender can not run while the Actor
+     * spins, so there is no spinning at all
+     */
+    private static final int SPIN_TRIES =
+            Runtime.getRuntime().availableProcessors() > 1 ? 1024 : 0;
+    private static final Runnable[] NO_LISTENERS = new Runnable[0];
+
+    @MailboxType
+    private final int type;
+    private final Comparator<? super Message> comparator;
+    private final Function<? super Message, ?> conflationKey;
+    private final Queue<Message> queue;
+    @Nullable
+    private final ConflatingQueue conflatingQueue;
+    private final int queueCapacity;
+    private final int spinTries;
+    private final AtomicInteger size;
+    private final Object notFull;
+    private final AtomicReference<Delivery> delivery;
+    @Nullable
+    private final MailboxMetrics metrics;
+    private volatile int capacity;
+    @OverflowPolicy
+    private volatile int overflowPolicy;
+    private volatile boolean closed;
+    private volatile Mailbox forward;
+    private volatile Runnable[] demandListeners = NO_LISTENERS;
+    private volatile long turnBudgetNanos;
+    private volatile long deferredTurns;
+    private volatile Thread deliveringThread;
+
+    Mailbox(int capacity, @OverflowPolicy int overflowPolicy) {
+        this(MailboxType.UNBOUNDED_LINKED, capacity, overflowPolicy, null);
+    }
+
+    Mailbox(@MailboxType int type,
+            int capacity,
+            @OverflowPolicy int overflowPolicy,
+            @Nullable Comparator<? super Message> comparator) throws IllegalArgumentException {
+        this(type, capacity, overflowPolicy, comparator, null);
+    }
+
+    /**
+     * create a Mailbox of the passed {@link MailboxType}
+     *
+     * @param type           the {@link MailboxType} of the queue
+     * @param capacity       the maximum number of pending messages
+     * @param overflowPolicy the {@link OverflowPolicy} when the Mailbox is full
+     * @param comparator     the {@link Comparator} of a {@link MailboxType#PRIORITY} Mailbox,
+     *                       ignored by the other types
+     * @param metrics        the {@link MailboxMetrics} to record, or {@code null} to record
+     *                       nothing
+     * @throws IllegalArgumentException if the capacity is not valid for the passed type, or if
+     *                                  a {@link MailboxType#PRIORITY} Mailbox has
+     *                                  no {@link Comparator}
+     */
+    Mailbox(@MailboxType int type,
+            int capacity,
+            @OverflowPolicy int overflowPolicy,
+            @Nullable Comparator<? super Message> comparator,
+            @Nullable MailboxMetrics metrics) throws IllegalArgumentException {
+        this(type, capacity, overflowPolicy, comparator, null, metrics);
+    }
+
+    /**
+     * create a Mailbox of the passed {@link MailboxType}
+     *
+     * @param type           the {@link MailboxType} of the queue
+     * @param capacity       the maximum number of pending messages
+     * @param overflowPolicy the {@link OverflowPolicy} when the Mailbox is full
+     * @param comparator     the {@link Comparator} of a {@link MailboxType#PRIORITY} Mailbox,
+     *                       ignored by the other types
+     * @param conflationKey  the key of the messages in a {@link MailboxType#CONFLATING}
+     *                       Mailbox, or {@code null} to use {@link Message#getId()}, ignored
+     *                       by the other types
+     * @param metrics        the {@link MailboxMetrics} to record, or {@code null} to record
+     *                       nothing
+     * @throws IllegalArgumentException if the capacity is not valid for the passed type, or if
+     *                                  a {@link MailboxType#PRIORITY} Mailbox has
+     *                                  no {@link Comparator}
+     */
+    Mailbox(@MailboxType int type,
+            int capacity,
+            @OverflowPolicy int overflowPolicy,
+            @Nullable Comparator<? super Message> comparator,
+            @Nullable Function<? super Message, ?> conflationKey,
+            @Nullable MailboxMetrics metrics) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be greater than zero");
+        }
+        this.type = type;
+        this.comparator = comparator;
+        this.conflationKey = conflationKey;
+        this.conflatingQueue = type == MailboxType.CONFLATING ? new ConflatingQueue() : null;
+        this.queue = conflatingQueue != null
+                ? null : queue(type, capacity, queueComparator(comparator, metrics));
+        this.queueCapacity = type == MailboxType.BOUNDED_ARRAY ? capacity : UNBOUNDED;
+        this.spinTries = type == MailboxType.SINGLE_CONSUMER_SPIN ? SPIN_TRIES : 0;
+        this.size = new AtomicInteger();
+        this.notFull = new Object();
+        this.delivery = new AtomicReference<>();
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.metrics = metrics;
+    }
+
+    @Nullable
+    private static Comparator<? super Message> queueComparator(
+            @Nullable Comparator<? super Message> comparator, @Nullable MailboxMetrics metrics) {
+        if (metrics == null || comparator == null) {
+            return comparator;
+        }
+        return TimedMessage.comparingOriginals(comparator);
+    }
+
+    @NonNull
+    private static Queue<Message> queue(@MailboxType int type,
+                                        int capacity,
+                                        Comparator<? super Message> comparator) {
+        switch (type) {
+            case MailboxType.BOUNDED_ARRAY:
+                if (capacity == UNBOUNDED) {
+                    throw new IllegalArgumentException("a BOUNDED_ARRAY Mailbox needs a " +
+                            "capacity, set it through MailboxBuilder.capacity(int)");
+                }
+                return new ArrayRingQueue<>(capacity);
+            case MailboxType.PRIORITY:
+                if (comparator == null) {
+                    throw new IllegalArgumentException("a PRIORITY Mailbox needs a Comparator, " +
+                            "set it through MailboxBuilder.priority(Comparator)");
+                }
+                return new PriorityMessageQueue(comparator);
+            default:
+                return new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * put a {@link Message} in this Mailbox, if the Mailbox is full, the {@link OverflowPolicy}
+     * decides whether the message is dropped, the oldest message is dropped, the caller waits,
+     * or an {@link IllegalStateException} is thrown
+     *
+     * @param message the {@link Message} to be delivered
+     * @return {@code true} if the {@link Message} was put in this Mailbox, {@code false} if it was
+     * dropped or this Mailbox is closed
+     * @throws IllegalStateException if the Mailbox is full and the
+     *                               policy is {@link OverflowPolicy#FAIL}
+     */
+    boolean offer(@NonNull Message message) throws IllegalStateException {
+        return offer(message, true);
+    }
+
+    /**
+     * put a {@link Message} in this Mailbox from a thread that should never wait, like the
+     * thread of the {@link TimingWheel}, if the Mailbox is full and it's policy is
+     * {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#FAIL}, the message is dropped the
+     * same as {@link OverflowPolicy#DROP_NEWEST}
+     *
+     * @param message the {@link Message} to be delivered
+     * @return {@code true} if the {@link Message} was put in this Mailbox, {@code false} if it was
+     * dropped or this Mailbox is closed
+     */
+    boolean offerWithoutWaiting(@NonNull Message message) {
+        return offer(message, false);
+    }
+
+    private boolean offer(Message message, boolean mayWait) {
+        if (closed) {
+            return offerToForward(message, mayWait);
+        }
+        Object key = conflatingQueue != null ? conflationKeyOf(message) : null;
+        if (conflatingQueue != null && replacePending(key, message)) {
+            return true;
+        }
+        if (!reserve(mayWait)) {
+            if (closed) {
+                return offerToForward(message, mayWait);
+            }
+            if (metrics != null) {
+                metrics.onDropped();
+            }
+            return false;
+        }
+        enqueue(key, message);
+        return true;
+    }
+
+    /**
+     * put a {@link Message} in this Mailbox only if it has room for it, the
+     * {@link OverflowPolicy} is not applied, so the caller never waits, and no message is
+     * dropped to make room
+     *
+     * @param message the {@link Message} to be delivered
+     * @return {@code true} if the {@link Message} was put in this Mailbox, {@code false} if it is
+     * full or closed
+     */
+    boolean tryOffer(@NonNull Message message) {
+        if (closed) {
+            Mailbox target = forward;
+            return target != null && target.tryOffer(message);
+        }
+        Object key = conflatingQueue != null ? conflationKeyOf(message) : null;
+        if (conflatingQueue != null && replacePending(key, message)) {
+            return true;
+        }
+        if (!tryReserve()) {
+            return false;
+        }
+        enqueue(key, message);
+        return true;
+    }
+
+    /**
+     * @param key the key of the {@link Message} in a {@link MailboxType#CONFLATING} Mailbox,
+     *            computed before the {@link Message} is retained, since computing it can throw
+     */
+    private void enqueue(Object key, Message message) {
+        PooledMessage.retainIfPooled(message);
+        put(key, queued(message));
+    }
+
+    private void put(Object key, Message queued) {
+        if (conflatingQueue != null) {
+            Message replaced = conflatingQueue.put(key, queued);
+            if (replaced != null) {
+                size.decrementAndGet();
+                onConflated(replaced);
+            }
+        } else {
+            while (!queue.offer(queued)) {
+                Thread.yield();
+            }
+        }
+        if (closed) {
+            forwardPending();
+            return;
+        }
+        Delivery current = delivery.get();
+        if (current != null) {
+            current.schedule();
+        }
+    }
+
+    /**
+     * @return the {@link Message} as it is put in the queue, inside a {@link TimedMessage} if
+     * it is sampled by the {@link MailboxMetrics}
+     */
+    private Message queued(Message message) {
+        return metrics != null && metrics.onEnqueued()
+                ? new TimedMessage(message, System.nanoTime())
+                : message;
+    }
+
+    /**
+     * replace the pending {@link Message} that has the same key in a
+     * {@link MailboxType#CONFLATING} Mailbox, this does not take more of the capacity, so it
+     * is tried before reserving a place for the {@link Message}
+     * <p>
+     * if the pending {@link Message} is delivered while it is replaced, it's place in the
+     * capacity is free again, so the new {@link Message} takes that place at the tail
+     *
+     * @return {@code true} if a pending {@link Message} was replaced
+     */
+    private boolean replacePending(Object key, Message message) {
+        if (!conflatingQueue.isPending(key)) {
+            return false;
+        }
+        PooledMessage.retainIfPooled(message);
+        Message queued = queued(message);
+        Message replaced = conflatingQueue.replace(key, queued);
+        if (replaced != null) {
+            onConflated(replaced);
+        } else {
+            size.incrementAndGet();
+            put(key, queued);
+        }
+        return true;
+    }
+
+    private Object conflationKeyOf(Message message) {
+        if (conflationKey == null) {
+            return message.getId();
+        }
+        try {
+            return conflationKey.apply(message);
+        } catch (Exception e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private void onConflated(Message replaced) {
+        if (metrics != null) {
+            metrics.onDropped();
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            signalNotFull();
+        }
+        PooledMessage.releaseIfPooled(TimedMessage.unwrap(replaced));
+    }
+
+    private boolean offerToForward(Message message, boolean mayWait) {
+        Mailbox target = forward;
+        return target != null && target.offer(message, mayWait);
+    }
+
+    private void forwardPending() {
+        Mailbox target = forward;
+        Message message;
+        while ((message = poll()) != null) {
+            message = TimedMessage.unwrap(message);
+            if (target != null) {
+                target.offer(message);
+            }
+            PooledMessage.releaseIfPooled(message);
+        }
+    }
+
+    /**
+     * @param mayWait {@code false} if the caller should not wait nor receive an exception, in
+     *                this case {@link OverflowPolicy#BLOCK} and {@link OverflowPolicy#FAIL}
+     *                do not reserve a place
+     */
+    private boolean reserve(boolean mayWait) {
+        if (tryReserve()) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case OverflowPolicy.DROP_OLDEST:
+                return reserveByDroppingOldest();
+            case OverflowPolicy.BLOCK:
+                return mayWait && reserveByWaiting();
+            case OverflowPolicy.FAIL:
+                if (!mayWait) {
+                    return false;
+                }
+                throw new IllegalStateException("Mailbox is full, capacity : " + capacity);
+            default:
+                return false;
+        }
+    }
+
+    private boolean tryReserve() {
+        for (; ; ) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean reserveByDroppingOldest() {
+        while (!tryReserve()) {
+            if (closed) {
+                return false;
+            }
+            Message dropped = pollQueue();
+            if (dropped != null) {
+                size.decrementAndGet();
+                if (metrics != null) {
+                    metrics.onDropped();
+                }
+                PooledMessage.releaseIfPooled(TimedMessage.unwrap(dropped));
+            } else {
+                Thread.yield();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * wait until the Actor consumes a pending {@link Message}, unless the caller is the thread
+     * that delivers this Mailbox, like an Actor that sends to itself, since it would wait for
+     * itself forever, in this case the {@link Message} is dropped
+     */
+    private boolean reserveByWaiting() {
+        if (deliveringThread == Thread.currentThread()) {
+            return false;
+        }
+        while (!tryReserve()) {
+            synchronized (notFull) {
+                while (!closed && size.get() >= capacity) {
+                    try {
+                        notFull.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+            if (closed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the head of the queue, the {@link ConflatingQueue} of a
+     * {@link MailboxType#CONFLATING} Mailbox is not a {@link Queue}, since it takes the key
+     * of every {@link Message} that is put in it
+     */
+    @Nullable
+    private Message pollQueue() {
+        return conflatingQueue != null ? conflatingQueue.poll() : queue.poll();
+    }
+
+    private boolean isQueueEmpty() {
+        return conflatingQueue != null ? conflatingQueue.isEmpty() : queue.isEmpty();
+    }
+
+    private Message poll() {
+        Message message = pollQueue();
+        if (message != null) {
+            size.decrementAndGet();
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                signalNotFull();
+            }
+        }
+        return message;
+    }
+
+    private void signalNotFull() {
+        synchronized (notFull) {
+            notFull.notifyAll();
+        }
+    }
+
+    /**
+     * add a listener that is invoked on the delivering thread after every delivered
+     * {@link Message}, or batch, and when this Mailbox is closed or transferred, so a sender
+     * that uses {@link #tryOffer(Message)} knows when there is room again
+     *
+     * @param listener the listener to add
+     */
+    void addDemandListener(@NonNull Runnable listener) {
+        synchronized (notFull) {
+            Runnable[] listeners = demandListeners;
+            Runnable[] newListeners = new Runnable[listeners.length + 1];
+            System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+            newListeners[listeners.length] = listener;
+            demandListeners = newListeners;
+        }
+    }
+
+    /**
+     * @param listener the listener passed to {@link #addDemandListener(Runnable)}
+     */
+    void removeDemandListener(@NonNull Runnable listener) {
+        synchronized (notFull) {
+            Runnable[] listeners = demandListeners;
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    Runnable[] newListeners = new Runnable[listeners.length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, i);
+                    System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+                    demandListeners = newListeners.length == 0 ? NO_LISTENERS : newListeners;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void notifyDemand(Runnable[] listeners) {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * attach an Actor to this Mailbox, the pending messages and the coming messages will be
+     * delivered on the passed {@link Scheduler}, if another Actor was attached, it is detached
+     * first without closing the Mailbox
+     *
+     * @param scheduler         the {@link Scheduler} that will host the delivery of messages
+     * @param onMessageReceived the function that will receive the messages
+     * @param onMessageError    the function that will receive the errors thrown while
+     *                          handling a message, the delivery continues after the error
+     * @param onMailboxClosed   the function that will be invoked when this Actor is detached
+     * @return a {@link Disposable} that detaches this Actor when disposed
+     */
+    Disposable attach(@NonNull Scheduler scheduler,
+                      @NonNull Consumer<Message> onMessageReceived,
+                      @NonNull Consumer<Throwable> onMessageError,
+                      @NonNull Action onMailboxClosed) {
+
+        return attach(new Delivery(scheduler, onMessageReceived,
+                onMessageError, onMailboxClosed));
+    }
+
+    /**
+     * attach an Actor that receives the pending messages in batches, every batch holds the
+     * messages that are available when the Actor's {@link Scheduler} runs, up to the
+     * passed maximum size, if a linger time is passed, a batch that is not full waits for more
+     * messages until the linger time passes since the Actor found it's first message
+     *
+     * @param scheduler       the {@link Scheduler} that will host the delivery of messages
+     * @param onBatchReceived the function that will receive the batches
+     * @param maxBatchSize    the maximum number of messages in a batch
+     * @param maxLinger       the maximum time that a batch waits to be full, or {@code 0} to
+     *                        deliver the available messages right away
+     * @param lingerUnit      the {@link TimeUnit} of the linger time
+     * @param onMessageError  the function that will receive the errors thrown while
+     *                        handling a batch, the delivery continues after the error
+     * @param onMailboxClosed the function that will be invoked when this Actor is detached
+     * @return a {@link Disposable} that detaches this Actor when disposed
+     */
+    Disposable attachBatch(@NonNull Scheduler scheduler,
+                           @NonNull Consumer<List<Message>> onBatchReceived,
+                           int maxBatchSize,
+                           long maxLinger,
+                           @NonNull TimeUnit lingerUnit,
+                           @NonNull Consumer<Throwable> onMessageError,
+                           @NonNull Action onMailboxClosed) {
+
+        return attach(new BatchDelivery(scheduler, onBatchReceived,
+                maxBatchSize, lingerUnit.toNanos(maxLinger), onMessageError, onMailboxClosed));
+    }
+
+    private Disposable attach(Delivery attached) {
+        Delivery previous = delivery.getAndSet(attached);
+        if (previous != null) {
+            previous.detach();
+        }
+        attached.schedule();
+        return attached;
+    }
+
+    /**
+     * close this Mailbox, the pending messages are dropped, the attached Actor is detached,
+     * and any coming {@link Message} is ignored
+     */
+    void close() {
+        closed = true;
+        Delivery current = delivery.getAndSet(null);
+        if (current != null) {
+            current.dispose();
+        }
+        forwardPending();
+        signalNotFull();
+        notifyDemand(demandListeners);
+    }
+
+    /**
+     * move the pending messages of this Mailbox to another Mailbox, and forward any coming
+     * {@link Message} to it, this is used when an Actor registers again with a different
+     * {@link MailboxType}, the attached Actor (if any) is detached without being notified
+     *
+     * @param target the Mailbox that will receive the messages of this Mailbox
+     */
+    void transferTo(@NonNull Mailbox target) {
+        forward = target;
+        closed = true;
+        Delivery current = delivery.getAndSet(null);
+        if (current != null) {
+            current.detach();
+        }
+        forwardPending();
+        signalNotFull();
+        notifyDemand(demandListeners);
+    }
+
+    /**
+     * check if this Mailbox can be reused by an Actor that asks for the passed queue
+     *
+     * @param type          the requested {@link MailboxType}
+     * @param capacity      the requested capacity
+     * @param comparator    the requested {@link Comparator}, for {@link MailboxType#PRIORITY}
+     * @param conflationKey the requested key, for {@link MailboxType#CONFLATING}
+     * @return {@code true} if the queue of this Mailbox can serve the requested queue
+     */
+    boolean canServe(@MailboxType int type,
+                     int capacity,
+                     @Nullable Comparator<? super Message> comparator,
+                     @Nullable Function<? super Message, ?> conflationKey) {
+        return this.type == type
+                && capacity <= queueCapacity
+                && (type != MailboxType.PRIORITY || this.comparator == comparator)
+                && (type != MailboxType.CONFLATING || this.conflationKey == conflationKey);
+    }
+
+    void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be greater than zero");
+        }
+        if (capacity > queueCapacity) {
+            throw new IllegalArgumentException("the capacity of a BOUNDED_ARRAY Mailbox " +
+                    "can not grow beyond " + queueCapacity);
+        }
+        this.capacity = capacity;
+        signalNotFull();
+    }
+
+    void setOverflowPolicy(@OverflowPolicy int overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        signalNotFull();
+    }
+
+    /**
+     * set the maximum time of one turn of the Actor's {@link Scheduler}, the messages that are
+     * still pending when the budget is used are delivered in the next turn, the budget is
+     * checked after every {@link Message}, or batch, so a turn takes at least one of them
+     *
+     * @param turnBudgetNanos the budget in nanoseconds, or {@code 0} for no budget
+     */
+    void setTurnBudget(long turnBudgetNanos) {
+        if (turnBudgetNanos < 0) {
+            throw new IllegalArgumentException("turnBudget should not be negative");
+        }
+        this.turnBudgetNanos = turnBudgetNanos;
+    }
+
+    /**
+     * @return the maximum time of one turn of the Actor's {@link Scheduler} in nanoseconds, or
+     * {@code 0} if it has no budget
+     */
+    public long turnBudgetNanos() {
+        return turnBudgetNanos;
+    }
+
+    /**
+     * @return the number of turns that gave the Actor's thread back while messages were still
+     * pending, because the turn used the budget set through {@link #setTurnBudget(long)}, the
+     * turns that end because of the throughput of a {@link Dispatcher} are not counted
+     */
+    public long deferredTurns() {
+        return deferredTurns;
+    }
+
+    /**
+     * @return the number of messages that are not delivered yet
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the number of messages that can be put in this Mailbox before it is full
+     */
+    int remainingCapacity() {
+        return Math.max(0, capacity - size.get());
+    }
+
+    /**
+     * @return the Mailbox that receives the messages of this Mailbox after it was transferred
+     * through {@link #transferTo(Mailbox)}, or this Mailbox if it was not transferred
+     */
+    @NonNull
+    Mailbox current() {
+        Mailbox target = forward;
+        return target == null ? this : target.current();
+    }
+
+    /**
+     * @return the maximum number of pending messages this Mailbox holds
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the {@link MailboxType} of this Mailbox
+     */
+    @MailboxType
+    public int type() {
+        return type;
+    }
+
+    /**
+     * @return the {@link OverflowPolicy} of this Mailbox
+     */
+    @OverflowPolicy
+    public int overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return {@code true} if this Mailbox is closed and will not accept messages any more
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return the {@link MailboxMetrics} recorded by this Mailbox, or {@code null} if it does
+     * not record metrics
+     */
+    @Nullable
+    MailboxMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * the link between the Mailbox and an attached Actor, it drains the Mailbox on the Actor's
+     * {@link Scheduler.Worker}, the {@link #wip} counter makes sure that only one drain is
+     * scheduled at a time, and that a {@link Message} offered while draining is not missed,
+     * for a {@link MailboxType#SINGLE_CONSUMER_SPIN} Mailbox, the drain keeps polling the
+     * empty queue for a while before leaving the Actor's thread, unless the thread is shared
+     * with other Actors or with the sender, and for an Actor hosted by a
+     * {@link Dispatcher}, the drain gives up the thread after {@link Dispatcher#throughput()}
+     * messages
+     */
+    private class Delivery implements Runnable, Disposable {
+
+        final Scheduler.Worker worker;
+        private final int throughput;
+        private final int spinTries;
+        private final Consumer<Message> onMessageReceived;
+        private final Consumer<Throwable> onMessageError;
+        private final Action onMailboxClosed;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean disposed = new AtomicBoolean();
+        private int missed = 1;
+        private long turnDeadlineNanos;
+
+        Delivery(Scheduler scheduler,
+                 Consumer<Message> onMessageReceived,
+                 Consumer<Throwable> onMessageError,
+                 Action onMailboxClosed) {
+            this.worker = scheduler.createWorker();
+            this.throughput = scheduler instanceof Dispatcher
+                    ? ((Dispatcher) scheduler).throughput() : Integer.MAX_VALUE;
+            this.spinTries = scheduler instanceof Dispatcher
+                    || scheduler == Schedulers.trampoline() ? 0 : Mailbox.this.spinTries;
+            this.onMessageReceived = onMessageReceived;
+            this.onMessageError = onMessageError;
+            this.onMailboxClosed = onMailboxClosed;
+        }
+
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            Thread current = Thread.currentThread();
+            deliveringThread = current;
+            try {
+                drainTurn();
+            } finally {
+                if (deliveringThread == current) {
+                    deliveringThread = null;
+                }
+            }
+        }
+
+        private void drainTurn() {
+            int missed = this.missed;
+            int budget = throughput;
+            long turnBudget = turnBudgetNanos;
+            turnDeadlineNanos = turnBudget > 0 ? System.nanoTime() + turnBudget : 0L;
+            for (; ; ) {
+                budget = drain(budget);
+                if (budget == 0 && !disposed.get() && !isQueueEmpty()) {
+                    yieldTurn(missed);
+                    return;
+                }
+                if (spinTries > 0 && !disposed.get() && spinUntilNotEmpty()) {
+                    continue;
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    this.missed = 1;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * give the thread to the next Actor, the {@link #wip} counter is not released, so the
+         * coming messages do not schedule another drain while this one waits for it's next turn,
+         * the turn is counted in {@link #deferredTurns()} only if it used it's time budget
+         */
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        private void yieldTurn(int missed) {
+            this.missed = missed;
+            if (turnExpired()) {
+                deferredTurns++;
+            }
+            worker.schedule(this);
+        }
+
+        /**
+         * @return {@code true} if this turn used the budget set through
+         * {@link #setTurnBudget(long)}
+         */
+        boolean turnExpired() {
+            return turnDeadlineNanos != 0L && System.nanoTime() - turnDeadlineNanos >= 0;
+        }
+
+        /**
+         * deliver the pending messages
+         *
+         * @param budget the maximum number of messages to deliver
+         * @return the remaining budget, or {@code 0} if the turn expired
+         */
+        int drain(int budget) {
+            Runnable[] listeners = demandListeners;
+            Message message;
+            while (budget > 0 && !disposed.get() && (message = poll()) != null) {
+                deliver(message);
+                if (listeners.length > 0) {
+                    notifyDemand(listeners);
+                }
+                budget--;
+                if (turnExpired()) {
+                    return 0;
+                }
+            }
+            return budget;
+        }
+
+        private boolean spinUntilNotEmpty() {
+            for (int i = 0; i < spinTries; i++) {
+                if (!isQueueEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * deliver a polled message, if it is a {@link TimedMessage}, the time it was polled is
+         * the end of it's time in the queue and the start of it's processing time
+         */
+        private void deliver(Message polled) {
+            Message message = polled;
+            long startNanos = 0L;
+            if (metrics != null) {
+                metrics.onDequeued();
+                if (polled instanceof TimedMessage) {
+                    startNanos = System.nanoTime();
+                    message = ((TimedMessage) polled).message;
+                    metrics.recordTimeInQueue(startNanos - ((TimedMessage) polled).enqueuedNanos);
+                }
+            }
+            try {
+                onMessageReceived.accept(message);
+            } catch (Throwable e) {
+                handleError(e);
+            } finally {
+                if (message != polled) {
+                    metrics.recordProcessingTime(System.nanoTime() - startNanos);
+                }
+                PooledMessage.releaseIfPooled(message);
+            }
+        }
+
+        void handleError(Throwable error) {
+            try {
+                onMessageError.accept(error);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+
+        void detach() {
+            if (disposed.compareAndSet(false, true)) {
+                worker.dispose();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                worker.dispose();
+                delivery.compareAndSet(this, null);
+                closeActor();
+            }
+        }
+
+        private void closeActor() {
+            try {
+                onMailboxClosed.run();
+            } catch (Throwable e) {
+                handleError(e);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+    }
+
+    /**
+     * a {@link Delivery} that hands the pending messages to the Actor as a {@link List}, the
+     * linger state is only touched by the drain, which the {@link #wip} counter serializes
+     */
+    private class BatchDelivery extends Delivery {
+
+        private final Consumer<List<Message>> onBatchReceived;
+        private final int maxBatchSize;
+        private final long maxLingerNanos;
+        private final Runnable lingerExpired;
+        private long batchStartNanos = -1;
+        private volatile boolean lingering;
+
+        BatchDelivery(Scheduler scheduler,
+                      Consumer<List<Message>> onBatchReceived,
+                      int maxBatchSize,
+                      long maxLingerNanos,
+                      Consumer<Throwable> onMessageError,
+                      Action onMailboxClosed) {
+            super(scheduler, null, onMessageError, onMailboxClosed);
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("maxBatchSize should be greater than zero");
+            }
+            this.onBatchReceived = onBatchReceived;
+            this.maxBatchSize = maxBatchSize;
+            this.maxLingerNanos = maxLingerNanos;
+            this.lingerExpired = new Runnable() {
+                @Override
+                public void run() {
+                    lingering = false;
+                    schedule();
+                }
+            };
+        }
+
+        /**
+         * deliver the pending messages in batches, a batch is counted against the budget by
+         * the number of it's messages, and it is never split to fit in the remaining budget
+         *
+         * @param budget the maximum number of messages to deliver
+         * @return the remaining budget, or {@code 0} if the turn expired
+         */
+        @Override
+        int drain(int budget) {
+            while (budget > 0 && !isDisposed() && !isQueueEmpty()) {
+                if (shouldLinger()) {
+                    return budget;
+                }
+                List<Message> batch = pollBatch();
+                batchStartNanos = -1;
+                if (!batch.isEmpty()) {
+                    deliverBatch(batch);
+                    notifyDemand(demandListeners);
+                    budget = turnExpired() ? 0 : Math.max(0, budget - batch.size());
+                }
+            }
+            return budget;
+        }
+
+        private boolean shouldLinger() {
+            if (maxLingerNanos <= 0 || size() >= maxBatchSize) {
+                return false;
+            }
+            long now = worker.now(TimeUnit.NANOSECONDS);
+            if (batchStartNanos < 0) {
+                batchStartNanos = now;
+            }
+            long remainingNanos = batchStartNanos + maxLingerNanos - now;
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            if (!lingering) {
+                lingering = true;
+                worker.schedule(lingerExpired, remainingNanos, TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        private List<Message> pollBatch() {
+            List<Message> batch = new ArrayList<>(Math.min(Math.max(size(), 1), maxBatchSize));
+            Message message;
+            while (batch.size() < maxBatchSize && (message = poll()) != null) {
+                if (message instanceof TimedMessage) {
+                    TimedMessage timedMessage = (TimedMessage) message;
+                    metrics.recordTimeInQueue(System.nanoTime() - timedMessage.enqueuedNanos);
+                    message = timedMessage.message;
+                }
+                batch.add(message);
+            }
+            return batch;
+        }
+
+        private void deliverBatch(List<Message> batch) {
+            long startNanos = 0L;
+            if (metrics != null) {
+                metrics.onDequeued(batch.size());
+                startNanos = System.nanoTime();
+            }
+            try {
+                onBatchReceived.accept(batch);
+            } catch (Throwable e) {
+                handleError(e);
+            } finally {
+                if (metrics != null) {
+                    metrics.recordProcessingTime(System.nanoTime() - startNanos);
+                }
+                for (int i = 0, size = batch.size(); i < size; i++) {
+                    PooledMessage.releaseIfPooled(batch.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * a sampled {@link Message} while it waits in the queue of a Mailbox that records
+     * {@link MailboxMetrics}, it is never delivered to an Actor
+     */
+    private static final class TimedMessage extends Message {
+
+        final Message message;
+        final long enqueuedNanos;
+
+        TimedMessage(Message message, long enqueuedNanos) {
+            super(message.getId(), message.getContent(), message.getReplyToActor());
+            this.message = message;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        static Message unwrap(Message message) {
+            return message instanceof TimedMessage ? ((TimedMessage) message).message : message;
+        }
+
+        /**
+         * @return a {@link Comparator} that compares the original messages, so a
+         * {@link MailboxType#PRIORITY} Mailbox orders it's sampled messages like the others
+         */
+        static Comparator<? super Message> comparingOriginals(
+                final Comparator<? super Message> comparator) {
+            return new Comparator<Message>() {
+                @Override
+                public int compare(Message left, Message right) {
+                    return comparator.compare(unwrap(left), unwrap(right));
+                }
+            };
+        }
+    }
+}
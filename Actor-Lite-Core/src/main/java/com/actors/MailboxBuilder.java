@@ -0,0 +1,419 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * a class that is responsible for building Mailbox to be used in the {@link ActorSystem},
+ * notice that {@link #onMessageReceived} is mandatory or {@link UnsupportedOperationException}
+ * will be thrown
+ * <p>
+ * to select which thread this mailbox
+ * should receive it's messages, there is {@link #observeOn(Scheduler)}, on Android, the
+ * {@link Scheduler} of a {@code Looper} is created through
+ * {@code AndroidSchedulers.from(looper)}, and for an Actor on a UI thread, there is
+ * {@link #observeOn(Scheduler, long, TimeUnit)}, which limits the time of every turn on that
+ * thread, so a burst of messages does not delay drawing the next frame
+ * <p>
+ * to limit the number of messages that are waiting to be delivered, there is
+ * {@link #capacity(int)} and {@link #overflowPolicy(int)}, which default to the values in
+ * the {@link ActorSystemConfiguration}, and to choose the queue that holds these messages, there
+ * is {@link #mailboxType(int)}, {@link #priority(Comparator)} and {@link #conflate()}
+ * <p>
+ * to receive the messages in batches instead of one by one, set {@link #onBatchReceived(Consumer)}
+ * instead of {@link #onMessageReceived(Consumer)}, the size of the batches is controlled by
+ * {@link #maxBatchSize(int)} and {@link #maxLinger(long, TimeUnit)}
+ * <p>
+ * a new mailbox records {@link MailboxMetrics} if they are enabled in the
+ * {@link ActorSystemConfiguration}, and a mailbox that replaces a postponed one keeps recording
+ * it's metrics
+ * <p>
+ * Created by Ahmed Adel Ismail on 5/3/2017.
+ */
+public class MailboxBuilder {
+
+    /**
+     * the maximum number of messages in a batch, unless {@link #maxBatchSize(int)} is set
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    private Mailbox mailbox;
+    @MailboxType
+    private int mailboxType;
+    private Comparator<? super Message> comparator;
+    private Function<? super Message, ?> conflationKey;
+    private int capacity;
+    @OverflowPolicy
+    private int overflowPolicy;
+    private Scheduler actorScheduler;
+    private long turnBudgetNanos;
+    private Dispatcher dispatcher;
+    private Dispatcher virtualThreadsDispatcher;
+    private Consumer<Message> onMessageReceived;
+    private Consumer<List<Message>> onBatchReceived;
+    private int maxBatchSize;
+    private long maxLingerNanos;
+    private Action onMailboxClosed;
+    private Consumer<Throwable> onMessageError;
+    private Disposable actorDisposable;
+    private final int metricsSamplingInterval;
+
+    MailboxBuilder(@Nullable Mailbox mailbox, @NonNull ActorSystemConfiguration configuration) {
+        this.mailbox = mailbox;
+        this.mailboxType = mailbox != null ? mailbox.type() : MailboxType.UNBOUNDED_LINKED;
+        this.capacity = mailbox != null ? mailbox.capacity() : configuration.mailboxCapacity;
+        this.overflowPolicy = mailbox != null
+                ? mailbox.overflowPolicy() : configuration.mailboxOverflowPolicy;
+        this.actorScheduler = Schedulers.computation();
+        this.dispatcher = configuration.dispatcher;
+        this.virtualThreadsDispatcher = configuration.virtualThreadsDispatcher;
+        this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        this.onMailboxClosed = doNothing();
+        this.onMessageError = printStackTrace();
+        this.metricsSamplingInterval = configuration.mailboxMetrics
+                ? configuration.mailboxMetricsSamplingInterval : 0;
+    }
+
+    @NonNull
+    private Action doNothing() {
+        return new Action() {
+            @Override
+            public void run() throws Exception {
+
+            }
+        };
+    }
+
+    @NonNull
+    private Consumer<Throwable> printStackTrace() {
+        return new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) throws Exception {
+                throwable.printStackTrace();
+            }
+        };
+    }
+
+
+    /**
+     * set the {@link Scheduler} that will host the invocation of
+     * {@link #onMessageReceived(Consumer)}, if the {@link ActorSystemConfiguration} has a
+     * {@link Dispatcher}, it replaces {@link Schedulers#computation()}
+     *
+     * @param scheduler the {@link Scheduler} of the Observer
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder observeOn(Scheduler scheduler) {
+        this.actorScheduler = scheduler;
+        this.turnBudgetNanos = 0L;
+        return this;
+    }
+
+    /**
+     * set the {@link Scheduler} that will host the invocation of
+     * {@link #onMessageReceived(Consumer)}, and the maximum time of every turn on it, a turn
+     * delivers the pending messages until this time passes, then it schedules the rest in a
+     * new turn, so the other tasks of the {@link Scheduler} run in between
+     * <p>
+     * this is meant for an Actor on a UI thread, like {@code AndroidSchedulers.mainThread()},
+     * where a turn that delivers a whole burst of messages delays drawing the next frame, a
+     * budget of a few milliseconds leaves the rest of the frame for drawing, the number of
+     * delayed turns is counted in {@link Mailbox#deferredTurns()}
+     *
+     * @param scheduler  the {@link Scheduler} of the Observer
+     * @param turnBudget the maximum time of a turn, it is checked after every {@link Message},
+     *                   so a turn delivers at least one {@link Message}
+     * @param unit       the {@link TimeUnit} of the turn budget
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder observeOn(Scheduler scheduler, long turnBudget, @NonNull TimeUnit unit) {
+        if (turnBudget <= 0) {
+            throw new IllegalArgumentException("turnBudget should be greater than zero");
+        }
+        this.actorScheduler = scheduler;
+        this.turnBudgetNanos = unit.toNanos(turnBudget);
+        return this;
+    }
+
+    /**
+     * set the maximum number of messages that this mailbox holds while they are waiting to be
+     * delivered, use {@link Mailbox#UNBOUNDED} for a mailbox that never rejects messages
+     *
+     * @param capacity the capacity of the mailbox, should be greater than zero
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder capacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be greater than zero");
+        }
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * set the queue that holds the messages while they are waiting to be delivered, notice that
+     * {@link MailboxType#BOUNDED_ARRAY} needs a {@link #capacity(int)}, and
+     * {@link MailboxType#PRIORITY} needs a {@link #priority(Comparator)}
+     *
+     * @param mailboxType one of the {@link MailboxType} values
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder mailboxType(@MailboxType int mailboxType) {
+        this.mailboxType = mailboxType;
+        return this;
+    }
+
+    /**
+     * deliver the pending messages ordered by the passed {@link Comparator}, the messages that
+     * come first by the {@link Comparator} are delivered first, this sets the mailbox type to
+     * {@link MailboxType#PRIORITY}
+     *
+     * @param comparator the {@link Comparator} that orders the pending messages
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder priority(@NonNull Comparator<? super Message> comparator) {
+        this.mailboxType = MailboxType.PRIORITY;
+        this.comparator = comparator;
+        return this;
+    }
+
+    /**
+     * keep at most one pending {@link Message} per {@link Message#getId()}, a newer
+     * {@link Message} with the same id replaces the pending one, in it's place in the queue,
+     * this sets the mailbox type to {@link MailboxType#CONFLATING}
+     * <p>
+     * the capacity of a conflating mailbox limits the number of ids that are pending, and the
+     * replaced messages are counted as dropped in the {@link MailboxMetrics}
+     *
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder conflate() {
+        this.mailboxType = MailboxType.CONFLATING;
+        this.conflationKey = null;
+        return this;
+    }
+
+    /**
+     * keep at most one pending {@link Message} per the key returned by the passed
+     * {@link Function}, a newer {@link Message} with the same key replaces the pending one, in
+     * it's place in the queue, this sets the mailbox type to {@link MailboxType#CONFLATING}
+     * <p>
+     * the key is taken on the sender's thread, so the {@link Function} should be cheap, and it
+     * should not return {@code null}, the keys are compared by {@link Object#equals(Object)}
+     *
+     * @param conflationKey the {@link Function} that returns the key of a {@link Message}
+     * @return {@code this} instance for chaining
+     * @see #conflate()
+     */
+    public MailboxBuilder conflate(@NonNull Function<? super Message, ?> conflationKey) {
+        this.mailboxType = MailboxType.CONFLATING;
+        this.conflationKey = conflationKey;
+        return this;
+    }
+
+    /**
+     * set what happens to the sent messages when the mailbox is full
+     *
+     * @param overflowPolicy one of the {@link OverflowPolicy} values
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder overflowPolicy(@OverflowPolicy int overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * run every turn of this mailbox on a virtual thread, so blocking while handling a
+     * {@link Message} does not hold a platform thread, the Actor-System shares one
+     * {@link Dispatcher#virtualThreads()} between the Actors that choose this
+     *
+     * @return {@code this} instance for chaining
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public MailboxBuilder observeOnVirtualThreads() throws UnsupportedOperationException {
+        if (virtualThreadsDispatcher == null) {
+            virtualThreadsDispatcher = Dispatcher.sharedVirtualThreads();
+        }
+        this.actorScheduler = virtualThreadsDispatcher;
+        this.turnBudgetNanos = 0L;
+        return this;
+    }
+
+    /**
+     * set the {@link Consumer} function that will be invoked when a {@link Message} is received
+     *
+     * @param onMessageReceived the {@link Consumer} function
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder onMessageReceived(Consumer<Message> onMessageReceived) {
+        this.onMessageReceived = onMessageReceived;
+        return this;
+    }
+
+
+    /**
+     * set the {@link Consumer} function that will be invoked with the pending messages as a
+     * {@link List}, when this function is set, {@link #onMessageReceived(Consumer)} is not
+     * invoked, every batch holds the messages that are pending when the {@link Scheduler} of
+     * this mailbox runs, up to {@link #maxBatchSize(int)} messages
+     *
+     * @param onBatchReceived the {@link Consumer} function
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder onBatchReceived(Consumer<List<Message>> onBatchReceived) {
+        this.onBatchReceived = onBatchReceived;
+        return this;
+    }
+
+    /**
+     * set the maximum number of messages in a batch, the default is
+     * {@link #DEFAULT_MAX_BATCH_SIZE}, this takes effect only if
+     * {@link #onBatchReceived(Consumer)} is set
+     *
+     * @param maxBatchSize the maximum number of messages, should be greater than zero
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder maxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize should be greater than zero");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * set the maximum time that a batch that is not full waits for more messages, counted
+     * from the moment it's first message was found, the default is zero, which delivers the
+     * pending messages right away, this takes effect only if
+     * {@link #onBatchReceived(Consumer)} is set
+     * <p>
+     * notice that lingering on {@link Schedulers#trampoline()} makes the sender wait
+     *
+     * @param maxLinger the maximum time to wait
+     * @param unit      the {@link TimeUnit} of the time to wait
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder maxLinger(long maxLinger, @NonNull TimeUnit unit) {
+        if (maxLinger < 0) {
+            throw new IllegalArgumentException("maxLinger should not be negative");
+        }
+        this.maxLingerNanos = unit.toNanos(maxLinger);
+        return this;
+    }
+
+    /**
+     * set the {@link Action} function that will be executed when the mailbox is closing, in other
+     * words, when the Actor is unregistered or postponed
+     *
+     * @param onMailboxClosed the {@link Action} to be done
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder onMailboxClosed(Action onMailboxClosed) {
+        this.onMailboxClosed = onMailboxClosed;
+        return this;
+    }
+
+
+    /**
+     * set the {@link Consumer} function that will be executed when handling a {@link Message}
+     * throws an error, the mailbox keeps delivering the next messages after this function
+     *
+     * @param onMessageError the {@link Consumer} to handle the {@link Exception}
+     * @return {@code this} instance for chaining
+     */
+    public MailboxBuilder onMessagingError(Consumer<Throwable> onMessageError) {
+        this.onMessageError = onMessageError;
+        return this;
+    }
+
+    MailboxBuilder build() throws UnsupportedOperationException {
+
+        if (onMessageReceived == null && onBatchReceived == null) {
+            throw new UnsupportedOperationException("onMessageReceived() should be set");
+        }
+
+        if (mailboxType == MailboxType.PRIORITY && comparator == null) {
+            throw new UnsupportedOperationException("priority() should be set");
+        }
+
+        if (mailbox == null) {
+            mailbox = new Mailbox(mailboxType, capacity, overflowPolicy, comparator,
+                    conflationKey, newMetrics(metricsSamplingInterval));
+        } else if (mailbox.canServe(mailboxType, capacity, comparator, conflationKey)) {
+            mailbox.setCapacity(capacity);
+            mailbox.setOverflowPolicy(overflowPolicy);
+        } else {
+            Mailbox postponedMailbox = mailbox;
+            MailboxMetrics metrics = postponedMailbox.metrics();
+            mailbox = new Mailbox(mailboxType, capacity, overflowPolicy, comparator,
+                    conflationKey, metrics != null ? metrics : newMetrics(metricsSamplingInterval));
+            postponedMailbox.transferTo(mailbox);
+        }
+
+        mailbox.setTurnBudget(turnBudgetNanos);
+        Scheduler scheduler = hostingScheduler();
+        if (onBatchReceived != null) {
+            actorDisposable = mailbox.attachBatch(scheduler, onBatchReceived, maxBatchSize,
+                    maxLingerNanos, TimeUnit.NANOSECONDS, onMessageError, onMailboxClosed);
+        } else {
+            actorDisposable = mailbox.attach(scheduler, onMessageReceived,
+                    onMessageError, onMailboxClosed);
+        }
+
+        return this;
+    }
+
+    /**
+     * @param samplingInterval the sampling interval of the {@link ActorSystemConfiguration}, or
+     *                         {@code 0} if the metrics are not enabled
+     * @return the {@link MailboxMetrics} of a new mailbox, or {@code null}
+     */
+    @Nullable
+    static MailboxMetrics newMetrics(int samplingInterval) {
+        return samplingInterval > 0 ? new MailboxMetrics(samplingInterval) : null;
+    }
+
+    @NonNull
+    private Scheduler hostingScheduler() {
+        if (virtualThreadsDispatcher != null && (actorScheduler == Schedulers.computation()
+                || actorScheduler == Schedulers.io())) {
+            return virtualThreadsDispatcher;
+        }
+        if (dispatcher != null && actorScheduler == Schedulers.computation()) {
+            return dispatcher;
+        }
+        return actorScheduler;
+    }
+
+    Mailbox getMailbox() {
+        return mailbox;
+    }
+
+    Disposable getActorDisposable() {
+        return actorDisposable;
+    }
+
+    void clear() {
+        mailbox = null;
+        comparator = null;
+        actorScheduler = null;
+        dispatcher = null;
+        virtualThreadsDispatcher = null;
+        onMessageReceived = null;
+        onBatchReceived = null;
+        onMailboxClosed = null;
+        onMessageError = null;
+        actorDisposable = null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * the metrics recorded by a {@link Mailbox}, when they are enabled through
+ * {@link ActorSystemConfiguration.Builder#mailboxMetrics(boolean)}
+ * <p>
+ * the messages that enter and are dropped by the Mailbox are counted by
+ * {@link StripedCounter} instances, so the senders of a busy Actor do not contend on one
+ * counter, while the messages that leave it are counted by the delivering thread only, since
+ * the delivery of a Mailbox is serialized, so it is an ordered store instead of an atomic
+ * update, and once every sampling interval, an enqueued message is timed while waiting in the
+ * queue and while the Actor handles it, and the durations are recorded in {@link Histogram}
+ * instances, so the clock is not read for every message
+ */
+class MailboxMetrics {
+
+    private static final AtomicLongFieldUpdater<MailboxMetrics> dequeuedUpdater =
+            AtomicLongFieldUpdater.newUpdater(MailboxMetrics.class, "dequeued");
+
+    private final long samplingMask;
+    private final StripedCounter enqueued = new StripedCounter();
+    private final StripedCounter dropped = new StripedCounter();
+    private final Histogram timeInQueue = new Histogram();
+    private final Histogram processingTime = new Histogram();
+    private volatile long dequeued;
+
+    /**
+     * @param samplingInterval the number of messages for every timed message, rounded up to a
+     *                         power of two
+     */
+    MailboxMetrics(int samplingInterval) {
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("samplingInterval should be greater than zero");
+        }
+        long interval = 1;
+        while (interval < samplingInterval) {
+            interval <<= 1;
+        }
+        this.samplingMask = interval - 1;
+    }
+
+    /**
+     * @return {@code true} if the enqueued message should be timed while waiting in the queue,
+     * and then while the Actor handles it
+     */
+    boolean onEnqueued() {
+        return (enqueued.increment() & samplingMask) == 0;
+    }
+
+    /**
+     * invoked by the delivering thread only
+     */
+    void onDequeued() {
+        dequeuedUpdater.lazySet(this, dequeued + 1);
+    }
+
+    /**
+     * invoked by the delivering thread only
+     *
+     * @param messages the number of dequeued messages
+     */
+    void onDequeued(int messages) {
+        dequeuedUpdater.lazySet(this, dequeued + messages);
+    }
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void recordTimeInQueue(long nanos) {
+        timeInQueue.record(nanos);
+    }
+
+    void recordProcessingTime(long nanos) {
+        processingTime.record(nanos);
+    }
+
+    @NonNull
+    MailboxSnapshot snapshot(@NonNull Class<?> actor, @NonNull Mailbox mailbox) {
+        return new MailboxSnapshot(actor, System.nanoTime(), mailbox.size(), mailbox.capacity(),
+                enqueued.sum(), dequeued, dropped.sum(), mailbox.deferredTurns(),
+                timeInQueue.snapshot(), processingTime.snapshot());
+    }
+}
@@ -0,0 +1,182 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.FlowableSubscriber;
+
+/**
+ * a {@link FlowableSubscriber} that sends the received messages to an Actor address, it is
+ * created through {@link ActorSystemInstance#sink(Class, int)}
+ * <p>
+ * the sink requests from it's upstream only the messages that fit in the Actor's
+ * {@link Mailbox}, which is the smaller of the Mailbox's remaining capacity and the maximum
+ * pending messages passed to the sink, minus the messages that were requested and did not
+ * arrive yet, then it requests again every time the Actor handles a {@link Message}, so a fast
+ * producer slows down to the pace of the Actor instead of filling the memory
+ * <p>
+ * the mailboxes are taken when the sink is subscribed, if no Actor is registered or postponed
+ * with the address by then, or when all the mailboxes are closed because the Actors were
+ * unregistered, the upstream is cancelled, if an other sender fills the Mailbox while a
+ * requested {@link Message} is on it's way, the {@link OverflowPolicy} of the Mailbox is applied
+ * to it the same as {@link ActorSystemInstance#send(Message, Class[])}
+ */
+class MailboxSink implements FlowableSubscriber<Message>, Runnable {
+
+    private final TypedMap<Mailbox> mailboxes;
+    private final Class<?> actor;
+    private final int maxPending;
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Subscription upstream;
+    private volatile Mailbox[] targets;
+
+    MailboxSink(@NonNull TypedMap<Mailbox> mailboxes, @NonNull Class<?> actor, int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending should be greater than zero");
+        }
+        this.mailboxes = mailboxes;
+        this.actor = actor;
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    public void onSubscribe(@NonNull Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        List<Mailbox> actorMailboxes = mailboxes.valuesOf(actor);
+        Mailbox[] newTargets = new Mailbox[actorMailboxes.size()];
+        for (int i = 0; i < newTargets.length; i++) {
+            newTargets[i] = actorMailboxes.get(i).current();
+        }
+        targets = newTargets;
+        upstream = subscription;
+        for (Mailbox mailbox : newTargets) {
+            mailbox.addDemandListener(this);
+        }
+        run();
+    }
+
+    @Override
+    public void onNext(Message message) {
+        try {
+            Mailbox[] current = targets;
+            for (Mailbox mailbox : current) {
+                mailbox.offer(message);
+            }
+        } finally {
+            PooledMessage.releaseIfPooled(message);
+        }
+        outstanding.decrementAndGet();
+        run();
+    }
+
+    /**
+     * request the messages that fit in the mailboxes, this is invoked after every received
+     * {@link Message}, and by the mailboxes after every delivered {@link Message}
+     */
+    @Override
+    public void run() {
+        Subscription subscription = upstream;
+        if (subscription == null || cancelled.get()) {
+            return;
+        }
+        long room = room();
+        if (room < 0) {
+            cancel();
+            return;
+        }
+        for (; ; ) {
+            long current = outstanding.get();
+            long demand = room - current;
+            if (demand <= 0) {
+                return;
+            }
+            if (outstanding.compareAndSet(current, current + demand)) {
+                subscription.request(demand);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of messages that fit in all the mailboxes, or {@code -1} if all of
+     * them are closed
+     */
+    private long room() {
+        Mailbox[] current = updatedTargets();
+        long room = -1;
+        for (Mailbox mailbox : current) {
+            if (mailbox.isClosed()) {
+                continue;
+            }
+            long mailboxRoom = Math.max(0,
+                    Math.min(mailbox.remainingCapacity(), maxPending - mailbox.size()));
+            room = room == -1 ? mailboxRoom : Math.min(room, mailboxRoom);
+        }
+        return room;
+    }
+
+    /**
+     * follow the mailboxes that were transferred to new ones when their Actors registered again
+     */
+    private Mailbox[] updatedTargets() {
+        Mailbox[] current = targets;
+        for (Mailbox mailbox : current) {
+            if (mailbox.current() != mailbox) {
+                return transferTargets();
+            }
+        }
+        return current;
+    }
+
+    private synchronized Mailbox[] transferTargets() {
+        Mailbox[] updated = targets.clone();
+        for (int i = 0; i < updated.length; i++) {
+            Mailbox mailbox = updated[i].current();
+            if (mailbox != updated[i]) {
+                updated[i].removeDemandListener(this);
+                mailbox.addDemandListener(this);
+                updated[i] = mailbox;
+            }
+        }
+        targets = updated;
+        return updated;
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        removeDemandListeners();
+    }
+
+    @Override
+    public void onComplete() {
+        removeDemandListeners();
+    }
+
+    /**
+     * stop receiving messages from the upstream
+     */
+    void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            upstream.cancel();
+            removeDemandListeners();
+        }
+    }
+
+    private synchronized void removeDemandListeners() {
+        Mailbox[] current = targets;
+        if (current != null) {
+            for (Mailbox mailbox : current) {
+                mailbox.removeDemandListener(this);
+            }
+        }
+    }
+}
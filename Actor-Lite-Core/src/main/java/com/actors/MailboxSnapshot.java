@@ -0,0 +1,160 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the metrics of an Actor's {@link Mailbox} at the time this snapshot was taken through
+ * {@link ActorSystem#mailboxesMetrics()}, the counters are totals since the Mailbox was
+ * created, so the rates are measured between two snapshots, like :
+ * <pre>
+ * {@code double messagesPerSecond = current.dequeuedPerSecond(previous);}
+ * </pre>
+ * the durations are sampled, only one message in every sampling interval is timed, see
+ * {@link ActorSystemConfiguration.Builder#mailboxMetricsSamplingInterval(int)}
+ */
+public final class MailboxSnapshot {
+
+    private final Class<?> actor;
+    private final long timestampNanos;
+    private final int depth;
+    private final int capacity;
+    private final long enqueued;
+    private final long dequeued;
+    private final long dropped;
+    private final long deferredTurns;
+    private final HistogramSnapshot timeInQueue;
+    private final HistogramSnapshot processingTime;
+
+    MailboxSnapshot(Class<?> actor, long timestampNanos, int depth, int capacity,
+                    long enqueued, long dequeued, long dropped, long deferredTurns,
+                    HistogramSnapshot timeInQueue, HistogramSnapshot processingTime) {
+        this.actor = actor;
+        this.timestampNanos = timestampNanos;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.enqueued = enqueued;
+        this.dequeued = dequeued;
+        this.dropped = dropped;
+        this.deferredTurns = deferredTurns;
+        this.timeInQueue = timeInQueue;
+        this.processingTime = processingTime;
+    }
+
+    /**
+     * @return the address of the Actor that owns the {@link Mailbox}
+     */
+    @NonNull
+    public Class<?> actor() {
+        return actor;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} when this snapshot was taken
+     */
+    public long timestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * @return the number of messages that are not delivered yet
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the capacity of the {@link Mailbox}
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of messages put in the {@link Mailbox}
+     */
+    public long enqueued() {
+        return enqueued;
+    }
+
+    /**
+     * @return the number of messages taken from the {@link Mailbox} to be delivered to the Actor
+     */
+    public long dequeued() {
+        return dequeued;
+    }
+
+    /**
+     * @return the number of messages dropped because the {@link Mailbox} was full
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * @return the number of turns that the Actor gave it's thread back while messages were
+     * still pending, see {@link Mailbox#deferredTurns()}
+     */
+    public long deferredTurns() {
+        return deferredTurns;
+    }
+
+    /**
+     * @return the time in nanoseconds that the sampled messages waited in the {@link Mailbox}
+     */
+    @NonNull
+    public HistogramSnapshot timeInQueue() {
+        return timeInQueue;
+    }
+
+    /**
+     * @return the time in nanoseconds that the Actor took to handle the sampled messages, or
+     * the sampled batches for an Actor that receives batches
+     */
+    @NonNull
+    public HistogramSnapshot processingTime() {
+        return processingTime;
+    }
+
+    /**
+     * @param previous an older snapshot of the same {@link Mailbox}
+     * @return the number of messages put in the {@link Mailbox} per second between the two
+     * snapshots
+     */
+    public double enqueuedPerSecond(@NonNull MailboxSnapshot previous) {
+        return perSecond(enqueued - previous.enqueued, previous);
+    }
+
+    /**
+     * @param previous an older snapshot of the same {@link Mailbox}
+     * @return the number of messages taken from the {@link Mailbox} per second between the two
+     * snapshots
+     */
+    public double dequeuedPerSecond(@NonNull MailboxSnapshot previous) {
+        return perSecond(dequeued - previous.dequeued, previous);
+    }
+
+    private double perSecond(long messages, MailboxSnapshot previous) {
+        long elapsedNanos = timestampNanos - previous.timestampNanos;
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return messages * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MailboxSnapshot{" +
+                "actor=" + actor.getName() +
+                ", depth=" + depth +
+                ", capacity=" + capacity +
+                ", enqueued=" + enqueued +
+                ", dequeued=" + dequeued +
+                ", dropped=" + dropped +
+                ", deferredTurns=" + deferredTurns +
+                ", timeInQueue=" + timeInQueue +
+                ", processingTime=" + processingTime +
+                '}';
+    }
+}
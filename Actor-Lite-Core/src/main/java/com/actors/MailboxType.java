@@ -0,0 +1,58 @@
+package com.actors;
+
+import android.support.annotation.IntDef;
+
+/**
+ * an enum that indicates the queue that a {@link Mailbox} uses to hold it's pending messages,
+ * every type offers a different trade-off between throughput, latency and memory
+ */
+@IntDef({MailboxType.UNBOUNDED_LINKED, MailboxType.BOUNDED_ARRAY,
+        MailboxType.PRIORITY, MailboxType.SINGLE_CONSUMER_SPIN, MailboxType.CONFLATING})
+public @interface MailboxType {
+
+    /**
+     * a linked lock-free queue, it allocates a node per {@link Message} and occupies memory
+     * only for the pending messages, this is the default type
+     */
+    int UNBOUNDED_LINKED = 1;
+
+    /**
+     * a lock-free ring over a pre-allocated array, it does not allocate per {@link Message},
+     * but it occupies memory for it's whole capacity, so it needs a bounded capacity through
+     * {@link MailboxBuilder#capacity(int)}
+     */
+    int BOUNDED_ARRAY = 2;
+
+    /**
+     * a queue that delivers the pending messages ordered by the {@link java.util.Comparator}
+     * passed to {@link MailboxBuilder#priority(java.util.Comparator)}, messages of the same
+     * priority keep the order they were sent in, notice that {@link OverflowPolicy#DROP_OLDEST}
+     * drops the message with the highest priority in this type
+     */
+    int PRIORITY = 3;
+
+    /**
+     * the same unbounded linked queue of {@link #UNBOUNDED_LINKED}, plus a consumer spin, after
+     * the queue becomes empty, the Actor's thread keeps checking it for a while before leaving
+     * the thread, so a {@link Message} sent during the spin is delivered without scheduling the
+     * Actor again, this lowers the latency of messages that arrive one after the other, on the
+     * cost of burning CPU cycles on the Actor's thread
+     * <p>
+     * the queue itself is not a single-consumer queue, since a Mailbox is also polled by the
+     * senders with {@link OverflowPolicy#DROP_OLDEST} and when it is closed, and the spin is
+     * skipped when the Actor is hosted by a {@link Dispatcher}, whose threads are shared by
+     * other Actors, or by {@link io.reactivex.schedulers.Schedulers#trampoline()}, where the
+     * spin would happen on the sender's thread, or when there is a single CPU, so it only makes
+     * sense for an Actor with a thread of it's own on a multi-core device
+     */
+    int SINGLE_CONSUMER_SPIN = 4;
+
+    /**
+     * a queue that holds at most one pending {@link Message} per {@link Message#getId()}, or per
+     * the key passed to {@link MailboxBuilder#conflate(io.reactivex.functions.Function)}, a
+     * newer {@link Message} replaces the pending one in it's place, so an Actor that needs only
+     * the latest state receives one {@link Message} per key after a burst, instead of all of them
+     */
+    int CONFLATING = 5;
+
+}
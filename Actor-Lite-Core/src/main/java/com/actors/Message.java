@@ -3,6 +3,8 @@ package com.actors;
 /**
  * a Message to be sent through the {@link ActorSystem#send(Message, Class[])}
  * <p>
+ * to avoid creating a new Message for every send, use a {@link PooledMessage}
+ * <p>
  * Created by Ahmed Adel Ismail on 5/2/2017.
  */
 public class Message {
@@ -42,9 +44,9 @@ public class Message {
     @Override
     public String toString() {
         return "Message{" +
-                "id=" + id +
-                ", content=" + content +
-                ", replyToActor=" + replyToActor +
+                "id=" + getId() +
+                ", content=" + getContent() +
+                ", replyToActor=" + getReplyToActor() +
                 '}';
     }
 }
@@ -0,0 +1,24 @@
+package com.actors;
+
+import java.util.List;
+
+/**
+ * implement this interface if this {@link Actor} should receive it's messages in batches, the
+ * pending messages are handed to {@link #onBatchReceived(List)} in one call instead of calling
+ * {@link Actor#onMessageReceived(Message)} for every {@link Message}, which suits Actors that
+ * can handle many messages in one operation, like writing them to a database in one transaction
+ * <p>
+ * the size of the batches can be configured by implementing {@link OnCreateMailbox}, through
+ * {@link MailboxBuilder#maxBatchSize(int)} and
+ * {@link MailboxBuilder#maxLinger(long, java.util.concurrent.TimeUnit)}
+ */
+public interface OnBatchReceived extends Actor {
+
+    /**
+     * a function that is invoked with the pending messages of this {@link Actor}, in the order
+     * they were sent in
+     *
+     * @param messages the pending messages, never empty
+     */
+    void onBatchReceived(List<Message> messages);
+}
@@ -0,0 +1,16 @@
+package com.actors;
+
+/**
+ * implement this interface if you want to configure the Mailbox of this {@link Actor}, like
+ * it's capacity or it's {@link MailboxType}, before it starts receiving messages
+ */
+public interface OnCreateMailbox extends Actor {
+
+    /**
+     * a function that is invoked every time this {@link Actor} is registered, after the
+     * default configurations are set to the passed {@link MailboxBuilder}
+     *
+     * @param mailboxBuilder the {@link MailboxBuilder} of this {@link Actor}'s Mailbox
+     */
+    void onCreateMailbox(MailboxBuilder mailboxBuilder);
+}
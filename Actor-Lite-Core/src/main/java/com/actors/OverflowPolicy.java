@@ -0,0 +1,42 @@
+package com.actors;
+
+import android.support.annotation.IntDef;
+
+/**
+ * an enum that indicates what a {@link Mailbox} should do when a {@link Message} is sent while
+ * the Mailbox is holding as much pending messages as it's capacity
+ */
+@IntDef({OverflowPolicy.DROP_NEWEST, OverflowPolicy.DROP_OLDEST,
+        OverflowPolicy.BLOCK, OverflowPolicy.FAIL})
+public @interface OverflowPolicy {
+
+    /**
+     * the sent {@link Message} is dropped, and the pending messages are kept
+     */
+    int DROP_NEWEST = 1;
+
+    /**
+     * the oldest pending {@link Message} is dropped to make room for the sent one
+     */
+    int DROP_OLDEST = 2;
+
+    /**
+     * the sending thread waits until the Actor consumes a pending {@link Message}, never use
+     * this policy with an Actor that is postponed for a long time, since the sender will wait
+     * until the Actor registers again
+     * <p>
+     * the threads that should never wait do not apply this policy, and drop the
+     * {@link Message} the same as {@link #DROP_NEWEST}, which are the Actor that sends to itself,
+     * the thread that sends the scheduled and periodic messages, and the replies sent through
+     * {@link ActorSystemInstance#reply(Message, Message)}
+     */
+    int BLOCK = 3;
+
+    /**
+     * the sending thread receives an {@link IllegalStateException}, after the {@link Message} is
+     * sent to the other receiving Actors, the scheduled and periodic messages, and the replies,
+     * are dropped instead, the same as {@link #DROP_NEWEST}
+     */
+    int FAIL = 4;
+
+}
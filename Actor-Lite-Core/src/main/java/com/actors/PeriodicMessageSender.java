@@ -0,0 +1,123 @@
+package com.actors;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Function;
+
+/**
+ * a class that handles sending a {@link Message} periodically, the same {@link Message} is
+ * sent on every tick until it is cancelled through it's {@link Cancellable} or through
+ * {@link ActorScheduler#cancel(Class)}, all the ticks share one registration in the
+ * {@link TimingWheel} of the {@link ActorSystemInstance}
+ * <p>
+ * a tick is skipped while the mailbox of the receiving Actor holds
+ * {@link #skipWhilePending(int)} messages or more, which is one message by default, so when the
+ * Actor is slower than the period, or while it is postponed, the ticks are coalesced into the
+ * {@link Message} that is still waiting instead of piling up in it's mailbox, and the ticks
+ * that are missed by a late timer are skipped as well
+ */
+public class PeriodicMessageSender {
+
+    private final long periodMillis;
+    private final boolean fixedRate;
+    private final ActorSystemInstance actorSystem;
+    private int skipWhilePending = 1;
+
+    PeriodicMessageSender(long periodMillis, boolean fixedRate, ActorSystemInstance actorSystem) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period should be greater than zero");
+        }
+        this.periodMillis = periodMillis;
+        this.fixedRate = fixedRate;
+        this.actorSystem = actorSystem;
+    }
+
+    /**
+     * set the number of pending messages in the receiving Actor's mailbox that causes a tick to
+     * be skipped, pass {@link Mailbox#UNBOUNDED} to never skip a tick
+     *
+     * @param pendingMessages the number of pending messages, the default is {@code 1}
+     * @return {@code this} instance for chaining
+     */
+    public PeriodicMessageSender skipWhilePending(@IntRange(from = 1) int pendingMessages) {
+        if (pendingMessages <= 0) {
+            throw new IllegalArgumentException("pendingMessages should be greater than zero");
+        }
+        this.skipWhilePending = pendingMessages;
+        return this;
+    }
+
+    /**
+     * send a {@link Message} to the passed Actor on every tick, the first tick is after one
+     * period
+     *
+     * @param message      the {@link Message} to send, it can not be a {@link PooledMessage}
+     * @param actorAddress the Actor class to receive the message
+     * @return a {@link Cancellable} to stop sending this {@link Message}
+     * @throws IllegalArgumentException if the {@link Message} is a {@link PooledMessage}
+     */
+    public Cancellable send(@NonNull Message message, @NonNull final Class<?> actorAddress)
+            throws IllegalArgumentException {
+        if (message instanceof PooledMessage) {
+            throw new IllegalArgumentException("a PooledMessage is sent once, it can not be " +
+                    "sent periodically");
+        }
+        return ActorScheduler.scheduleIfAbsent(actorAddress, message,
+                sendPeriodically(actorAddress, skipWhilePending));
+    }
+
+    /**
+     * send an empty {@link Message} to the passed Actor on every tick, the {@link Message} will
+     * only contain an id that can be accessed through {@link Message#getId()}
+     *
+     * @param messageId    the id that will be set to the created {@link Message} and will be
+     *                     accessed through {@link Message#getId()}
+     * @param actorAddress the Actor class to receive the message
+     * @return a {@link Cancellable} to stop sending this {@link Message}
+     */
+    public Cancellable send(int messageId, @NonNull final Class<?> actorAddress) {
+        return send(new Message(messageId), actorAddress);
+    }
+
+    @NonNull
+    private Function<Message, Disposable> sendPeriodically(final Class<?> actorAddress,
+                                                           final int skipWhilePending) {
+        return new Function<Message, Disposable>() {
+            @Override
+            public Disposable apply(Message message) {
+                return actorSystem.getTimingWheel().schedulePeriodically(
+                        sendUnlessPending(message, actorAddress, skipWhilePending),
+                        periodMillis, periodMillis, TimeUnit.MILLISECONDS, fixedRate);
+            }
+        };
+    }
+
+    @NonNull
+    private Runnable sendUnlessPending(final Message message,
+                                       final Class<?> actorAddress,
+                                       final int skipWhilePending) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (!isPending(actorAddress, skipWhilePending)) {
+                    actorSystem.sendWithoutWaiting(message, actorAddress);
+                }
+            }
+        };
+    }
+
+    private boolean isPending(Class<?> actorAddress, int skipWhilePending) {
+        List<Mailbox> mailboxes = actorSystem.getMailboxes().valuesOf(actorAddress);
+        for (int i = 0, size = mailboxes.size(); i < size; i++) {
+            if (mailboxes.get(i).size() >= skipWhilePending) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
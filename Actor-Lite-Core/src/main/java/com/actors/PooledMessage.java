@@ -0,0 +1,174 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * a {@link Message} that is taken from a pool through {@link #obtain(int, Object, Class)}, and
+ * goes back to the pool after it is delivered, so a producer that sends many messages, like a
+ * sensor stream, does not create a new {@link Message} for every send
+ * <p>
+ * an obtained Message is owned by the caller until it is sent, then it is owned by the
+ * Actor-System, which puts it back in the pool after the {@code onMessageReceived()} of every
+ * receiving Actor returns, or after it is dropped by a full or closed {@link Mailbox}, so
+ * neither the sender nor the receiving Actors should keep a reference to it, a Message that is
+ * obtained and will not be sent should be passed to {@link #recycle()}
+ * <p>
+ * a PooledMessage is sent once, it can be sent after a delay through
+ * {@link ActorScheduler#after(long)}, but it can not be sent periodically
+ * <p>
+ * every {@link Mailbox} that holds the Message keeps a reference to it, and the sender keeps
+ * one reference while sending, the Message goes back to the pool when the last reference is
+ * released
+ * <p>
+ * the values of a PooledMessage change every time it is obtained, so it holds them in it's own
+ * fields, and the fields of {@link Message} stay final for the other messages, a Mailbox hands
+ * the Message to the Actor's thread through a concurrent queue, which publishes these values
+ * safely as well
+ */
+public final class PooledMessage extends Message {
+
+    private static final int MAX_POOL_SIZE = 64;
+    private static final Object poolLock = new Object();
+    private static final AtomicIntegerFieldUpdater<PooledMessage> referencesUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(PooledMessage.class, "references");
+
+    private static PooledMessage pool;
+    private static int poolSize;
+
+    private volatile int references;
+    private PooledMessage next;
+    private int id;
+    private Object content;
+    private Class<?> replyToActor;
+
+    private PooledMessage() {
+        super(0);
+    }
+
+    /**
+     * obtain an empty Message from the pool
+     *
+     * @param id the id of the Message
+     * @return a Message that is owned by the caller until it is sent
+     */
+    @NonNull
+    public static PooledMessage obtain(int id) {
+        return obtain(id, null, null);
+    }
+
+    /**
+     * obtain a Message from the pool
+     *
+     * @param id      the id of the Message
+     * @param content the content of the Message
+     * @return a Message that is owned by the caller until it is sent
+     */
+    @NonNull
+    public static PooledMessage obtain(int id, Object content) {
+        return obtain(id, content, null);
+    }
+
+    /**
+     * obtain a Message from the pool
+     *
+     * @param id           the id of the Message
+     * @param content      the content of the Message
+     * @param replyToActor the Actor that the receiver should reply to
+     * @return a Message that is owned by the caller until it is sent
+     */
+    @NonNull
+    public static PooledMessage obtain(int id, Object content, Class<?> replyToActor) {
+        PooledMessage message = poll();
+        message.set(id, content, replyToActor);
+        message.references = 1;
+        return message;
+    }
+
+    private void set(int id, Object content, Class<?> replyToActor) {
+        this.id = id;
+        this.content = content;
+        this.replyToActor = replyToActor;
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getContent() {
+        return (T) content;
+    }
+
+    @Override
+    public Class<?> getReplyToActor() {
+        return replyToActor;
+    }
+
+    @NonNull
+    private static PooledMessage poll() {
+        synchronized (poolLock) {
+            PooledMessage message = pool;
+            if (message != null) {
+                pool = message.next;
+                message.next = null;
+                poolSize--;
+                return message;
+            }
+        }
+        return new PooledMessage();
+    }
+
+    /**
+     * put back in the pool a Message that was obtained and will not be sent, a Message that is
+     * sent is recycled by the Actor-System
+     *
+     * @throws IllegalStateException if the Message is in the pool already
+     */
+    public void recycle() throws IllegalStateException {
+        if (references <= 0) {
+            throw new IllegalStateException("the Message is recycled already");
+        }
+        release();
+    }
+
+    /**
+     * add a reference to the passed {@link Message} if it is a PooledMessage, this is invoked
+     * by a {@link Mailbox} that holds the message
+     */
+    static void retainIfPooled(Message message) {
+        if (message instanceof PooledMessage) {
+            referencesUpdater.incrementAndGet((PooledMessage) message);
+        }
+    }
+
+    /**
+     * release a reference of the passed {@link Message} if it is a PooledMessage, which puts it
+     * back in the pool if it was the last reference
+     */
+    static void releaseIfPooled(Message message) {
+        if (message instanceof PooledMessage) {
+            ((PooledMessage) message).release();
+        }
+    }
+
+    private void release() {
+        if (referencesUpdater.decrementAndGet(this) == 0) {
+            set(0, null, null);
+            offer(this);
+        }
+    }
+
+    private static void offer(PooledMessage message) {
+        synchronized (poolLock) {
+            if (poolSize < MAX_POOL_SIZE) {
+                message.next = pool;
+                pool = message;
+                poolSize++;
+            }
+        }
+    }
+}
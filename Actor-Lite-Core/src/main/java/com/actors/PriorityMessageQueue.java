@@ -0,0 +1,106 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractQueue;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * a thread-safe queue that orders the messages by a {@link Comparator}, messages that the
+ * {@link Comparator} finds equal are kept in the order they were offered in
+ */
+class PriorityMessageQueue extends AbstractQueue<Message> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final PriorityBlockingQueue<Entry> queue;
+    private final AtomicLong sequence;
+
+    PriorityMessageQueue(@NonNull Comparator<? super Message> comparator) {
+        this.queue = new PriorityBlockingQueue<>(INITIAL_CAPACITY, byPriorityThenSequence(comparator));
+        this.sequence = new AtomicLong();
+    }
+
+    @NonNull
+    private static Comparator<Entry> byPriorityThenSequence(
+            final Comparator<? super Message> comparator) {
+        return new Comparator<Entry>() {
+            @Override
+            public int compare(Entry left, Entry right) {
+                int result = comparator.compare(left.message, right.message);
+                if (result != 0) {
+                    return result;
+                }
+                return left.sequence < right.sequence ? -1 : (left.sequence == right.sequence ? 0 : 1);
+            }
+        };
+    }
+
+    @Override
+    public boolean offer(@NonNull Message message) {
+        return queue.offer(new Entry(message, sequence.getAndIncrement()));
+    }
+
+    @Override
+    public Message poll() {
+        Entry entry = queue.poll();
+        return entry != null ? entry.message : null;
+    }
+
+    @Override
+    public Message peek() {
+        Entry entry = queue.peek();
+        return entry != null ? entry.message : null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Message> iterator() {
+        final Iterator<Entry> entries = queue.iterator();
+        return new Iterator<Message>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Message next() {
+                return entries.next().message;
+            }
+
+            @Override
+            public void remove() {
+                entries.remove();
+            }
+        };
+    }
+
+    private static class Entry {
+
+        final Message message;
+        final long sequence;
+
+        Entry(Message message, long sequence) {
+            this.message = message;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Function;
+
+/**
+ * a class that handles sending a scheduled {@link Message}, the {@link Message} waits in the
+ * {@link TimingWheel} of the {@link ActorSystemInstance} until it's delay passes
+ */
+public class ScheduledMessageSender {
+
+    private final long delayMillis;
+    private final ActorSystemInstance actorSystem;
+
+    ScheduledMessageSender(long delayMillis, ActorSystemInstance actorSystem) {
+        this.delayMillis = delayMillis;
+        this.actorSystem = actorSystem;
+    }
+
+    /**
+     * send a {@link Message} to the passed Actor after the given delay
+     *
+     * @param message      the {@link Message} to send
+     * @param actorAddress the Actor class to receive the message
+     * @return a {@link Cancellable} to cancel this {@link Message} if required
+     */
+    public Cancellable send(@NonNull Message message, @NonNull final Class<?> actorAddress) {
+        return ActorScheduler.scheduleIfAbsent(actorAddress, message, sendAfterDelay(actorAddress));
+    }
+
+    /**
+     * send an empty {@link Message} to the passed Actor after the given delay, the
+     * {@link Message} will only contain an id that can be accessed through {@link Message#getId()}
+     *
+     * @param messageId    the id that will be set to the created {@link Message} and will be
+     *                     accessed through {@link Message#getId()}
+     * @param actorAddress the Actor class to receive the message
+     * @return a {@link Cancellable} to cancel this {@link Message} if required
+     */
+    public Cancellable send(int messageId, @NonNull final Class<?> actorAddress) {
+        return send(new Message(messageId), actorAddress);
+    }
+
+    @NonNull
+    private Function<Message, Disposable> sendAfterDelay(final Class<?> actorAddress) {
+        return new Function<Message, Disposable>() {
+            @Override
+            public Disposable apply(Message message) {
+                return actorSystem.getTimingWheel().schedule(
+                        sendFromActorSystemAndDispose(message, actorAddress),
+                        delayMillis, TimeUnit.MILLISECONDS);
+            }
+        };
+    }
+
+    @NonNull
+    private Runnable sendFromActorSystemAndDispose(final Message message,
+                                                   final Class<?> actorAddress) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                ActorScheduler.remove(actorAddress, message.getId(), true);
+                actorSystem.sendWithoutWaiting(message, actorAddress);
+            }
+        };
+    }
+
+
+}
@@ -0,0 +1,46 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import com.actors.annotations.Spawn;
+
+/**
+ * the Actors that an Actor class spawns through it's {@link Spawn} annotation, and how to
+ * create them
+ * <p>
+ * the {@code Actor-Lite-Compiler} annotation processor generates a table for every class
+ * annotated with {@link Spawn}, named after that class with the {@link #CLASS_NAME_SUFFIX}, in
+ * the same package, which creates the spawned Actors through their constructors directly, when
+ * there is no generated table for a class, the Actor-System reads it's {@link Spawn} annotation
+ * through reflection
+ * <p>
+ * this interface is implemented by the generated code, it is not meant to be implemented by hand
+ */
+public interface SpawnTable {
+
+    /**
+     * the suffix added to the binary name of the annotated class, like
+     * {@code com.example.Model_SpawnTable} for {@code com.example.Model}, or
+     * {@code com.example.Screen$Model_SpawnTable} for a nested {@code com.example.Screen.Model}
+     */
+    String CLASS_NAME_SUFFIX = "_SpawnTable";
+
+    /**
+     * @return the number of Actors to spawn
+     */
+    int size();
+
+    /**
+     * @param index the index of the spawned Actor, from zero to {@link #size()} - 1
+     * @return the class of the spawned Actor
+     */
+    @NonNull
+    Class<? extends Actor> actorClass(int index);
+
+    /**
+     * @param index the index of the spawned Actor, from zero to {@link #size()} - 1
+     * @return a new instance of the spawned Actor
+     */
+    @NonNull
+    Actor spawn(int index);
+}
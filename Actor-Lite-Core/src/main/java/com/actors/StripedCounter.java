@@ -0,0 +1,53 @@
+package com.actors;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * a counter that many threads increment without contending on one memory location, every
+ * thread increments a cell chosen by it's id, and the cells are summed when the counter is
+ * read, the same idea as {@code java.util.concurrent.atomic.LongAdder}, which is not available
+ * on all the Android versions that this library supports
+ * <p>
+ * the cells are padded to a cache line, so threads that increment different cells do not
+ * invalidate each other's caches
+ */
+class StripedCounter {
+
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    private static int stripes(int processors) {
+        int stripes = 1;
+        while (stripes < processors && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * @return the value of the incremented cell, not the sum of all cells, which is enough
+     * to do something once every number of increments
+     */
+    long increment() {
+        return cells.incrementAndGet(cellIndex());
+    }
+
+    /**
+     * @return the sum of all cells, the increments that happen while summing may or may not
+     * be counted
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private static int cellIndex() {
+        long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return ((int) (hash >>> 32) & (STRIPES - 1)) * PADDING;
+    }
+}
@@ -0,0 +1,441 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import io.reactivex.disposables.Disposable;
+
+/**
+ * a hashed timing wheel that runs delayed tasks, like the messages scheduled through
+ * {@link ActorScheduler#after(long)}
+ * <p>
+ * the wheel is an array of buckets, every bucket covers one tick, and a task is placed in the
+ * bucket of the tick it expires in, with the number of rounds the wheel has to turn before
+ * that, so scheduling and cancelling a task costs the same no matter how many tasks are
+ * waiting, while a task expires up to one tick later than it's delay
+ * <p>
+ * all the buckets are owned by one daemon thread, the other threads hand it the scheduled and
+ * cancelled tasks through lock-free queues, and the thread parks while there are no tasks
+ * waiting, so an idle wheel does not wake up every tick, the expired tasks run on the wheel's
+ * thread, so they should be short, like sending a {@link Message}
+ * <p>
+ * a periodic task keeps one registration for all of it's runs, after every run the wheel's
+ * thread places it again in the bucket of it's next run
+ * <p>
+ * {@link #stop()} ends the wheel's thread, the tasks that did not run yet are cancelled, and
+ * the tasks scheduled after that are cancelled as soon as they are scheduled
+ */
+class TimingWheel {
+
+    /**
+     * the duration of one tick in milliseconds, unless another value is configured
+     */
+    static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * the number of buckets in the wheel, unless another value is configured
+     */
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+    private static final AtomicInteger wheelsCount = new AtomicInteger();
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final Thread workerThread;
+    private volatile boolean parked;
+    private volatile boolean stopped;
+    private long startNanos;
+    private long tick;
+
+    TimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration should be greater than zero");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize should be between 1 and 2^30");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = createWheel(wheelSize);
+        this.mask = wheel.length - 1;
+        this.workerThread = new Thread(new Worker(),
+                "ActorTimingWheel-" + wheelsCount.incrementAndGet());
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    @NonNull
+    private static Bucket[] createWheel(int wheelSize) {
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        Bucket[] wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        return wheel;
+    }
+
+    /**
+     * schedule a task to run on the wheel's thread after the passed delay
+     *
+     * @param task  the task to run
+     * @param delay the delay before running the task
+     * @param unit  the {@link TimeUnit} of the delay
+     * @return a {@link Disposable} that cancels the task if it did not run yet
+     */
+    @NonNull
+    Disposable schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        return doSchedule(new Timeout(this, task, deadline(delay, unit), 0, false));
+    }
+
+    /**
+     * schedule a task to run on the wheel's thread periodically, until it is cancelled, a run
+     * that is late by more than one period does not cause extra runs to catch up, the runs that
+     * were missed are skipped
+     *
+     * @param task         the task to run
+     * @param initialDelay the delay before the first run
+     * @param period       the period between the runs
+     * @param unit         the {@link TimeUnit} of the delay and the period
+     * @param fixedRate    {@code true} to measure the period from the scheduled time of the
+     *                     previous run, or {@code false} to measure it from the end of the
+     *                     previous run
+     * @return a {@link Disposable} that cancels the next runs of the task
+     */
+    @NonNull
+    Disposable schedulePeriodically(@NonNull Runnable task, long initialDelay, long period,
+                                    @NonNull TimeUnit unit, boolean fixedRate) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period should be greater than zero");
+        }
+        return doSchedule(new Timeout(this, task, deadline(initialDelay, unit),
+                unit.toNanos(period), fixedRate));
+    }
+
+    private static long deadline(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+    }
+
+    @NonNull
+    private Disposable doSchedule(Timeout timeout) {
+        if (stopped) {
+            timeout.cancel();
+            return timeout;
+        }
+        pendingTimeouts.incrementAndGet();
+        scheduled.add(timeout);
+        if (stopped && scheduled.remove(timeout)) {
+            pendingTimeouts.decrementAndGet();
+            timeout.cancel();
+        } else if (parked) {
+            LockSupport.unpark(workerThread);
+        }
+        return timeout;
+    }
+
+    /**
+     * stop the wheel's thread, the tasks that are waiting are cancelled without running, and
+     * the tasks scheduled after this call are cancelled right away, a task that is running
+     * while this method is invoked completes it's run
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(workerThread);
+    }
+
+    /**
+     * @param disposable a {@link Disposable} returned by this wheel or by another one
+     * @return {@code true} if the passed {@link Disposable} is a task of this wheel that did not
+     * run yet, or a periodic task of this wheel
+     */
+    boolean holds(Disposable disposable) {
+        return disposable instanceof Timeout
+                && ((Timeout) disposable).wheel == this
+                && !((Timeout) disposable).isExpired();
+    }
+
+    /**
+     * @return {@code true} if {@link #stop()} was invoked
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return the number of tasks that are waiting to run
+     */
+    int pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    private void cancelled(Timeout timeout) {
+        cancelled.add(timeout);
+    }
+
+    private class Worker implements Runnable {
+
+        private final List<Timeout> rescheduled = new ArrayList<>();
+
+        @Override
+        public void run() {
+            startNanos = System.nanoTime();
+            while (!stopped) {
+                long deadline = waitForNextTick();
+                removeCancelled();
+                transferScheduled();
+                wheel[(int) (tick & mask)].expire(deadline, rescheduled);
+                reschedule();
+                tick++;
+                if (pendingTimeouts.get() == 0) {
+                    parkWhileIdle();
+                }
+            }
+            cancelAll();
+        }
+
+        private long waitForNextTick() {
+            long deadline = startNanos + tickNanos * (tick + 1);
+            long now = System.nanoTime();
+            while (now < deadline && !stopped) {
+                LockSupport.parkNanos(TimingWheel.this, deadline - now);
+                now = System.nanoTime();
+            }
+            return now;
+        }
+
+        private void parkWhileIdle() {
+            parked = true;
+            while (scheduled.isEmpty() && !stopped) {
+                LockSupport.park(TimingWheel.this);
+            }
+            parked = false;
+            startNanos = System.nanoTime() - tickNanos * tick;
+        }
+
+        private void cancelAll() {
+            cancelled.clear();
+            for (Bucket bucket : wheel) {
+                bucket.cancelAll();
+            }
+            Timeout timeout;
+            while ((timeout = scheduled.poll()) != null) {
+                timeout.cancel();
+            }
+            pendingTimeouts.set(0);
+        }
+
+        private void removeCancelled() {
+            Timeout timeout;
+            while ((timeout = cancelled.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                    pendingTimeouts.decrementAndGet();
+                }
+            }
+        }
+
+        private void transferScheduled() {
+            for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+                Timeout timeout = scheduled.poll();
+                if (timeout == null) {
+                    return;
+                }
+                if (timeout.isDisposed()) {
+                    pendingTimeouts.decrementAndGet();
+                    continue;
+                }
+                place(timeout, tick);
+            }
+        }
+
+        private void reschedule() {
+            for (int i = 0, size = rescheduled.size(); i < size; i++) {
+                Timeout timeout = rescheduled.get(i);
+                if (timeout.isDisposed()) {
+                    pendingTimeouts.decrementAndGet();
+                } else {
+                    place(timeout, tick + 1);
+                }
+            }
+            rescheduled.clear();
+        }
+
+        private void place(Timeout timeout, long currentTick) {
+            long expiryTick = (timeout.deadline - startNanos + tickNanos - 1) / tickNanos - 1;
+            timeout.remainingRounds = Math.max(0, (expiryTick - currentTick) / wheel.length);
+            wheel[(int) (Math.max(expiryTick, currentTick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * a doubly linked list of the {@link Timeout} instances that expire in the same tick of the
+     * wheel, or in the same tick of a later round, it is accessed by the wheel's thread only
+     */
+    private static class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline, List<Timeout> rescheduled) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    if (timeout.isPeriodic()) {
+                        timeout.runPeriodically(deadline);
+                        rescheduled.add(timeout);
+                    } else {
+                        timeout.wheel.pendingTimeouts.decrementAndGet();
+                        timeout.expire();
+                    }
+                } else if (timeout.isDisposed()) {
+                    remove(timeout);
+                    timeout.wheel.pendingTimeouts.decrementAndGet();
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void cancelAll() {
+            Timeout timeout;
+            while ((timeout = head) != null) {
+                remove(timeout);
+                timeout.cancel();
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * a task that is scheduled on the wheel, disposing it cancels the task if it did not run yet,
+     * or cancels the next runs of a periodic task
+     */
+    private static class Timeout implements Disposable {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        final TimingWheel wheel;
+        final Runnable task;
+        final long periodNanos;
+        final boolean fixedRate;
+        long deadline;
+        long remainingRounds;
+        Bucket bucket;
+        Timeout previous;
+        Timeout next;
+        private volatile int state = WAITING;
+
+        Timeout(TimingWheel wheel, Runnable task, long deadline, long periodNanos, boolean fixedRate) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.periodNanos = periodNanos;
+            this.fixedRate = fixedRate;
+        }
+
+        boolean isPeriodic() {
+            return periodNanos > 0;
+        }
+
+        void runPeriodically(long now) {
+            if (state != WAITING) {
+                return;
+            }
+            run();
+            if (fixedRate) {
+                long missedPeriods = (now - deadline) / periodNanos;
+                deadline += periodNanos * (missedPeriods + 1);
+            } else {
+                deadline = System.nanoTime() + periodNanos;
+            }
+        }
+
+        void expire() {
+            if (stateUpdater.compareAndSet(this, WAITING, EXPIRED)) {
+                run();
+            }
+        }
+
+        private void run() {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+
+        /**
+         * cancel the task without handing it back to the wheel's thread, when the wheel is
+         * stopped
+         */
+        void cancel() {
+            stateUpdater.compareAndSet(this, WAITING, CANCELLED);
+        }
+
+        @Override
+        public void dispose() {
+            if (stateUpdater.compareAndSet(this, WAITING, CANCELLED)) {
+                wheel.cancelled(this);
+            }
+        }
+
+        boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return state != WAITING;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * the Actors addresses that subscribed to a topic, or to a {@link Message} id, through
+ * {@link ActorSystemInstance#subscribe(String, Class)} and
+ * {@link ActorSystemInstance#subscribe(int, Class)}
+ * <p>
+ * the subscribers are kept in a copy-on-write array, subscribing and un-subscribing replace
+ * the array under the topic's monitor, while publishing reads the current array without taking
+ * a lock, the mailboxes of the subscribers are kept with the array, and they are taken again
+ * from the Actor-System only after an Actor is registered, postponed or unregistered, the
+ * same as {@link ActorGroup}
+ */
+class Topic {
+
+    private static final Class<?>[] NO_SUBSCRIBERS = new Class<?>[0];
+    private static final Mailbox[] NO_MAILBOXES = new Mailbox[0];
+
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(new Snapshot(NO_SUBSCRIBERS, -1, NO_MAILBOXES));
+
+    /**
+     * @param actor the Actor address to add
+     * @return {@code true} if it was added, or {@code false} if it already subscribed
+     */
+    synchronized boolean subscribe(@NonNull Class<?> actor) {
+        Class<?>[] subscribers = snapshot.get().subscribers;
+        if (indexOf(subscribers, actor) != -1) {
+            return false;
+        }
+        Class<?>[] newSubscribers = new Class<?>[subscribers.length + 1];
+        System.arraycopy(subscribers, 0, newSubscribers, 0, subscribers.length);
+        newSubscribers[subscribers.length] = actor;
+        snapshot.set(new Snapshot(newSubscribers, -1, NO_MAILBOXES));
+        return true;
+    }
+
+    /**
+     * @param actor the Actor address to remove
+     * @return {@code true} if it was removed, or {@code false} if it did not subscribe
+     */
+    synchronized boolean unsubscribe(@NonNull Class<?> actor) {
+        Class<?>[] subscribers = snapshot.get().subscribers;
+        int index = indexOf(subscribers, actor);
+        if (index == -1) {
+            return false;
+        }
+        Class<?>[] newSubscribers = new Class<?>[subscribers.length - 1];
+        System.arraycopy(subscribers, 0, newSubscribers, 0, index);
+        System.arraycopy(subscribers, index + 1, newSubscribers, index,
+                newSubscribers.length - index);
+        snapshot.set(new Snapshot(newSubscribers, -1, NO_MAILBOXES));
+        return true;
+    }
+
+    private static int indexOf(Class<?>[] subscribers, Class<?> actor) {
+        for (int i = 0; i < subscribers.length; i++) {
+            if (subscribers[i] == actor) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the current subscribers, the returned array is never modified
+     */
+    @NonNull
+    Class<?>[] subscribers() {
+        return snapshot.get().subscribers;
+    }
+
+    boolean isEmpty() {
+        return snapshot.get().subscribers.length == 0;
+    }
+
+    /**
+     * get the mailboxes of the subscribers, if they are taken again because the Actor-System
+     * was updated, they are kept only if no Actor subscribed or un-subscribed in the meantime
+     *
+     * @param mailboxes the mailboxes of the Actor-System
+     * @return the mailboxes of the subscribers, the returned array is never modified
+     */
+    @NonNull
+    Mailbox[] mailboxes(@NonNull TypedMap<Mailbox> mailboxes) {
+        int version = mailboxes.version();
+        Snapshot current = snapshot.get();
+        if (current.version == version) {
+            return current.mailboxes;
+        }
+
+        List<Mailbox> subscribersMailboxes = new ArrayList<>();
+        for (Class<?> subscriber : current.subscribers) {
+            subscribersMailboxes.addAll(mailboxes.valuesOf(subscriber));
+        }
+        Snapshot updated = new Snapshot(current.subscribers, version,
+                subscribersMailboxes.toArray(new Mailbox[subscribersMailboxes.size()]));
+        snapshot.compareAndSet(current, updated);
+        return updated.mailboxes;
+    }
+
+    private static class Snapshot {
+
+        final Class<?>[] subscribers;
+        final int version;
+        final Mailbox[] mailboxes;
+
+        Snapshot(Class<?>[] subscribers, int version, Mailbox[] mailboxes) {
+            this.subscribers = subscribers;
+            this.version = version;
+            this.mailboxes = mailboxes;
+        }
+    }
+}
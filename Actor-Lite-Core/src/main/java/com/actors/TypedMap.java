@@ -0,0 +1,351 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.RestrictTo;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Observer;
+import io.reactivex.Single;
+
+/**
+ * the parent class for Typed Maps
+ * <p>
+ * besides the original {@link Map}, the keys are indexed by there type, so looking up the values
+ * of a {@link Class} is a hash lookup instead of scanning all the entries
+ * <p>
+ * the values of every type are published as an immutable snapshot, so when the original
+ * {@link Map} is a concurrent one, reading never takes a lock, while updates to the keys of the
+ * same type are serialized with each other
+ * <p>
+ * every update increments a {@link #version()}, so a holder of values that were looked up
+ * before can tell if they are still the current ones by a single volatile read
+ * <p>
+ * a {@code null} key has no type to be indexed by, and is not accepted by a concurrent
+ * {@link Map}, so {@link #put(Object, Object)} and {@link #remove(Object)} reject it
+ * <p>
+ * Created by Ahmed Adel Ismail on 10/15/2017.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public class TypedMap<V> implements Iterable<Entry<Object, V>> {
+
+    private static final ObjectTypeRetriever typeRetriever = new ObjectTypeRetriever();
+
+    private final Map<Object, V> map;
+    private final ConcurrentMap<Class<?>, TypeEntries<V>> typeIndex;
+    private final AtomicInteger version = new AtomicInteger();
+
+    TypedMap(Map<Object, V> map) {
+        this.map = map;
+        this.typeIndex = new ConcurrentHashMap<>();
+        for (Entry<Object, V> entry : map.entrySet()) {
+            if (entry.getKey() != null) {
+                typeEntries(entry.getKey()).put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * check if a <b>type</b> of an object is available in the {@link Map#keySet()}
+     *
+     * @param type the type to search for
+     * @return a {@link Single} of {@code true} if any Object in the {@link Map#keySet()} is of
+     * the same type passed
+     */
+    @NonNull
+    Single<Boolean> containsKey(final Class<?> type) {
+        return Single.just(!valuesOf(type).isEmpty());
+    }
+
+    /**
+     * check if a an object is available in the {@link Map#keySet()}
+     *
+     * @param key the instance to search for
+     * @return a {@link Single} of {@code true} if any Object in the {@link Map#keySet()} is of
+     * the same type passed
+     */
+    @NonNull
+    Single<Boolean> containsKey(Object key) {
+        return Single.just(map.containsKey(key));
+    }
+
+    /**
+     * same as {@link #get(Object)} but it does not return {@link NoSuchElementException}
+     * if the element is not found
+     *
+     * @param key the key to search for
+     * @return a {@link Maybe} holding the value mapped to the passed instance, or
+     * empty {@link Maybe} if nothing is found
+     */
+    @NonNull
+    Maybe<V> getOrIgnore(Object key) {
+        return get(key).toMaybe().onErrorComplete();
+    }
+
+    /**
+     * get the value mapped to the passed key, this is the same as
+     * {@link Map#get(Object)} with an extra feature, if there is a key of the same type
+     * is available, it will return it's value
+     *
+     * @param key the key to search for
+     * @return a {@link Single} holding the value mapped to the passed instance,
+     * if no key was found, an error {@link Single} is returned holding {@link NoSuchElementException}
+     */
+    @NonNull
+    Single<V> get(Object key) {
+        V value = key == null ? null : map.get(key);
+        if (value == null && key != null) {
+            value = map.get(key.getClass());
+        }
+
+        if (value != null) {
+            return Single.just(value);
+        } else {
+            return Single.error(new NoSuchElementException("no value mapped to : " + key));
+        }
+    }
+
+    /**
+     * get an {@link Observable} that emits all the values fount that are mapped to
+     * keys that there type matches the passed {@link Class} parameter
+     *
+     * @param type the type of the key for those values
+     * @return a {@link Observable} emitting the stored values, or it will emit
+     * {@link NoSuchElementException} if no value was found
+     */
+    @NonNull
+    Observable<V> get(@NonNull Class<?> type) {
+        return getOrIgnore(type).switchIfEmpty(errorObservable(type));
+
+    }
+
+    /**
+     * same as {@link #get(Class)} but it does not return {@link NoSuchElementException}
+     * if the element is not found
+     *
+     * @param type the type of the key for those values
+     * @return a {@link Observable} emitting the stored values
+     */
+    @NonNull
+    Observable<V> getOrIgnore(final Class<?> type) {
+        return Observable.fromIterable(valuesOf(type));
+    }
+
+    /**
+     * get the values mapped to keys that there type matches the passed {@link Class}, this is
+     * the same as {@link #getOrIgnore(Class)} but without creating an {@link Observable}, the
+     * returned {@link List} is a snapshot that is never modified, so it is safe to iterate over
+     * it while the map is updated
+     *
+     * @param type the type of the key for those values
+     * @return the stored values, or an empty {@link List} if nothing is found
+     */
+    @NonNull
+    List<V> valuesOf(Class<?> type) {
+        TypeEntries<V> entries = typeIndex.get(type);
+        return entries == null ? Collections.<V>emptyList() : entries.values;
+    }
+
+    /**
+     * remove all the keys that there type matches the passed {@link Class}, whether the key is
+     * the {@link Class} itself or an instance of it
+     *
+     * @param type the type of the keys to remove
+     * @return the values of the removed keys
+     */
+    @NonNull
+    List<V> removeAll(Class<?> type) {
+        TypeEntries<V> entries = typeIndex.get(type);
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+
+        synchronized (entries) {
+            List<V> values = entries.values;
+            for (Object key : entries.keys()) {
+                map.remove(key);
+            }
+            entries.clear();
+            version.incrementAndGet();
+            return values;
+        }
+    }
+
+    /**
+     * the number of updates done to this map, it is incremented after the snapshots of the
+     * updated type are published, so the values read after reading a version are at least as
+     * new as that version
+     *
+     * @return the current version of this map
+     */
+    int version() {
+        return version.get();
+    }
+
+    @NonNull
+    private Observable<V> errorObservable(@NonNull final Class<?> type) {
+        return new Observable<V>() {
+            @Override
+            protected void subscribeActual(Observer<? super V> observer) {
+                observer.onError(new NoSuchElementException("no value mapped to : "
+                        + type.getSimpleName()));
+            }
+        };
+    }
+
+    /**
+     * put an Object instance as a key, and an item as it's value
+     *
+     * @param key   the key stored in {@link WeakReference}
+     * @param value the value for this key
+     * @throws IllegalArgumentException if the key is {@code null}
+     */
+    @NonNull
+    TypedMap<V> put(Object key, V value) throws IllegalArgumentException {
+        checkNotNull(key);
+
+        TypeEntries<V> entries = typeEntries(key);
+        synchronized (entries) {
+            map.put(key, value);
+            entries.put(key, value);
+            version.incrementAndGet();
+        }
+        return this;
+    }
+
+    /**
+     * remove an {@link Entry} with the passed key
+     *
+     * @param key the key to remove
+     * @throws IllegalArgumentException if the key is {@code null}
+     */
+    @NonNull
+    TypedMap<V> remove(Object key) throws IllegalArgumentException {
+        checkNotNull(key);
+
+        TypeEntries<V> entries = typeEntries(key);
+        synchronized (entries) {
+            map.remove(key);
+            entries.remove(key);
+            version.incrementAndGet();
+        }
+        return this;
+    }
+
+    private static void checkNotNull(Object key) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("the key of a TypedMap can not be null");
+        }
+    }
+
+    @NonNull
+    private TypeEntries<V> typeEntries(Object key) {
+        Class<?> type = typeRetriever.apply(key);
+        TypeEntries<V> entries = typeIndex.get(type);
+        if (entries == null) {
+            TypeEntries<V> newEntries = new TypeEntries<>();
+            entries = typeIndex.putIfAbsent(type, newEntries);
+            if (entries == null) {
+                entries = newEntries;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * clear the current stored values
+     */
+    @NonNull
+    public TypedMap<V> clear() {
+        for (TypeEntries<V> entries : typeIndex.values()) {
+            synchronized (entries) {
+                for (Object key : entries.keys()) {
+                    map.remove(key);
+                }
+                entries.clear();
+            }
+        }
+        map.clear();
+        version.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * get the size of the current {@link Map}
+     *
+     * @return the size
+     */
+    int size() {
+        return map.size();
+    }
+
+    /**
+     * check if the current {@link Map} is empty or not
+     *
+     * @return {@code true} if there is nothing stored in this Object
+     */
+    boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+
+    @Override
+    @NonNull
+    public Iterator<Entry<Object, V>> iterator() {
+        return Collections.unmodifiableSet(map.entrySet()).iterator();
+    }
+
+    /**
+     * the keys that share the same type, and a snapshot of there values, the instances of this
+     * class are never removed from the index once created, so a thread that obtained it can
+     * safely lock on it while another thread removes the last key of it's type
+     *
+     * @param <V> the type of the values
+     */
+    private static class TypeEntries<V> {
+
+        private final Map<Object, V> entries = new LinkedHashMap<>();
+        private volatile List<V> values = Collections.emptyList();
+
+        void put(Object key, V value) {
+            entries.put(key, value);
+            publish();
+        }
+
+        void remove(Object key) {
+            if (entries.containsKey(key)) {
+                entries.remove(key);
+                publish();
+            }
+        }
+
+        void clear() {
+            entries.clear();
+            publish();
+        }
+
+        @NonNull
+        List<Object> keys() {
+            return new ArrayList<>(entries.keySet());
+        }
+
+        private void publish() {
+            values = entries.isEmpty()
+                    ? Collections.<V>emptyList()
+                    : Collections.unmodifiableList(new ArrayList<>(entries.values()));
+        }
+    }
+}
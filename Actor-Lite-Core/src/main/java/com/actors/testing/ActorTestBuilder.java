@@ -1,6 +1,5 @@
 package com.actors.testing;
 
-import android.annotation.SuppressLint;
 import android.support.annotation.NonNull;
 
 import com.actors.Actor;
@@ -8,7 +7,6 @@ import com.actors.ActorSystem;
 import com.actors.ActorSystemConfiguration;
 import com.actors.ActorSystemInstance;
 import com.actors.Message;
-import com.actors.R;
 import com.functional.curry.Curry;
 
 import org.javatuples.Pair;
@@ -26,7 +24,6 @@ import io.reactivex.functions.Function;
  * <p>
  * Created by Ahmed Adel Ismail on 3/3/2018.
  */
-@SuppressLint("RestrictedApi")
 abstract class ActorTestBuilder<T extends Actor, V extends Actor, R> {
 
     final List<R> result;
@@ -5,7 +5,6 @@ import android.support.annotation.NonNull;
 import com.actors.Actor;
 import com.actors.ActorSystemInstance;
 import com.actors.Message;
-import com.actors.R;
 
 import io.reactivex.functions.BiConsumer;
 import io.reactivex.functions.Consumer;
@@ -2,7 +2,6 @@ package com.actors.testing;
 
 import com.actors.Actor;
 import com.actors.Message;
-import com.actors.R;
 
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
@@ -0,0 +1,4 @@
+# the spawn tables generated by Actor-Lite-Compiler are found by the name of the annotated class
+-keep class * implements com.actors.SpawnTable {
+   public <init>();
+}
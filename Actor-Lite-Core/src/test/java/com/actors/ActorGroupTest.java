@@ -0,0 +1,116 @@
+package com.actors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ActorGroupTest {
+
+    @Test
+    public void sendToGroupThenDeliverToAllRegisteredMembers() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("ActorGroupTest-1");
+        RecordingActor actor = new RecordingActor();
+        OtherRecordingActor otherActor = new OtherRecordingActor();
+        system.register(actor);
+        system.register(otherActor);
+
+        system.createGroup("group", RecordingActor.class, OtherRecordingActor.class);
+        system.sendToGroup(1, "group");
+        system.unregister(actor);
+        system.unregister(otherActor);
+
+        assertEquals(1, actor.received.size());
+        assertEquals(1, otherActor.received.size());
+    }
+
+    @Test
+    public void sendToGroupWithRepeatedMemberThenDeliverOnce() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("ActorGroupTest-2");
+        RecordingActor actor = new RecordingActor();
+        system.register(actor);
+
+        ActorGroup group = system.createGroup("group", RecordingActor.class, RecordingActor.class);
+        group.send(1);
+        system.unregister(actor);
+
+        assertEquals(1, group.getMembers().size());
+        assertEquals(1, actor.received.size());
+    }
+
+    @Test
+    public void registerMemberAfterSendingToGroupThenDeliverNextMessages() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("ActorGroupTest-3");
+        RecordingActor actor = new RecordingActor();
+        OtherRecordingActor otherActor = new OtherRecordingActor();
+        system.register(actor);
+
+        ActorGroup group = system.createGroup("group", RecordingActor.class, OtherRecordingActor.class);
+        group.send(1);
+        system.register(otherActor);
+        group.send(2);
+        system.unregister(actor);
+        system.unregister(otherActor);
+
+        assertEquals(2, actor.received.size());
+        assertEquals(1, otherActor.received.size());
+        assertEquals(2, (int) otherActor.received.get(0));
+    }
+
+    @Test
+    public void unregisterMemberAfterSendingToGroupThenStopDeliveringToIt() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("ActorGroupTest-4");
+        RecordingActor actor = new RecordingActor();
+        OtherRecordingActor otherActor = new OtherRecordingActor();
+        system.register(actor);
+        system.register(otherActor);
+
+        ActorGroup group = system.createGroup("group", RecordingActor.class, OtherRecordingActor.class);
+        group.send(1);
+        system.unregister(otherActor);
+        group.send(2);
+        system.unregister(actor);
+
+        assertEquals(2, actor.received.size());
+        assertEquals(1, otherActor.received.size());
+    }
+
+    @Test
+    public void createGroupWithExistingNameThenReplaceOldGroup() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("ActorGroupTest-5");
+        RecordingActor actor = new RecordingActor();
+        OtherRecordingActor otherActor = new OtherRecordingActor();
+        system.register(actor);
+        system.register(otherActor);
+
+        system.createGroup("group", RecordingActor.class);
+        ActorGroup group = system.createGroup("group", OtherRecordingActor.class);
+        system.sendToGroup(1, "group");
+        system.unregister(actor);
+        system.unregister(otherActor);
+
+        assertSame(group, system.getGroup("group"));
+        assertTrue(actor.received.isEmpty());
+        assertEquals(1, otherActor.received.size());
+    }
+
+    @Test
+    public void sendPooledMessageToRemovedGroupThenPutItBackInPool() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("ActorGroupTest-6");
+        system.createGroup("group", RecordingActor.class);
+        system.removeGroup("group");
+
+        PooledMessage message = PooledMessage.obtain(1);
+        system.sendToGroup(message, "group");
+
+        assertNull(system.getGroup("group"));
+        assertSame(message, PooledMessage.obtain(2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void createGroupWithoutMembersThenThrowUnsupportedOperationException() {
+        ActorSystemInstance.getInstance("ActorGroupTest-7").createGroup("group");
+    }
+}
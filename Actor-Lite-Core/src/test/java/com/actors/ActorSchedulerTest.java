@@ -5,12 +5,17 @@ import org.junit.Test;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.reactivex.Scheduler;
 import io.reactivex.annotations.NonNull;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Function;
 import io.reactivex.properties.Property;
+import io.reactivex.schedulers.Schedulers;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("deprecation")
@@ -270,4 +275,162 @@ public class ActorSchedulerTest {
         assertTrue(actor.message.getContent().equals(1));
     }
 
-}
\ No newline at end of file
+    @Test(timeout = 5000)
+    public void sendEveryPeriodThenReceiveManyTimesUntilCancelled() throws Exception {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("sendEveryPeriodThenReceiveManyTimesUntilCancelled");
+        CountingActor actor = new CountingActor();
+        actorSystem.register(actor);
+
+        Cancellable cancellable = ActorScheduler.every(5, actorSystem)
+                .send(message, CountingActor.class);
+        while (actor.received.get() < 3) {
+            Thread.sleep(5);
+        }
+        cancellable.cancel();
+        int receivedWhenCancelled = actor.received.get();
+        Thread.sleep(50);
+        actorSystem.unregister(actor);
+
+        assertTrue(actor.received.get() <= receivedWhenCancelled + 1);
+    }
+
+    @Test(timeout = 5000)
+    public void sendWithFixedDelayThenReceiveManyTimesUntilCancelledForActor() throws Exception {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("sendWithFixedDelayThenReceiveManyTimesUntilCancelledForActor");
+        CountingActorTwo actor = new CountingActorTwo();
+        actorSystem.register(actor);
+
+        ActorScheduler.fixedDelay(5, actorSystem).send(1, CountingActorTwo.class);
+        while (actor.received.get() < 3) {
+            Thread.sleep(5);
+        }
+        ActorScheduler.cancel(CountingActorTwo.class);
+        actorSystem.unregister(actor);
+
+        assertTrue(ActorScheduler.schedules.get(CountingActorTwo.class) == null);
+    }
+
+    @Test(timeout = 5000)
+    public void sendEveryPeriodToPostponedActorThenCoalesceTicksIntoOneMessage() throws Exception {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("sendEveryPeriodToPostponedActorThenCoalesceTicksIntoOneMessage");
+        CountingActorThree actor = new CountingActorThree();
+        actorSystem.register(actor);
+        actorSystem.postpone(actor);
+
+        Cancellable cancellable = ActorScheduler.every(5, actorSystem)
+                .send(message, CountingActorThree.class);
+        Thread.sleep(100);
+        cancellable.cancel();
+        actorSystem.register(actor);
+        Thread.sleep(20);
+        actorSystem.unregister(actor);
+
+        assertEquals(1, actor.received.get());
+    }
+
+    @Test(timeout = 10000)
+    public void scheduleAndCancelFromManyThreadsThenLeaveNoScheduledMessages() throws Exception {
+        final ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("scheduleAndCancelFromManyThreadsThenLeaveNoScheduledMessages");
+        final Class<?>[] addresses = {CountingActor.class, CountingActorTwo.class,
+                CountingActorThree.class};
+        final CountDownLatch done = new CountDownLatch(4);
+        for (int thread = 0; thread < 4; thread++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        Class<?> address = addresses[i % addresses.length];
+                        Cancellable cancellable = ActorScheduler.after(60000, actorSystem)
+                                .send(i % 16, address);
+                        if (i % 7 == 0) {
+                            ActorScheduler.cancel(address);
+                        } else {
+                            cancellable.cancel();
+                        }
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        assertTrue(done.await(8, TimeUnit.SECONDS));
+        for (Class<?> address : addresses) {
+            ActorScheduler.cancel(address);
+            assertTrue(ActorScheduler.schedules.get(address) == null);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void stopTimerThenDropScheduledMessagesAndStartNewTimerForTheNextOne() throws Exception {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("stopTimerThenDropScheduledMessagesAndStartNewTimerForTheNextOne");
+        CountingActorFour actor = new CountingActorFour();
+        actorSystem.register(actor);
+
+        ActorScheduler.after(50, actorSystem).send(1, CountingActorFour.class);
+        TimingWheel stoppedWheel = actorSystem.getTimingWheel();
+        actorSystem.stopTimer();
+        ActorScheduler.after(10, actorSystem).send(2, CountingActorFour.class);
+        while (actor.received.get() < 1) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+        actorSystem.unregister(actor);
+
+        assertTrue(stoppedWheel.isStopped());
+        assertNotSame(stoppedWheel, actorSystem.getTimingWheel());
+        assertEquals(1, actor.received.get());
+        actorSystem.stopTimer();
+    }
+
+    @Test(timeout = 5000)
+    public void stopTimerThenRescheduleTheSameIdAndReceiveIt() throws Exception {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("stopTimerThenRescheduleTheSameIdAndReceiveIt");
+        CountingActorFive actor = new CountingActorFive();
+        actorSystem.register(actor);
+
+        ActorScheduler.after(500, actorSystem).send(7, CountingActorFive.class);
+        actorSystem.stopTimer();
+        ActorScheduler.after(10, actorSystem).send(7, CountingActorFive.class);
+        while (actor.received.get() < 1) {
+            Thread.sleep(5);
+        }
+        actorSystem.unregister(actor);
+        actorSystem.stopTimer();
+
+        assertEquals(1, actor.received.get());
+    }
+
+    private static class CountingActor implements Actor {
+
+        final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void onMessageReceived(Message message) {
+            received.incrementAndGet();
+        }
+
+        @android.support.annotation.NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    private static class CountingActorTwo extends CountingActor {
+    }
+
+    private static class CountingActorFour extends CountingActor {
+    }
+
+    private static class CountingActorFive extends CountingActor {
+    }
+
+    private static class CountingActorThree extends CountingActor {
+    }
+}
@@ -2,6 +2,12 @@ package com.actors;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import io.reactivex.Scheduler;
 import io.reactivex.annotations.NonNull;
 import io.reactivex.disposables.Disposable;
@@ -9,6 +15,7 @@ import io.reactivex.functions.Consumer;
 import io.reactivex.schedulers.Schedulers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -201,6 +208,138 @@ public class ActorSystemTest {
         assertNull(actor.message);
     }
 
+    @Test
+    public void registerActorWithOnCreateMailboxThenConfigureItsMailbox() {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("registerActorWithOnCreateMailboxThenConfigureItsMailbox");
+
+        actorSystem.register(new BoundedArrayActor());
+        Mailbox mailbox = actorSystem.getMailboxes().get(BoundedArrayActor.class).blockingFirst();
+        actorSystem.unregister(BoundedArrayActor.class);
+
+        assertEquals(MailboxType.BOUNDED_ARRAY, mailbox.type());
+        assertEquals(16, mailbox.capacity());
+    }
+
+    @Test
+    public void postponeAndRegisterWithDifferentMailboxTypeThenReceivePostponedMessage() {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("postponeAndRegisterWithDifferentMailboxTypeThenReceivePostponedMessage");
+
+        Message message = new Message(1);
+        BoundedArrayActor actor = new BoundedArrayActor();
+        actorSystem.postpone(actor);
+        actorSystem.send(message, BoundedArrayActor.class);
+        actorSystem.register(actor);
+        actorSystem.unregister(actor);
+
+        assertEquals(message, actor.message);
+    }
+
+    @Test
+    public void registerActorWithTurnBudgetThenSetItOnMailbox() {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("registerActorWithTurnBudgetThenSetItOnMailbox");
+
+        actorSystem.register(new TurnBudgetActor());
+        Mailbox mailbox = actorSystem.getMailboxes().get(TurnBudgetActor.class).blockingFirst();
+        actorSystem.unregister(TurnBudgetActor.class);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(4), mailbox.turnBudgetNanos());
+    }
+
+    @Test
+    public void postponeAndRegisterConflatingActorThenReceiveLatestPostponedMessagePerId() {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("postponeAndRegisterConflatingActorThenReceiveLatestPostponedMessagePerId");
+
+        ConflatingActor actor = new ConflatingActor();
+        actorSystem.postpone(actor);
+        actorSystem.send(new Message(1, "a"), ConflatingActor.class);
+        actorSystem.send(new Message(2, "b"), ConflatingActor.class);
+        actorSystem.send(new Message(1, "c"), ConflatingActor.class);
+        actorSystem.register(actor);
+        actorSystem.unregister(actor);
+
+        assertEquals(Arrays.asList("c", "b"), actor.contents);
+    }
+
+    @Test
+    public void postponeAndRegisterBatchActorThenReceivePostponedMessagesInOneBatch() {
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("postponeAndRegisterBatchActorThenReceivePostponedMessagesInOneBatch");
+
+        BatchActor actor = new BatchActor();
+        actorSystem.postpone(actor);
+        actorSystem.send(1, BatchActor.class);
+        actorSystem.send(2, BatchActor.class);
+        actorSystem.send(3, BatchActor.class);
+        actorSystem.register(actor);
+        actorSystem.unregister(actor);
+
+        assertNull(actor.message);
+        assertEquals(1, actor.batches.size());
+        assertEquals(3, actor.batches.get(0).size());
+    }
+
+    @Test
+    public void sendToManyActorsWhileOneMailboxIsFullWithFailThenSendToOthersThenThrow() {
+        ActorSystemInstance actorSystem = ActorSystemInstance.getInstance(
+                "sendToManyActorsWhileOneMailboxIsFullWithFailThenSendToOthersThenThrow",
+                new ActorSystemConfiguration.Builder()
+                        .spawnActors(false)
+                        .mailboxCapacity(1)
+                        .mailboxOverflowPolicy(OverflowPolicy.FAIL)
+                        .build());
+        actorSystem.postpone(new TestActorThree());
+        actorSystem.postpone(new TestActorFour());
+        actorSystem.send(1, TestActorThree.class);
+
+        IllegalStateException failure = null;
+        try {
+            actorSystem.send(2, TestActorThree.class, TestActorFour.class);
+        } catch (IllegalStateException e) {
+            failure = e;
+        }
+        int pending = actorSystem.getMailboxes().get(TestActorFour.class).blockingFirst().size();
+        actorSystem.unregister(TestActorThree.class);
+        actorSystem.unregister(TestActorFour.class);
+
+        assertNotNull(failure);
+        assertEquals(1, pending);
+    }
+
+    @Test(timeout = 5000)
+    public void scheduleMessagesWhileOneMailboxIsFullWithBlockThenDeliverToOthers()
+            throws Exception {
+        final ActorSystemInstance actorSystem = ActorSystemInstance.getInstance(
+                "scheduleMessagesWhileOneMailboxIsFullWithBlockThenDeliverToOthers",
+                new ActorSystemConfiguration.Builder()
+                        .spawnActors(false)
+                        .mailboxCapacity(1)
+                        .mailboxOverflowPolicy(OverflowPolicy.BLOCK)
+                        .build());
+        actorSystem.postpone(new TestActorThree());
+        actorSystem.send(1, TestActorThree.class);
+        final CountDownLatch received = new CountDownLatch(1);
+        actorSystem.register(TestActorFive.class, Schedulers.trampoline(), new Consumer<Message>() {
+            @Override
+            public void accept(@NonNull Message message) {
+                received.countDown();
+            }
+        });
+
+        ActorScheduler.after(10, actorSystem).send(2, TestActorThree.class);
+        ActorScheduler.after(20, actorSystem).send(3, TestActorFive.class);
+
+        assertTrue(received.await(4, TimeUnit.SECONDS));
+        int pending = actorSystem.getMailboxes().get(TestActorThree.class).blockingFirst().size();
+        actorSystem.unregister(TestActorThree.class);
+        actorSystem.unregister(TestActorFive.class);
+
+        assertEquals(1, pending);
+    }
+
     private static class TestActor implements Actor {
 
         Message message;
@@ -228,4 +367,45 @@ public class ActorSystemTest {
     private static class TestActorFive extends TestActor {
     }
 
+    private static class BatchActor extends TestActor implements OnBatchReceived {
+
+        final List<List<Message>> batches = new ArrayList<>();
+
+        @Override
+        public void onBatchReceived(List<Message> messages) {
+            batches.add(messages);
+        }
+    }
+
+    private static class TurnBudgetActor extends TestActor implements OnCreateMailbox {
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            mailboxBuilder.observeOn(Schedulers.trampoline(), 4, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static class ConflatingActor extends TestActor implements OnCreateMailbox {
+
+        final List<String> contents = new ArrayList<>();
+
+        @Override
+        public void onMessageReceived(Message message) {
+            contents.add(message.<String>getContent());
+        }
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            mailboxBuilder.conflate();
+        }
+    }
+
+    private static class BoundedArrayActor extends TestActor implements OnCreateMailbox {
+
+        @Override
+        public void onCreateMailbox(MailboxBuilder mailboxBuilder) {
+            mailboxBuilder.mailboxType(MailboxType.BOUNDED_ARRAY).capacity(16);
+        }
+    }
+
 }
\ No newline at end of file
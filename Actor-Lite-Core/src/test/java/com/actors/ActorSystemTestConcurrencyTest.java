@@ -0,0 +1,271 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.properties.BooleanProperty;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by Ahmed Adel Ismail on 5/17/2017.
+ */
+@SuppressWarnings("deprecation")
+@RunWith(ParallelRunner.class)
+public class ActorSystemTestConcurrencyTest {
+
+    @Test
+    public void sendMessageAndObserveOnDifferentThread() throws Exception {
+        final ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("sendMessageAndObserveOnDifferentThread");
+        BooleanProperty differentThread = new TestAsync<BooleanProperty>().apply(new Function<CountDownLatch, BooleanProperty>() {
+            @Override
+            public BooleanProperty apply(CountDownLatch countDownLatch) throws Exception {
+                final BooleanProperty result = new BooleanProperty(false);
+                actorSystem.register(ActorSystemTestOne.class, Schedulers.newThread(), compareThreads(countDownLatch, result));
+                actorSystem.send(new Message(0, Thread.currentThread().getId()), ActorSystemTestOne.class);
+                return result;
+            }
+        });
+        actorSystem.unregister(ActorSystemTestOne.class);
+        assertTrue(differentThread.isTrue());
+
+    }
+
+    @NonNull
+    private Consumer<Message> compareThreads(final CountDownLatch countDownLatch, final BooleanProperty result) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(@NonNull Message message) throws Exception {
+                long threadId = message.getContent();
+                result.set(threadId != Thread.currentThread().getId());
+                countDownLatch.countDown();
+            }
+        };
+    }
+
+    @Test
+    public void sendMessageAndObserveOnSameThread() throws Exception {
+
+        ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("sendMessageAndObserveOnSameThread");
+
+        final BooleanProperty result = new BooleanProperty(false);
+        actorSystem.register(ActorSystemTestTwo.class, Schedulers.trampoline(), compareThreads(result));
+        actorSystem.send(new Message(0, Thread.currentThread().getId()), ActorSystemTestTwo.class);
+        actorSystem.unregister(ActorSystemTestTwo.class);
+        assertTrue(result.isTrue());
+    }
+
+    @NonNull
+    private Consumer<Message> compareThreads(final BooleanProperty result) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(@NonNull Message message) throws Exception {
+                long threadId = message.getContent();
+                result.set(threadId == Thread.currentThread().getId());
+            }
+        };
+    }
+
+    @Test(timeout = 30000)
+    public void registerAndUnregisterFromManyThreadsWhileSendingThenKeepRegistryConsistent()
+            throws Exception {
+
+        final ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("registerAndUnregisterFromManyThreadsWhileSending",
+                        new ActorSystemConfiguration.Builder().spawnActors(false).build());
+
+        final int threads = 4;
+        final int iterations = 500;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 3);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(registerAndUnregister(actorSystem, start, iterations)));
+            futures.add(executor.submit(postponeAndUnregister(actorSystem, start, iterations)));
+            futures.add(executor.submit(send(actorSystem, start, iterations)));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        actorSystem.unregister(ActorSystemTestThree.class);
+        actorSystem.unregister(ActorSystemTestFour.class);
+
+        assertEquals(0, actorSystem.getMailboxes().size());
+        assertEquals(0, actorSystem.getActorsDisposables().size());
+    }
+
+    @NonNull
+    private Callable<Void> registerAndUnregister(final ActorSystemInstance actorSystem,
+                                                 final CountDownLatch start,
+                                                 final int iterations) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    ActorSystemTestThree actor = new ActorSystemTestThree();
+                    actorSystem.register(actor);
+                    actorSystem.unregister(actor);
+                }
+                return null;
+            }
+        };
+    }
+
+    @NonNull
+    private Callable<Void> postponeAndUnregister(final ActorSystemInstance actorSystem,
+                                                 final CountDownLatch start,
+                                                 final int iterations) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    ActorSystemTestFour actor = new ActorSystemTestFour();
+                    actorSystem.register(actor);
+                    actorSystem.postpone(actor);
+                    actorSystem.register(actor);
+                    actorSystem.unregister(ActorSystemTestFour.class);
+                }
+                return null;
+            }
+        };
+    }
+
+    @NonNull
+    private Callable<Void> send(final ActorSystemInstance actorSystem,
+                                final CountDownLatch start,
+                                final int iterations) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    actorSystem.send(new Message(i),
+                            ActorSystemTestThree.class, ActorSystemTestFour.class);
+                }
+                return null;
+            }
+        };
+    }
+
+    @Test(timeout = 30000)
+    public void sendFromManyThreadsThenDeliverEveryMessageExactlyOnce() throws Exception {
+        final ActorSystemInstance actorSystem = ActorSystemInstance
+                .getInstance("sendFromManyThreadsThenDeliverEveryMessageExactlyOnce",
+                        new ActorSystemConfiguration.Builder().spawnActors(false).build());
+
+        final int threads = 4;
+        final int iterations = 10000;
+        final int[] deliveries = new int[threads * iterations];
+        final CountDownLatch delivered = new CountDownLatch(threads * iterations);
+        actorSystem.register(ActorSystemTestFive.class, Schedulers.computation(),
+                countDeliveries(deliveries, delivered));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(sendRange(actorSystem, start, i * iterations, iterations)));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        delivered.await();
+        actorSystem.unregister(ActorSystemTestFive.class);
+
+        for (int count : deliveries) {
+            assertEquals(1, count);
+        }
+    }
+
+    @NonNull
+    private Consumer<Message> countDeliveries(final int[] deliveries,
+                                              final CountDownLatch delivered) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                deliveries[message.getId()]++;
+                delivered.countDown();
+            }
+        };
+    }
+
+    @NonNull
+    private Callable<Void> sendRange(final ActorSystemInstance actorSystem,
+                                     final CountDownLatch start,
+                                     final int firstId,
+                                     final int count) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                start.await();
+                for (int i = firstId; i < firstId + count; i++) {
+                    actorSystem.send(new Message(i), ActorSystemTestFive.class);
+                }
+                return null;
+            }
+        };
+    }
+
+}
+
+class ActorSystemTestOne implements Actor {
+
+    @Override
+    public void onMessageReceived(Message message) {
+
+    }
+
+    @NonNull
+    @Override
+    public Scheduler observeOnScheduler() {
+        return Schedulers.trampoline();
+    }
+}
+
+class ActorSystemTestTwo extends ActorSystemTestOne {
+
+}
+
+class ActorSystemTestThree extends ActorSystemTestOne {
+
+    @NonNull
+    @Override
+    public Scheduler observeOnScheduler() {
+        return Schedulers.computation();
+    }
+}
+
+class ActorSystemTestFour extends ActorSystemTestThree {
+
+}
+
+class ActorSystemTestFive extends ActorSystemTestOne {
+
+}
@@ -104,6 +104,50 @@ public class ActorsInjectorTest {
 
     }
 
+    @Test
+    public void clearForActorThenDoNotUnregisterActorRegisteredByHand() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("7", configuration());
+        system.register(new ActorOne());
+        OwnerTwo owner = new OwnerTwo();
+        system.register(owner);
+        system.unregister(owner);
+
+        system.send(MSG_ONE_ID, ActorOne.class);
+        Cache.instance.call().testScheduler.triggerActions();
+
+        assertTrue(Cache.instance.call().actorOneInstancesCount[0] == 1
+                && MSG_ONE_ID == Cache.instance.call().actorOneMessage[0].getId());
+    }
+
+    @Test
+    public void injectForActorAfterSpawnedActorUnregisteredThenSpawnItAgain() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("8", configuration());
+        OwnerTwo owner = new OwnerTwo();
+        OwnerTwo ownerTwo = new OwnerTwo();
+        system.register(owner);
+        system.unregister(ActorOne.class);
+        system.register(ownerTwo);
+        system.unregister(owner);
+
+        system.send(MSG_ONE_ID, ActorOne.class);
+        Cache.instance.call().testScheduler.triggerActions();
+
+        assertTrue(Cache.instance.call().actorOneInstancesCount[0] == 2
+                && MSG_ONE_ID == Cache.instance.call().actorOneMessage[0].getId());
+    }
+
+    @Test
+    public void injectForActorWithGeneratedSpawnTableThenSpawnThroughTheTable() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("6", configuration());
+        system.register(new OwnerThree());
+        system.send(MSG_ONE_ID, ActorOne.class);
+
+        Cache.instance.call().testScheduler.triggerActions();
+
+        assertTrue(Cache.instance.call().spawnTableSpawnsCount[0] == 1
+                && MSG_ONE_ID == Cache.instance.call().actorOneMessage[0].getId());
+    }
+
     private boolean containsOwner(Map<Actor, Set<Object>> injectedActorsOwners, Object owner) {
         for (Set<Object> owners : injectedActorsOwners.values()) {
             if (owners.contains(owner)) {
@@ -146,6 +190,7 @@ class Cache {
     final int[] actorOneInstancesCount = {0};
     final Message[] actorOneMessage = {null};
     final Message[] actorTwoMessage = {null};
+    final int[] spawnTableSpawnsCount = {0};
 
     private Cache() {
     }
@@ -154,6 +199,7 @@ class Cache {
         actorOneInstancesCount[0] = 0;
         actorOneMessage[0] = null;
         actorTwoMessage[0] = null;
+        spawnTableSpawnsCount[0] = 0;
         testScheduler.triggerActions();
     }
 
@@ -190,6 +236,46 @@ class OwnerTwo implements Actor {
     }
 }
 
+@Spawn(ActorOne.class)
+class OwnerThree implements Actor {
+
+    @Override
+    public void onMessageReceived(Message message) {
+        // do nothing
+    }
+
+    @NonNull
+    @Override
+    public Scheduler observeOnScheduler() {
+        return Cache.instance.call().testScheduler;
+    }
+}
+
+/**
+ * the {@link SpawnTable} of {@link OwnerThree}, written the way the annotation processor
+ * generates it
+ */
+class OwnerThree_SpawnTable implements SpawnTable {
+
+    @Override
+    public int size() {
+        return 1;
+    }
+
+    @NonNull
+    @Override
+    public Class<? extends Actor> actorClass(int index) {
+        return ActorOne.class;
+    }
+
+    @NonNull
+    @Override
+    public Actor spawn(int index) {
+        Cache.instance.call().spawnTableSpawnsCount[0]++;
+        return new ActorOne();
+    }
+}
+
 class ActorOne implements Actor {
 
     public ActorOne() {
@@ -0,0 +1,98 @@
+package com.actors;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayRingQueueTest {
+
+    @Test
+    public void offerBeyondCapacityThenRejectTheExtraElements() {
+        ArrayRingQueue<Integer> queue = new ArrayRingQueue<>(2);
+
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertFalse(queue.offer(3));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void offerAndPollAroundTheRingThenKeepTheOrder() {
+        ArrayRingQueue<Integer> queue = new ArrayRingQueue<>(8);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(-1);
+            queue.poll();
+        }
+        List<Integer> polled = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+            if (i % 2 == 1) {
+                polled.add(queue.poll());
+            }
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), polled);
+        assertEquals(Arrays.asList(5, 6, 7, 8, 9), drain(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void iterateAfterWrappingAroundThenReturnThePendingElementsInOrder() {
+        ArrayRingQueue<Integer> queue = new ArrayRingQueue<>(4);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i);
+            if (i < 3) {
+                queue.poll();
+            }
+        }
+
+        List<Integer> iterated = new ArrayList<>();
+        for (Integer element : queue) {
+            iterated.add(element);
+        }
+
+        assertEquals(Arrays.asList(3, 4, 5), iterated);
+        assertTrue(queue.contains(4));
+        assertFalse(queue.contains(2));
+        assertEquals("[3, 4, 5]", queue.toString());
+        assertEquals(3, queue.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void removeThroughIteratorThenThrowUnsupportedOperationException() {
+        ArrayRingQueue<Integer> queue = new ArrayRingQueue<>(4);
+        queue.offer(1);
+
+        Iterator<Integer> iterator = queue.iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void clearThenBecomeEmpty() {
+        ArrayRingQueue<Integer> queue = new ArrayRingQueue<>(4);
+        queue.addAll(Arrays.asList(1, 2, 3));
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.iterator().hasNext());
+    }
+
+    private static List<Integer> drain(ArrayRingQueue<Integer> queue) {
+        List<Integer> elements = new ArrayList<>();
+        Integer element;
+        while ((element = queue.poll()) != null) {
+            elements.add(element);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,128 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.reactivex.Scheduler;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+
+public class AskTest {
+
+    @Test
+    public void askActorThenEmitItsReply() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("AskTest-1");
+        EchoActor actor = new EchoActor(system);
+        system.register(actor);
+        int mailboxesCount = system.getMailboxes().size();
+
+        TestObserver<Message> reply = system.ask(new Message(1, "content"), EchoActor.class, 1000)
+                .test();
+        int mailboxesCountAfterAsking = system.getMailboxes().size();
+        system.unregister(actor);
+
+        reply.assertValueCount(1);
+        assertEquals("echo:content", reply.values().get(0).getContent());
+        assertEquals(mailboxesCount, mailboxesCountAfterAsking);
+    }
+
+    @Test
+    public void askActorThatDoesNotReplyThenEmitTimeoutException() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("AskTest-2",
+                new ActorSystemConfiguration.Builder().timerTickMillis(1).build());
+        SilentActor actor = new SilentActor();
+        system.register(actor);
+
+        TestObserver<Message> reply = system.ask(new Message(1), SilentActor.class,
+                20, TimeUnit.MILLISECONDS).test();
+        reply.awaitTerminalEvent(2, TimeUnit.SECONDS);
+        system.unregister(actor);
+
+        reply.assertError(TimeoutException.class);
+    }
+
+    @Test
+    public void askUnregisteredActorThenEmitNoSuchElementException() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("AskTest-3");
+
+        system.ask(new Message(1), SilentActor.class, 1000)
+                .test()
+                .assertError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void replyTwiceToAskedMessageThenEmitFirstReplyOnly() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("AskTest-4");
+        SilentActor actor = new SilentActor();
+        system.register(actor);
+
+        TestObserver<Message> reply = system.ask(new Message(1), SilentActor.class, 1000).test();
+        system.reply(actor.received.get(0), new Message(2));
+        system.reply(actor.received.get(0), new Message(3));
+        system.unregister(actor);
+
+        reply.assertValueCount(1);
+        assertEquals(2, reply.values().get(0).getId());
+    }
+
+    @Test
+    public void replyToSentMessageThenSendReplyToReplyToActor() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("AskTest-5");
+        EchoActor actor = new EchoActor(system);
+        SilentActor replyToActor = new SilentActor();
+        system.register(actor);
+        system.register(replyToActor);
+
+        system.send(new Message(1, "content", SilentActor.class), EchoActor.class);
+        system.unregister(actor);
+        system.unregister(replyToActor);
+
+        assertEquals(1, replyToActor.received.size());
+        assertEquals("echo:content", replyToActor.received.get(0).getContent());
+    }
+
+    private static class EchoActor implements Actor {
+
+        private final ActorSystemInstance system;
+
+        EchoActor(ActorSystemInstance system) {
+            this.system = system;
+        }
+
+        @Override
+        public void onMessageReceived(Message message) {
+            system.reply(message, new Message(message.getId(), "echo:" + message.getContent()));
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+
+    private static class SilentActor implements Actor {
+
+        final List<Message> received = new ArrayList<>();
+
+        @Override
+        public void onMessageReceived(Message message) {
+            received.add(message);
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.trampoline();
+        }
+    }
+}
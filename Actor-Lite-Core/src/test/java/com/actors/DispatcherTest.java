@@ -0,0 +1,272 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class DispatcherTest {
+
+    @Test(timeout = 5000)
+    public void deliverToManyBusyActorsThenGiveEveryActorOneTurnAtATime() throws Exception {
+        Dispatcher dispatcher = new Dispatcher(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.scheduleDirect(await(release));
+
+        List<String> deliveries = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch delivered = new CountDownLatch(6);
+        Mailbox first = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        Mailbox second = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        first.attach(dispatcher, record("first", deliveries, delivered), printStackTrace(), doNothing());
+        second.attach(dispatcher, record("second", deliveries, delivered), printStackTrace(), doNothing());
+        for (int i = 0; i < 3; i++) {
+            first.offer(new Message(i));
+            second.offer(new Message(i));
+        }
+
+        release.countDown();
+        delivered.await();
+        dispatcher.shutdown();
+
+        assertEquals(Arrays.asList("first", "second", "first", "second", "first", "second"),
+                deliveries);
+    }
+
+    @Test(timeout = 5000)
+    public void scheduleManyTasksOnOneWorkerThenRunThemInOrderWithoutOverlapping()
+            throws Exception {
+        Dispatcher dispatcher = new Dispatcher(4);
+        Scheduler.Worker worker = dispatcher.createWorker();
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            final int task = i;
+            worker.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (running.incrementAndGet() != 1) {
+                        overlapped.set(true);
+                    }
+                    order.add(task);
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        worker.dispose();
+        dispatcher.shutdown();
+
+        assertFalse(overlapped.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void scheduleDelayedTaskThenRunOnDispatcherThread() throws Exception {
+        Dispatcher dispatcher = new Dispatcher(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        dispatcher.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                threadName.set(Thread.currentThread().getName());
+                done.countDown();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+
+        done.await();
+        dispatcher.shutdown();
+
+        assertTrue(threadName.get().startsWith("ActorDispatcher-"));
+        assertFalse(threadName.get().contains("timer"));
+    }
+
+    @Test(timeout = 5000)
+    public void disposeDelayedTaskThenDoNotRunIt() throws Exception {
+        Dispatcher dispatcher = new Dispatcher(1);
+        final AtomicBoolean ran = new AtomicBoolean();
+        Disposable task = dispatcher.createWorker().schedule(new Runnable() {
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        task.dispose();
+        Thread.sleep(150);
+        dispatcher.shutdown();
+
+        assertFalse(ran.get());
+    }
+
+    @Test(timeout = 5000)
+    public void registerActorOnComputationWithConfiguredDispatcherThenReceiveOnDispatcher()
+            throws Exception {
+        Dispatcher dispatcher = new Dispatcher(2);
+        ActorSystemInstance actorSystem = ActorSystemInstance.getInstance(
+                "registerActorOnComputationWithConfiguredDispatcherThenReceiveOnDispatcher",
+                new ActorSystemConfiguration.Builder().spawnActors(false).dispatcher(dispatcher).build());
+
+        DispatchedActor actor = new DispatchedActor();
+        actorSystem.register(actor);
+        actorSystem.send(1, DispatchedActor.class);
+        assertTrue(actor.received.await(4, TimeUnit.SECONDS));
+        actorSystem.unregister(actor);
+        dispatcher.shutdown();
+
+        assertTrue(actor.threadName.startsWith("ActorDispatcher-"));
+    }
+
+    @Test(timeout = 5000)
+    public void registerActorOnVirtualThreadsConfigurationThenReceiveOnVirtualThread()
+            throws Exception {
+        assumeTrue(Dispatcher.isVirtualThreadsSupported());
+        ActorSystemInstance actorSystem = ActorSystemInstance.getInstance(
+                "registerActorOnVirtualThreadsConfigurationThenReceiveOnVirtualThread",
+                new ActorSystemConfiguration.Builder().spawnActors(false).virtualThreads(true).build());
+
+        DispatchedActor actor = new DispatchedActor();
+        actorSystem.register(actor);
+        actorSystem.send(1, DispatchedActor.class);
+        assertTrue(actor.received.await(4, TimeUnit.SECONDS));
+        actorSystem.unregister(actor);
+
+        assertTrue(actor.virtualThread);
+    }
+
+    @Test(timeout = 5000)
+    public void observeOnVirtualThreadsThenBlockManyMailboxesAtTheSameTime() throws Exception {
+        assumeTrue(Dispatcher.isVirtualThreadsSupported());
+        final CountDownLatch blocked = new CountDownLatch(1000);
+        Consumer<Message> blockUntilAllBlocked = new Consumer<Message>() {
+            @Override
+            public void accept(Message message) throws Exception {
+                blocked.countDown();
+                blocked.await();
+            }
+        };
+
+        Mailbox[] mailboxes = new Mailbox[1000];
+        for (int i = 0; i < mailboxes.length; i++) {
+            mailboxes[i] = new MailboxBuilder(null, new ActorSystemConfiguration.Builder().build())
+                    .observeOnVirtualThreads()
+                    .onMessageReceived(blockUntilAllBlocked)
+                    .build()
+                    .getMailbox();
+            mailboxes[i].offer(new Message(i));
+        }
+
+        assertTrue(blocked.await(4, TimeUnit.SECONDS));
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.close();
+        }
+    }
+
+    @Test
+    public void buildManyVirtualThreadsConfigurationsThenShareOneDispatcher() {
+        assumeTrue(Dispatcher.isVirtualThreadsSupported());
+        ActorSystemConfiguration first = new ActorSystemConfiguration.Builder()
+                .virtualThreads(true).build();
+        ActorSystemConfiguration second = new ActorSystemConfiguration.Builder()
+                .virtualThreads(true).build();
+
+        assertSame(first.virtualThreadsDispatcher, second.virtualThreadsDispatcher);
+        assertSame(first.virtualThreadsDispatcher, Dispatcher.sharedVirtualThreads());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void virtualThreadsOnUnsupportedRuntimeThenThrowUnsupportedOperationException() {
+        assumeFalse(Dispatcher.isVirtualThreadsSupported());
+        Dispatcher.virtualThreads();
+    }
+
+    private static Runnable await(final CountDownLatch release) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private static Consumer<Message> record(final String name,
+                                            final List<String> deliveries,
+                                            final CountDownLatch delivered) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                deliveries.add(name);
+                delivered.countDown();
+            }
+        };
+    }
+
+    private static Consumer<Throwable> printStackTrace() {
+        return new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        };
+    }
+
+    private static Action doNothing() {
+        return new Action() {
+            @Override
+            public void run() {
+
+            }
+        };
+    }
+
+    private static class DispatchedActor implements Actor {
+
+        final CountDownLatch received = new CountDownLatch(1);
+        volatile String threadName;
+        volatile boolean virtualThread;
+
+        @Override
+        public void onMessageReceived(Message message) {
+            threadName = Thread.currentThread().getName();
+            virtualThread = Thread.currentThread().toString().startsWith("VirtualThread");
+            received.countDown();
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return Schedulers.computation();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.actors;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DisposablesGroupTest {
+
+    @Test
+    public void putThenContainsKey() {
+        DisposablesGroup group = new DisposablesGroup();
+        group.put(1, Disposables.empty());
+
+        assertTrue(group.containsKey(1));
+        assertFalse(group.containsKey(2));
+    }
+
+    @Test
+    public void removeThenDisposeAndReturnRemovedDisposable() {
+        DisposablesGroup group = new DisposablesGroup();
+        Disposable disposable = Disposables.empty();
+        group.put(1, disposable);
+
+        assertSame(disposable, group.remove(1));
+        assertTrue(disposable.isDisposed());
+        assertTrue(group.isEmpty());
+    }
+
+    @Test
+    public void removeMissingKeyThenReturnNull() {
+        assertNull(new DisposablesGroup().remove(1));
+    }
+
+    @Test
+    public void putManyKeysThenReturnEveryRemainingKey() {
+        DisposablesGroup group = new DisposablesGroup();
+        for (int i = 0; i < 20; i++) {
+            group.put(i, Disposables.empty());
+        }
+        group.remove(5);
+
+        int[] keys = group.keys();
+        Arrays.sort(keys);
+
+        assertEquals(19, keys.length);
+        assertEquals(4, keys[4]);
+        assertEquals(6, keys[5]);
+        assertEquals(19, keys[18]);
+    }
+
+    @Test
+    public void clearThenDisposeAllAndBecomeEmpty() {
+        DisposablesGroup group = new DisposablesGroup();
+        Disposable[] disposables = new Disposable[100];
+        for (int i = 0; i < disposables.length; i++) {
+            disposables[i] = Disposables.empty();
+            group.put(i, disposables[i]);
+        }
+
+        group.clear();
+
+        assertTrue(group.isEmpty());
+        for (int i = 0; i < disposables.length; i++) {
+            assertTrue(disposables[i].isDisposed());
+            assertFalse(group.containsKey(i));
+        }
+    }
+
+    @Test
+    public void putAndRemoveRandomKeysThenMatchHashMap() {
+        DisposablesGroup group = new DisposablesGroup();
+        Map<Integer, Disposable> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(512) * (random.nextBoolean() ? 1 : -1024);
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(key), group.remove(key));
+            } else if (!expected.containsKey(key)) {
+                Disposable disposable = Disposables.empty();
+                expected.put(key, disposable);
+                group.put(key, disposable);
+            }
+            assertEquals(expected.size(), group.size());
+        }
+        for (Integer key : expected.keySet()) {
+            assertTrue(group.containsKey(key));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.LongConsumer;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FlowControlTest {
+
+    @Test
+    public void offerToFullMailboxThenReturnFalseWithoutDroppingPendingMessages() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("FlowControlTest-1",
+                new ActorSystemConfiguration.Builder()
+                        .mailboxCapacity(2)
+                        .mailboxOverflowPolicy(OverflowPolicy.DROP_OLDEST)
+                        .build());
+        SlowActor actor = new SlowActor();
+        system.register(actor);
+
+        boolean first = system.offer(new Message(1), SlowActor.class);
+        boolean second = system.offer(new Message(2), SlowActor.class);
+        boolean third = system.offer(new Message(3), SlowActor.class);
+        actor.scheduler.triggerActions();
+        system.unregister(actor);
+
+        assertTrue(first && second);
+        assertFalse(third);
+        assertEquals(Arrays.asList(1, 2), actor.received);
+    }
+
+    @Test
+    public void offerPooledMessageToUnregisteredActorThenReturnFalseAndPutItBackInPool() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("FlowControlTest-2");
+        PooledMessage message = PooledMessage.obtain(1);
+
+        assertFalse(system.offer(message, SlowActor.class));
+        assertSame(message, PooledMessage.obtain(2));
+    }
+
+    @Test
+    public void sinkFastFlowableToBoundedMailboxThenDeliverAllMessagesWithoutDropping() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("FlowControlTest-3",
+                new ActorSystemConfiguration.Builder().mailboxCapacity(4).build());
+        SlowActor actor = new SlowActor();
+        system.register(actor);
+        final AtomicLong requested = new AtomicLong();
+
+        messages(100)
+                .doOnRequest(new LongConsumer() {
+                    @Override
+                    public void accept(long count) {
+                        requested.addAndGet(count);
+                    }
+                })
+                .subscribe(system.sink(SlowActor.class));
+        long requestedBeforeDelivery = requested.get();
+        actor.scheduler.triggerActions();
+        system.unregister(actor);
+
+        assertEquals(4, requestedBeforeDelivery);
+        assertEquals(100, actor.received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) actor.received.get(i));
+        }
+    }
+
+    @Test
+    public void sinkWithMaxPendingToUnboundedMailboxThenRequestMaxPendingOnly() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("FlowControlTest-4");
+        SlowActor actor = new SlowActor();
+        system.register(actor);
+        final AtomicLong requested = new AtomicLong();
+
+        messages(100)
+                .doOnRequest(new LongConsumer() {
+                    @Override
+                    public void accept(long count) {
+                        requested.addAndGet(count);
+                    }
+                })
+                .subscribe(system.sink(SlowActor.class, 3));
+        long requestedBeforeDelivery = requested.get();
+        system.unregister(actor);
+
+        assertEquals(3, requestedBeforeDelivery);
+    }
+
+    @Test
+    public void sinkToUnregisteredActorThenCancelUpstream() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("FlowControlTest-5");
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        messages(100).doOnCancel(setTrue(cancelled)).subscribe(system.sink(SlowActor.class));
+
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void unregisterActorThenCancelUpstreamOfItsSink() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("FlowControlTest-6");
+        SlowActor actor = new SlowActor();
+        system.register(actor);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Flowable.<Message>never().doOnCancel(setTrue(cancelled))
+                .subscribe(system.sink(SlowActor.class));
+        boolean cancelledBeforeUnregister = cancelled.get();
+        system.unregister(actor);
+
+        assertFalse(cancelledBeforeUnregister);
+        assertTrue(cancelled.get());
+    }
+
+    private static Flowable<Message> messages(int count) {
+        return Flowable.range(0, count).map(new Function<Integer, Message>() {
+            @Override
+            public Message apply(Integer id) {
+                return new Message(id);
+            }
+        });
+    }
+
+    private static Action setTrue(final AtomicBoolean flag) {
+        return new Action() {
+            @Override
+            public void run() {
+                flag.set(true);
+            }
+        };
+    }
+
+    private static class SlowActor implements Actor {
+
+        final TestScheduler scheduler = new TestScheduler();
+        final List<Integer> received = new ArrayList<>();
+
+        @Override
+        public void onMessageReceived(Message message) {
+            received.add(message.getId());
+        }
+
+        @NonNull
+        @Override
+        public Scheduler observeOnScheduler() {
+            return scheduler;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.actors;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MailboxMetricsTest {
+
+    @Test
+    public void recordValuesThenKeepEveryValueWithinItsBucketBounds() {
+        long[] values = {0, 1, 7, 8, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.indexOf(value);
+            assertTrue(Histogram.lowerBoundOf(index) <= value);
+            assertTrue(Histogram.upperBoundOf(index) >= value);
+            assertTrue(Histogram.upperBoundOf(index) - Histogram.lowerBoundOf(index)
+                    <= Histogram.lowerBoundOf(index) / Histogram.SUB_BUCKETS);
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void recordValuesThenReturnPercentilesWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.count());
+        assertEquals(50000, snapshot.percentile(50), 50000 / Histogram.SUB_BUCKETS);
+        assertEquals(99000, snapshot.percentile(99), 99000 / Histogram.SUB_BUCKETS);
+        assertEquals(100000, snapshot.max(), 100000 / Histogram.SUB_BUCKETS);
+        assertEquals(50500, snapshot.mean(), 50500 / Histogram.SUB_BUCKETS);
+    }
+
+    @Test
+    public void offerAndDeliverMessagesThenCountAndTimeThem() {
+        MailboxMetrics metrics = new MailboxMetrics(1);
+        Mailbox mailbox = new Mailbox(MailboxType.UNBOUNDED_LINKED, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, null, metrics);
+        TestScheduler scheduler = new TestScheduler();
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(scheduler, collectIds(received), rethrow(), doNothing());
+
+        for (int i = 0; i < 3; i++) {
+            mailbox.offer(new Message(i));
+        }
+        MailboxSnapshot pending = metrics.snapshot(MailboxMetricsTest.class, mailbox);
+        scheduler.triggerActions();
+        MailboxSnapshot delivered = metrics.snapshot(MailboxMetricsTest.class, mailbox);
+
+        assertEquals(Arrays.asList(0, 1, 2), received);
+        assertEquals(3, pending.depth());
+        assertEquals(3, pending.enqueued());
+        assertEquals(0, pending.dequeued());
+        assertEquals(0, delivered.depth());
+        assertEquals(3, delivered.dequeued());
+        assertEquals(3, delivered.timeInQueue().count());
+        assertEquals(3, delivered.processingTime().count());
+    }
+
+    @Test
+    public void offerToFullMailboxThenCountDroppedMessages() {
+        MailboxMetrics metrics = new MailboxMetrics(16);
+        Mailbox mailbox = new Mailbox(MailboxType.UNBOUNDED_LINKED, 1,
+                OverflowPolicy.DROP_NEWEST, null, metrics);
+
+        mailbox.offer(new Message(1));
+        mailbox.offer(new Message(2));
+        mailbox.offer(new Message(3));
+
+        MailboxSnapshot snapshot = metrics.snapshot(MailboxMetricsTest.class, mailbox);
+        assertEquals(1, snapshot.enqueued());
+        assertEquals(2, snapshot.dropped());
+    }
+
+    @Test
+    public void replacePendingMessagesInConflatingMailboxThenTimeTheDeliveredOne() {
+        MailboxMetrics metrics = new MailboxMetrics(1);
+        Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, null, null, metrics);
+        mailbox.offer(new Message(1, "a"));
+        mailbox.offer(new Message(1, "b"));
+        mailbox.offer(new Message(1, "c"));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+        MailboxSnapshot snapshot = metrics.snapshot(MailboxMetricsTest.class, mailbox);
+
+        assertEquals(1, received.size());
+        assertEquals(3, snapshot.enqueued());
+        assertEquals(2, snapshot.dropped());
+        assertEquals(1, snapshot.timeInQueue().count());
+    }
+
+    @Test
+    public void offerToPriorityMailboxThenCompareOriginalMessages() {
+        Comparator<Message> byIdOfOriginalMessages = new Comparator<Message>() {
+            @Override
+            public int compare(Message left, Message right) {
+                assertSame(Message.class, left.getClass());
+                assertSame(Message.class, right.getClass());
+                return right.getId() - left.getId();
+            }
+        };
+        Mailbox mailbox = new Mailbox(MailboxType.PRIORITY, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, byIdOfOriginalMessages, new MailboxMetrics(1));
+        mailbox.offer(new Message(1));
+        mailbox.offer(new Message(3));
+        mailbox.offer(new Message(2));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(Arrays.asList(3, 2, 1), received);
+    }
+
+    @Test
+    public void takeSnapshotsThenMeasureRatesBetweenThem() {
+        HistogramSnapshot empty = new Histogram().snapshot();
+        MailboxSnapshot previous = new MailboxSnapshot(Object.class, 0, 0, 1, 0, 0, 0, 0,
+                empty, empty);
+        MailboxSnapshot current = new MailboxSnapshot(Object.class, 500000000L, 0, 1, 100, 50, 0,
+                0, empty, empty);
+
+        assertEquals(200, current.enqueuedPerSecond(previous), 0.001);
+        assertEquals(100, current.dequeuedPerSecond(previous), 0.001);
+    }
+
+    @Test
+    public void enableMailboxMetricsThenReturnSnapshotOfEveryRegisteredActor() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("MailboxMetricsTest-1",
+                new ActorSystemConfiguration.Builder()
+                        .mailboxMetrics(true)
+                        .mailboxMetricsSamplingInterval(1)
+                        .build());
+        RecordingActor actor = new RecordingActor();
+        system.register(actor);
+
+        system.send(1, RecordingActor.class);
+        system.send(2, RecordingActor.class);
+        List<MailboxSnapshot> snapshots = system.mailboxesMetrics();
+        system.unregister(actor);
+
+        assertEquals(1, snapshots.size());
+        assertSame(RecordingActor.class, snapshots.get(0).actor());
+        assertEquals(2, snapshots.get(0).dequeued());
+        assertEquals(2, snapshots.get(0).processingTime().count());
+    }
+
+    @Test
+    public void registerActorWithoutMailboxMetricsThenReturnNoSnapshots() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("MailboxMetricsTest-2");
+        RecordingActor actor = new RecordingActor();
+        system.register(actor);
+
+        List<MailboxSnapshot> snapshots = system.mailboxesMetrics();
+        system.unregister(actor);
+
+        assertTrue(snapshots.isEmpty());
+    }
+
+    private static Consumer<Message> collectIds(final List<Integer> received) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                received.add(message.getId());
+            }
+        };
+    }
+
+    private static Consumer<Throwable> rethrow() {
+        return new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) throws Exception {
+                throw new AssertionError(throwable);
+            }
+        };
+    }
+
+    private static Action doNothing() {
+        return new Action() {
+            @Override
+            public void run() {
+
+            }
+        };
+    }
+}
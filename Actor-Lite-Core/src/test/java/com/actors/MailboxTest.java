@@ -0,0 +1,685 @@
+package com.actors;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MailboxTest {
+
+    @Test
+    public void offerToUnboundedMailboxThenDeliverAllMessagesInOrder() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        for (int i = 0; i < 100; i++) {
+            mailbox.offer(new Message(i));
+        }
+
+        assertEquals(100, received.size());
+        assertEquals(99, (int) received.get(99));
+        assertEquals(0, mailbox.size());
+    }
+
+    @Test
+    public void offerToMailboxWithoutActorThenHoldMessagesUntilAttached() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        mailbox.offer(new Message(1));
+        mailbox.offer(new Message(2));
+        assertEquals(2, mailbox.size());
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(2, received.size());
+        assertEquals(1, (int) received.get(0));
+        assertEquals(0, mailbox.size());
+    }
+
+    @Test
+    public void offerToFullMailboxWithDropNewestThenKeepPendingMessages() {
+        Mailbox mailbox = new Mailbox(2, OverflowPolicy.DROP_NEWEST);
+        assertTrue(mailbox.offer(new Message(1)));
+        assertTrue(mailbox.offer(new Message(2)));
+        assertFalse(mailbox.offer(new Message(3)));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(2, received.size());
+        assertEquals(1, (int) received.get(0));
+        assertEquals(2, (int) received.get(1));
+    }
+
+    @Test
+    public void offerToFullMailboxWithDropOldestThenKeepNewestMessages() {
+        Mailbox mailbox = new Mailbox(2, OverflowPolicy.DROP_OLDEST);
+        assertTrue(mailbox.offer(new Message(1)));
+        assertTrue(mailbox.offer(new Message(2)));
+        assertTrue(mailbox.offer(new Message(3)));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(2, received.size());
+        assertEquals(2, (int) received.get(0));
+        assertEquals(3, (int) received.get(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void offerToFullMailboxWithFailThenThrowIllegalStateException() {
+        Mailbox mailbox = new Mailbox(1, OverflowPolicy.FAIL);
+        mailbox.offer(new Message(1));
+        mailbox.offer(new Message(2));
+    }
+
+    @Test(timeout = 5000)
+    public void offerToFullMailboxWithBlockThenWaitUntilActorConsumesMessage() throws Exception {
+        final Mailbox mailbox = new Mailbox(1, OverflowPolicy.BLOCK);
+        mailbox.offer(new Message(1));
+
+        final CountDownLatch offered = new CountDownLatch(1);
+        Thread sender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mailbox.offer(new Message(2));
+                offered.countDown();
+            }
+        });
+        sender.start();
+
+        assertFalse(offered.await(100, TimeUnit.MILLISECONDS));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertTrue(offered.await(4, TimeUnit.SECONDS));
+        sender.join();
+        assertEquals(2, received.size());
+    }
+
+    @Test(timeout = 5000)
+    public void offerWithoutWaitingToFullMailboxWithBlockThenDropMessage() {
+        Mailbox mailbox = new Mailbox(1, OverflowPolicy.BLOCK);
+        assertTrue(mailbox.offerWithoutWaiting(new Message(1)));
+        assertFalse(mailbox.offerWithoutWaiting(new Message(2)));
+        assertEquals(1, mailbox.size());
+    }
+
+    @Test
+    public void offerWithoutWaitingToFullMailboxWithFailThenDropMessage() {
+        Mailbox mailbox = new Mailbox(1, OverflowPolicy.FAIL);
+        assertTrue(mailbox.offerWithoutWaiting(new Message(1)));
+        assertFalse(mailbox.offerWithoutWaiting(new Message(2)));
+        assertEquals(1, mailbox.size());
+    }
+
+    @Test(timeout = 5000)
+    public void offerToOwnFullMailboxWithBlockFromActorThenDropMessage() {
+        final Mailbox mailbox = new Mailbox(1, OverflowPolicy.BLOCK);
+        final List<Boolean> offered = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                if (message.getId() == 1) {
+                    offered.add(mailbox.offer(new Message(2)));
+                    offered.add(mailbox.offer(new Message(3)));
+                }
+            }
+        }, rethrow(), doNothing());
+
+        mailbox.offer(new Message(1));
+
+        assertEquals(Arrays.asList(true, false), offered);
+        assertEquals(0, mailbox.size());
+    }
+
+    @Test
+    public void closeMailboxThenDropPendingMessagesAndInvokeOnMailboxClosedOnce() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        TestScheduler scheduler = new TestScheduler();
+        List<Integer> received = new ArrayList<>();
+        AtomicInteger closedCount = new AtomicInteger();
+        Disposable disposable = mailbox.attach(scheduler, collectIds(received),
+                rethrow(), countClosing(closedCount));
+
+        mailbox.offer(new Message(1));
+        mailbox.close();
+        disposable.dispose();
+        scheduler.triggerActions();
+
+        assertTrue(mailbox.isClosed());
+        assertTrue(disposable.isDisposed());
+        assertFalse(mailbox.offer(new Message(2)));
+        assertEquals(0, mailbox.size());
+        assertEquals(0, received.size());
+        assertEquals(1, closedCount.get());
+    }
+
+    @Test
+    public void disposeActorThenKeepMessagesForTheNextActor() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        List<Integer> received = new ArrayList<>();
+        AtomicInteger closedCount = new AtomicInteger();
+        mailbox.attach(new TestScheduler(), collectIds(received),
+                rethrow(), countClosing(closedCount)).dispose();
+
+        mailbox.offer(new Message(1));
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(1, closedCount.get());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void throwWhileHandlingMessageThenKeepDeliveringNextMessages() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        final List<Integer> received = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                if (message.getId() == 1) {
+                    throw new UnsupportedOperationException();
+                }
+                received.add(message.getId());
+            }
+        }, new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) {
+                errors.add(throwable);
+            }
+        }, doNothing());
+
+        mailbox.offer(new Message(1));
+        mailbox.offer(new Message(2));
+
+        assertEquals(1, errors.size());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void offerToBoundedArrayMailboxThenDeliverAllMessagesInOrder() {
+        Mailbox mailbox = new Mailbox(MailboxType.BOUNDED_ARRAY, 3, OverflowPolicy.DROP_NEWEST, null);
+        assertTrue(mailbox.offer(new Message(1)));
+        assertTrue(mailbox.offer(new Message(2)));
+        assertTrue(mailbox.offer(new Message(3)));
+        assertFalse(mailbox.offer(new Message(4)));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+        mailbox.offer(new Message(5));
+
+        assertEquals(4, received.size());
+        assertEquals(1, (int) received.get(0));
+        assertEquals(5, (int) received.get(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createBoundedArrayMailboxWithUnboundedCapacityThenThrowIllegalArgumentException() {
+        new Mailbox(MailboxType.BOUNDED_ARRAY, Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST, null);
+    }
+
+    @Test
+    public void offerToPriorityMailboxThenDeliverByPriorityThenBySendingOrder() {
+        Mailbox mailbox = new Mailbox(MailboxType.PRIORITY, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, byContent());
+        mailbox.offer(new Message(1, 2));
+        mailbox.offer(new Message(2, 1));
+        mailbox.offer(new Message(3, 2));
+        mailbox.offer(new Message(4, 1));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(Arrays.asList(2, 4, 1, 3), received);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createPriorityMailboxWithoutComparatorThenThrowIllegalArgumentException() {
+        new Mailbox(MailboxType.PRIORITY, Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST, null);
+    }
+
+    @Test
+    public void deliverBurstLongerThanTurnBudgetThenYieldTurnAndCountDeferredTurns() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        mailbox.setTurnBudget(TimeUnit.MILLISECONDS.toNanos(1));
+        for (int i = 0; i < 3; i++) {
+            mailbox.offer(new Message(i));
+        }
+        List<Runnable> turns = new ArrayList<>();
+        final List<Integer> received = new ArrayList<>();
+        mailbox.attach(postingScheduler(turns), new Consumer<Message>() {
+            @Override
+            public void accept(Message message) throws Exception {
+                Thread.sleep(2);
+                received.add(message.getId());
+            }
+        }, rethrow(), doNothing());
+
+        turns.remove(0).run();
+        int receivedInFirstTurn = received.size();
+        while (!turns.isEmpty()) {
+            turns.remove(0).run();
+        }
+
+        assertEquals(1, receivedInFirstTurn);
+        assertEquals(Arrays.asList(0, 1, 2), received);
+        assertEquals(2, mailbox.deferredTurns());
+    }
+
+    @Test
+    public void deliverBurstWithoutTurnBudgetThenDeliverAllInOneTurn() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 3; i++) {
+            mailbox.offer(new Message(i));
+        }
+        List<Runnable> turns = new ArrayList<>();
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(postingScheduler(turns), collectIds(received), rethrow(),
+                doNothing());
+
+        turns.remove(0).run();
+
+        assertTrue(turns.isEmpty());
+        assertEquals(Arrays.asList(0, 1, 2), received);
+        assertEquals(0, mailbox.deferredTurns());
+    }
+
+    @Test(timeout = 5000)
+    public void deliverBurstOnDispatcherWithoutTurnBudgetThenDoNotCountDeferredTurns()
+            throws Exception {
+        Dispatcher dispatcher = new Dispatcher(1, 1);
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 3; i++) {
+            mailbox.offer(new Message(i));
+        }
+        final CountDownLatch received = new CountDownLatch(3);
+        mailbox.attach(dispatcher, new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                received.countDown();
+            }
+        }, rethrow(), doNothing());
+
+        received.await();
+        dispatcher.shutdown();
+
+        assertEquals(0, mailbox.deferredTurns());
+    }
+
+    @Test
+    public void offerToConflatingMailboxThenDeliverLatestMessagePerIdInFirstSentOrder() {
+        Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, null);
+        mailbox.offer(new Message(1, "a"));
+        mailbox.offer(new Message(2, "b"));
+        mailbox.offer(new Message(1, "c"));
+        mailbox.offer(new Message(3, "d"));
+        mailbox.offer(new Message(2, "e"));
+        int pending = mailbox.size();
+
+        List<String> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectContents(received), rethrow(), doNothing());
+
+        assertEquals(3, pending);
+        assertEquals(Arrays.asList("c", "e", "d"), received);
+    }
+
+    @Test
+    public void offerToConflatingMailboxWithKeyThenKeepLatestMessagePerKey() {
+        Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, null, byContentKey(), null);
+        mailbox.offer(new Message(1, "a"));
+        mailbox.offer(new Message(2, "b"));
+        mailbox.offer(new Message(3, "a"));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(Arrays.asList(3, 2), received);
+    }
+
+    @Test
+    public void offerToFullConflatingMailboxThenReplacePendingMessageOfSameId() {
+        Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, 1, OverflowPolicy.DROP_NEWEST, null);
+
+        boolean first = mailbox.offer(new Message(1, "a"));
+        boolean otherId = mailbox.offer(new Message(2, "b"));
+        boolean sameId = mailbox.offer(new Message(1, "c"));
+        List<String> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectContents(received), rethrow(), doNothing());
+
+        assertTrue(first && sameId);
+        assertFalse(otherId);
+        assertEquals(Arrays.asList("c"), received);
+    }
+
+    @Test
+    public void replacePooledMessageInConflatingMailboxThenPutItBackInPool() {
+        Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, null);
+        PooledMessage pooled = PooledMessage.obtain(1);
+        mailbox.offer(pooled);
+        PooledMessage.releaseIfPooled(pooled);
+
+        mailbox.offer(new Message(1));
+
+        assertSame(pooled, PooledMessage.obtain(2));
+    }
+
+    @Test
+    public void offerPooledMessageToConflatingMailboxWithFailingKeyThenPutItBackInPool() {
+        Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, Mailbox.UNBOUNDED,
+                OverflowPolicy.DROP_NEWEST, null, new Function<Message, Object>() {
+            @Override
+            public Object apply(Message message) {
+                throw new IllegalArgumentException("no key");
+            }
+        }, null);
+        PooledMessage pooled = PooledMessage.obtain(1);
+
+        IllegalArgumentException failure = null;
+        try {
+            mailbox.offer(pooled);
+        } catch (IllegalArgumentException e) {
+            failure = e;
+        }
+        PooledMessage.releaseIfPooled(pooled);
+
+        assertTrue(failure != null);
+        assertEquals(0, mailbox.size());
+        assertSame(pooled, PooledMessage.obtain(2));
+    }
+
+    @Test(timeout = 10000)
+    public void offerFromManyThreadsToConflatingMailboxThenDeliverEveryKeyInOrderEndingWithLatest()
+            throws Exception {
+        final Mailbox mailbox = new Mailbox(MailboxType.CONFLATING, 64, OverflowPolicy.BLOCK, null);
+        final int threads = 4;
+        final int keysPerThread = 8;
+        final int iterations = 10000;
+        final AtomicIntegerArray lastReceived = new AtomicIntegerArray(threads * keysPerThread);
+        final AtomicInteger outOfOrder = new AtomicInteger();
+        mailbox.attach(Schedulers.single(), new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                int content = message.getContent();
+                if (content < lastReceived.get(message.getId())) {
+                    outOfOrder.incrementAndGet();
+                }
+                lastReceived.set(message.getId(), content);
+            }
+        }, rethrow(), doNothing());
+
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int firstKey = t * keysPerThread;
+            senders.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < iterations; i++) {
+                        mailbox.offer(new Message(firstKey + i % keysPerThread, i));
+                    }
+                }
+            }));
+        }
+        for (Thread sender : senders) {
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+        for (int key = 0; key < lastReceived.length(); key++) {
+            while (lastReceived.get(key) != iterations - keysPerThread + key % keysPerThread) {
+                Thread.yield();
+            }
+        }
+        mailbox.close();
+
+        assertEquals(0, mailbox.size());
+        assertEquals(0, outOfOrder.get());
+    }
+
+    @Test(timeout = 10000)
+    public void offerFromManyThreadsToEveryMailboxTypeThenDeliverEveryMessage() throws Exception {
+        int[] types = {MailboxType.UNBOUNDED_LINKED, MailboxType.BOUNDED_ARRAY,
+                MailboxType.PRIORITY, MailboxType.SINGLE_CONSUMER_SPIN};
+        for (int type : types) {
+            Mailbox mailbox = new Mailbox(type, 64, OverflowPolicy.BLOCK, byContent());
+            int threads = 4;
+            int iterations = 10000;
+            CountDownLatch delivered = new CountDownLatch(threads * iterations);
+            mailbox.attach(Schedulers.single(), countDown(delivered), rethrow(), doNothing());
+
+            List<Thread> senders = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                senders.add(new Thread(offerMessages(mailbox, iterations)));
+            }
+            for (Thread sender : senders) {
+                sender.start();
+            }
+            for (Thread sender : senders) {
+                sender.join();
+            }
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(0, mailbox.size());
+            mailbox.close();
+        }
+    }
+
+    @Test
+    public void transferToAnotherMailboxThenMoveAndForwardMessages() {
+        Mailbox postponed = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        postponed.offer(new Message(1));
+        Mailbox mailbox = new Mailbox(MailboxType.BOUNDED_ARRAY, 4, OverflowPolicy.DROP_NEWEST, null);
+        postponed.transferTo(mailbox);
+        postponed.offer(new Message(2));
+
+        List<Integer> received = new ArrayList<>();
+        mailbox.attach(Schedulers.trampoline(), collectIds(received), rethrow(), doNothing());
+
+        assertEquals(Arrays.asList(1, 2), received);
+        assertEquals(0, postponed.size());
+    }
+
+    @Test
+    public void attachBatchToMailboxWithPendingMessagesThenDeliverThemInBatchesOfMaxSize() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++) {
+            mailbox.offer(new Message(i));
+        }
+
+        List<List<Message>> batches = new ArrayList<>();
+        mailbox.attachBatch(Schedulers.trampoline(), collectBatches(batches), 2, 0,
+                TimeUnit.MILLISECONDS, rethrow(), doNothing());
+
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+        assertEquals(4, batches.get(2).get(0).getId());
+    }
+
+    @Test
+    public void offerLessThanMaxBatchSizeWithLingerThenDeliverAfterLingerTime() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        TestScheduler scheduler = new TestScheduler();
+        List<List<Message>> batches = new ArrayList<>();
+        mailbox.attachBatch(scheduler, collectBatches(batches), 4, 10,
+                TimeUnit.MILLISECONDS, rethrow(), doNothing());
+
+        mailbox.offer(new Message(1));
+        scheduler.triggerActions();
+        mailbox.offer(new Message(2));
+        scheduler.advanceTimeBy(9, TimeUnit.MILLISECONDS);
+        assertEquals(0, batches.size());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    public void offerMaxBatchSizeWithLingerThenDeliverWithoutWaiting() {
+        Mailbox mailbox = new Mailbox(Mailbox.UNBOUNDED, OverflowPolicy.DROP_NEWEST);
+        TestScheduler scheduler = new TestScheduler();
+        List<List<Message>> batches = new ArrayList<>();
+        mailbox.attachBatch(scheduler, collectBatches(batches), 2, 10,
+                TimeUnit.MILLISECONDS, rethrow(), doNothing());
+
+        mailbox.offer(new Message(1));
+        mailbox.offer(new Message(2));
+        scheduler.triggerActions();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    private static Consumer<List<Message>> collectBatches(final List<List<Message>> batches) {
+        return new Consumer<List<Message>>() {
+            @Override
+            public void accept(List<Message> batch) {
+                batches.add(batch);
+            }
+        };
+    }
+
+    private static Runnable offerMessages(final Mailbox mailbox, final int iterations) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < iterations; i++) {
+                    mailbox.offer(new Message(i, i));
+                }
+            }
+        };
+    }
+
+    private static Comparator<Message> byContent() {
+        return new Comparator<Message>() {
+            @Override
+            public int compare(Message left, Message right) {
+                int leftContent = left.getContent();
+                int rightContent = right.getContent();
+                return leftContent < rightContent ? -1 : (leftContent == rightContent ? 0 : 1);
+            }
+        };
+    }
+
+    private static Consumer<Message> countDown(final CountDownLatch delivered) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                delivered.countDown();
+            }
+        };
+    }
+
+    private static Consumer<Message> collectIds(final List<Integer> received) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                received.add(message.getId());
+            }
+        };
+    }
+
+    private static Consumer<Message> collectContents(final List<String> received) {
+        return new Consumer<Message>() {
+            @Override
+            public void accept(Message message) {
+                received.add(message.<String>getContent());
+            }
+        };
+    }
+
+    private static Function<Message, Object> byContentKey() {
+        return new Function<Message, Object>() {
+            @Override
+            public Object apply(Message message) {
+                return message.getContent();
+            }
+        };
+    }
+
+    /**
+     * a {@link Scheduler} that keeps every scheduled task in the passed list, like a Handler
+     * that posts every task to the end of it's Looper's queue
+     */
+    private static Scheduler postingScheduler(final List<Runnable> tasks) {
+        return new Scheduler() {
+            @Override
+            public Worker createWorker() {
+                return new Worker() {
+
+                    private volatile boolean disposed;
+
+                    @Override
+                    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+                        tasks.add(task);
+                        return Disposables.empty();
+                    }
+
+                    @Override
+                    public void dispose() {
+                        disposed = true;
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return disposed;
+                    }
+                };
+            }
+        };
+    }
+
+    private static Consumer<Throwable> rethrow() {
+        return new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable throwable) throws Exception {
+                throw new AssertionError(throwable);
+            }
+        };
+    }
+
+    private static Action countClosing(final AtomicInteger closedCount) {
+        return new Action() {
+            @Override
+            public void run() {
+                closedCount.incrementAndGet();
+            }
+        };
+    }
+
+    private static Action doNothing() {
+        return new Action() {
+            @Override
+            public void run() {
+
+            }
+        };
+    }
+}
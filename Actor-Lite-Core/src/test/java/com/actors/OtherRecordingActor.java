@@ -0,0 +1,17 @@
+package com.actors;
+
+import io.reactivex.Scheduler;
+
+/**
+ * a second address for a {@link RecordingActor}, for tests that send to more than one Actor
+ */
+class OtherRecordingActor extends RecordingActor {
+
+    OtherRecordingActor() {
+        super();
+    }
+
+    OtherRecordingActor(Scheduler scheduler) {
+        super(scheduler);
+    }
+}
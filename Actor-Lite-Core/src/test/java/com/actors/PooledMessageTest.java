@@ -0,0 +1,89 @@
+package com.actors;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class PooledMessageTest {
+
+    @Test
+    public void sendPooledMessageThenDeliverItsContentThenPutItBackInPool() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("PooledMessageTest-1");
+        RecordingActor actor = new RecordingActor(Schedulers.trampoline());
+        system.register(actor);
+
+        PooledMessage message = PooledMessage.obtain(1, "content");
+        system.send(message, RecordingActor.class);
+        system.unregister(actor);
+
+        assertEquals(1, (int) actor.received.get(0));
+        assertEquals("content", actor.contents.get(0));
+        assertNull(message.getContent());
+        assertSame(message, PooledMessage.obtain(2));
+    }
+
+    @Test
+    public void sendPooledMessageToTwoActorsThenPutItBackInPoolAfterBothReceiveIt() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("PooledMessageTest-2");
+        TestScheduler scheduler = new TestScheduler();
+        RecordingActor actor = new RecordingActor(scheduler);
+        OtherRecordingActor otherActor = new OtherRecordingActor(scheduler);
+        system.register(actor);
+        system.register(otherActor);
+
+        PooledMessage message = PooledMessage.obtain(1, "content");
+        system.send(message, RecordingActor.class, OtherRecordingActor.class);
+        PooledMessage obtainedWhilePending = PooledMessage.obtain(2);
+        scheduler.triggerActions();
+        system.unregister(actor);
+        system.unregister(otherActor);
+
+        assertNotSame(message, obtainedWhilePending);
+        assertEquals(Arrays.<Object>asList("content"), actor.contents);
+        assertEquals(Arrays.<Object>asList("content"), otherActor.contents);
+        assertSame(message, PooledMessage.obtain(3));
+    }
+
+    @Test
+    public void sendPooledMessageToFullMailboxThenPutItBackInPool() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("PooledMessageTest-3",
+                new ActorSystemConfiguration.Builder()
+                        .mailboxCapacity(1)
+                        .mailboxOverflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .build());
+        TestScheduler scheduler = new TestScheduler();
+        RecordingActor actor = new RecordingActor(scheduler);
+        system.register(actor);
+
+        system.send(PooledMessage.obtain(1), RecordingActor.class);
+        PooledMessage dropped = PooledMessage.obtain(2);
+        system.send(dropped, RecordingActor.class);
+        PooledMessage obtainedAfterDrop = PooledMessage.obtain(3);
+        scheduler.triggerActions();
+        system.unregister(actor);
+
+        assertEquals(1, actor.received.size());
+        assertSame(dropped, obtainedAfterDrop);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void recycleMessageTwiceThenThrowIllegalStateException() {
+        PooledMessage message = PooledMessage.obtain(1);
+        message.recycle();
+        message.recycle();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sendPooledMessagePeriodicallyThenThrowIllegalArgumentException() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("PooledMessageTest-4");
+        ActorScheduler.every(10, system).send(PooledMessage.obtain(1), RecordingActor.class);
+    }
+}
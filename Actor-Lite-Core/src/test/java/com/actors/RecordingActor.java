@@ -0,0 +1,41 @@
+package com.actors;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * an Actor that records the ids and the contents of the messages it receives, the contents are
+ * taken while the {@link Message} is received, since a {@link PooledMessage} is cleared after
+ * that
+ */
+class RecordingActor implements Actor {
+
+    final List<Integer> received = new ArrayList<>();
+    final List<Object> contents = new ArrayList<>();
+    private final Scheduler scheduler;
+
+    RecordingActor() {
+        this(Schedulers.trampoline());
+    }
+
+    RecordingActor(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void onMessageReceived(Message message) {
+        received.add(message.getId());
+        contents.add(message.getContent());
+    }
+
+    @NonNull
+    @Override
+    public Scheduler observeOnScheduler() {
+        return scheduler;
+    }
+}
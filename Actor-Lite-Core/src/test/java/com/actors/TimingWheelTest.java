@@ -0,0 +1,221 @@
+package com.actors;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.disposables.Disposable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test(timeout = 5000)
+    public void scheduleTaskThenRunItNotBeforeItsDelay() throws Exception {
+        TimingWheel wheel = new TimingWheel(5, TimeUnit.MILLISECONDS, 8);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicLong ranAt = new AtomicLong();
+        long scheduledAt = System.nanoTime();
+
+        wheel.schedule(recordTime(ran, ranAt), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(ran.await(4, TimeUnit.SECONDS));
+        assertTrue(ranAt.get() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test(timeout = 5000)
+    public void scheduleTaskFurtherThanOneRoundThenRunItAfterAllRounds() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 4);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicLong ranAt = new AtomicLong();
+        long scheduledAt = System.nanoTime();
+
+        wheel.schedule(recordTime(ran, ranAt), 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(ran.await(4, TimeUnit.SECONDS));
+        assertTrue(ranAt.get() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test(timeout = 5000)
+    public void cancelScheduledTaskThenDoNotRunIt() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch laterTaskRan = new CountDownLatch(1);
+
+        Disposable cancelled = wheel.schedule(increment(runs), 20, TimeUnit.MILLISECONDS);
+        cancelled.dispose();
+        wheel.schedule(countDown(laterTaskRan), 40, TimeUnit.MILLISECONDS);
+
+        assertTrue(laterTaskRan.await(4, TimeUnit.SECONDS));
+        assertTrue(cancelled.isDisposed());
+        assertEquals(0, runs.get());
+    }
+
+    @Test(timeout = 5000)
+    public void scheduleAndCancelManyTasksThenRunTheRemainingOnesOnly() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 16);
+        AtomicInteger runs = new AtomicInteger();
+        Disposable[] timeouts = new Disposable[10000];
+        for (int i = 0; i < timeouts.length; i++) {
+            timeouts[i] = wheel.schedule(increment(runs), 200 + i % 50, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < timeouts.length; i += 2) {
+            timeouts[i].dispose();
+        }
+
+        while (wheel.pendingTimeouts() > 0) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(timeouts.length / 2, runs.get());
+    }
+
+    @Test(timeout = 5000)
+    public void scheduleTaskAfterWheelIsIdleThenRunIt() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        CountDownLatch firstRan = new CountDownLatch(1);
+        wheel.schedule(countDown(firstRan), 1, TimeUnit.MILLISECONDS);
+        assertTrue(firstRan.await(4, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        CountDownLatch secondRan = new CountDownLatch(1);
+        AtomicLong ranAt = new AtomicLong();
+        long scheduledAt = System.nanoTime();
+        wheel.schedule(recordTime(secondRan, ranAt), 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(secondRan.await(4, TimeUnit.SECONDS));
+        assertTrue(ranAt.get() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test(timeout = 5000)
+    public void runTaskThenDisposeItThenDoNothing() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        CountDownLatch ran = new CountDownLatch(1);
+        Disposable timeout = wheel.schedule(countDown(ran), 1, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(4, TimeUnit.SECONDS));
+        assertTrue(timeout.isDisposed());
+
+        timeout.dispose();
+
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test(timeout = 5000)
+    public void schedulePeriodicallyThenRunManyTimesUntilCancelled() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger runs = new AtomicInteger();
+        Disposable periodic = wheel.schedulePeriodically(increment(runs), 5, 5,
+                TimeUnit.MILLISECONDS, true);
+        while (runs.get() < 3) {
+            Thread.sleep(5);
+        }
+
+        periodic.dispose();
+        int runsWhenCancelled = runs.get();
+        Thread.sleep(50);
+
+        assertTrue(runs.get() <= runsWhenCancelled + 1);
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test(timeout = 5000)
+    public void schedulePeriodicallyAtFixedRateWithSlowTaskThenSkipMissedRuns() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        final AtomicInteger runs = new AtomicInteger();
+        Disposable periodic = wheel.schedulePeriodically(new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 0, 5, TimeUnit.MILLISECONDS, true);
+
+        Thread.sleep(200);
+        periodic.dispose();
+
+        assertTrue(runs.get() <= 5);
+    }
+
+    @Test(timeout = 5000)
+    public void schedulePeriodicallyWithFixedDelayThenRunManyTimes() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        CountDownLatch ran = new CountDownLatch(3);
+        Disposable periodic = wheel.schedulePeriodically(countDown(ran), 5, 5,
+                TimeUnit.MILLISECONDS, false);
+
+        assertTrue(ran.await(4, TimeUnit.SECONDS));
+        periodic.dispose();
+    }
+
+    @Test(timeout = 5000)
+    public void stopWheelThenCancelWaitingTasksWithoutRunningThem() throws Exception {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger runs = new AtomicInteger();
+        Disposable delayed = wheel.schedule(increment(runs), 20, TimeUnit.MILLISECONDS);
+        Disposable periodic = wheel.schedulePeriodically(increment(runs), 20, 20,
+                TimeUnit.MILLISECONDS, true);
+
+        wheel.stop();
+        while (wheel.pendingTimeouts() > 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(60);
+
+        assertTrue(wheel.isStopped());
+        assertTrue(delayed.isDisposed());
+        assertTrue(periodic.isDisposed());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void scheduleTaskOnStoppedWheelThenCancelItRightAway() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        wheel.stop();
+
+        Disposable task = wheel.schedule(increment(new AtomicInteger()), 1, TimeUnit.MILLISECONDS);
+
+        assertTrue(task.isDisposed());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createWheelWithZeroTickThenThrowIllegalArgumentException() {
+        new TimingWheel(0, TimeUnit.MILLISECONDS, 8);
+    }
+
+    private static Runnable recordTime(final CountDownLatch ran, final AtomicLong ranAt) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                ranAt.set(System.nanoTime());
+                ran.countDown();
+            }
+        };
+    }
+
+    private static Runnable increment(final AtomicInteger runs) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        };
+    }
+
+    private static Runnable countDown(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.actors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TopicTest {
+
+    @Test
+    public void publishToTopicThenDeliverToAllSubscribers() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("TopicTest-1");
+        RecordingActor actor = new RecordingActor();
+        OtherRecordingActor otherActor = new OtherRecordingActor();
+        system.register(actor);
+        system.register(otherActor);
+
+        system.subscribe("topic", RecordingActor.class);
+        system.subscribe("topic", OtherRecordingActor.class);
+        system.publish(1, "topic");
+        system.publish(2, "other topic");
+        system.unregister(actor);
+        system.unregister(otherActor);
+
+        assertEquals(1, actor.received.size());
+        assertEquals(1, otherActor.received.size());
+    }
+
+    @Test
+    public void publishMessageThenDeliverToSubscribersOfItsId() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("TopicTest-2");
+        RecordingActor actor = new RecordingActor();
+        system.register(actor);
+
+        system.subscribe(1, RecordingActor.class);
+        system.publish(new Message(1));
+        system.publish(new Message(2));
+        system.unregister(actor);
+
+        assertEquals(1, actor.received.size());
+        assertEquals(1, (int) actor.received.get(0));
+    }
+
+    @Test
+    public void unsubscribeAfterPublishingThenStopDeliveringToSubscriber() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("TopicTest-3");
+        RecordingActor actor = new RecordingActor();
+        OtherRecordingActor otherActor = new OtherRecordingActor();
+        system.register(actor);
+        system.register(otherActor);
+
+        system.subscribe("topic", RecordingActor.class);
+        system.subscribe("topic", OtherRecordingActor.class);
+        system.publish(1, "topic");
+        system.unsubscribe("topic", RecordingActor.class);
+        system.publish(2, "topic");
+        system.unregister(actor);
+        system.unregister(otherActor);
+
+        assertEquals(1, actor.received.size());
+        assertEquals(2, otherActor.received.size());
+    }
+
+    @Test
+    public void registerSubscriberAfterPublishingThenDeliverNextMessages() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("TopicTest-4");
+        RecordingActor actor = new RecordingActor();
+
+        system.subscribe("topic", RecordingActor.class);
+        system.publish(1, "topic");
+        system.register(actor);
+        system.publish(2, "topic");
+        system.unregister(actor);
+
+        assertEquals(1, actor.received.size());
+        assertEquals(2, (int) actor.received.get(0));
+    }
+
+    @Test
+    public void subscribeTwiceThenKeepOneSubscription() {
+        Topic topic = new Topic();
+
+        assertTrue(topic.subscribe(RecordingActor.class));
+        assertFalse(topic.subscribe(RecordingActor.class));
+        assertEquals(1, topic.subscribers().length);
+    }
+
+    @Test
+    public void publishPooledMessageWithoutSubscribersThenPutItBackInPool() {
+        ActorSystemInstance system = ActorSystemInstance.getInstance("TopicTest-5");
+
+        PooledMessage message = PooledMessage.obtain(1);
+        system.publish(message, "topic");
+
+        assertSame(message, PooledMessage.obtain(2));
+    }
+}
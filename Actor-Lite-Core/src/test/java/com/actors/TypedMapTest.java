@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.reactivex.Observable;
 import io.reactivex.annotations.NonNull;
@@ -180,6 +181,18 @@ public class TypedMapTest {
         map.put(B.class, 1).get(A.class).blockingFirst();
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void putNullKeyThenThrowIllegalArgumentException() {
+        TypedMap<Integer> map = new TypedMap<>(new ConcurrentHashMap<Object,Integer>());
+        map.put(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removeNullKeyThenThrowIllegalArgumentException() {
+        TypedMap<Integer> map = new TypedMap<>(new ConcurrentHashMap<Object,Integer>());
+        map.remove(null);
+    }
+
     @Test
     public void putTwoObjectKeysOfSameTypeAndRemoveOldThenGetByClassKeyReturnsNewOne() {
         TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
@@ -189,6 +202,46 @@ public class TypedMapTest {
         assertEquals(2, (long) map.get(A.class).blockingFirst());
     }
 
+    @Test
+    public void valuesOfClassKeyAndObjectKeysThenReturnAllValuesInInsertionOrder() {
+        TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
+        map.put(new A(), 1).put(new B(), 2).put(A.class, 3);
+        List<Integer> result = map.valuesOf(A.class);
+        assertTrue(result.size() == 2 && result.get(0) == 1 && result.get(1) == 3);
+    }
+
+    @Test
+    public void valuesOfRemovedKeyThenReturnEmptyList() {
+        TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
+        A key = new A();
+        map.put(key, 1).remove(key);
+        assertTrue(map.valuesOf(A.class).isEmpty());
+    }
+
+    @Test
+    public void valuesOfThenKeepSnapshotUnchangedAfterPut() {
+        TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
+        map.put(new A(), 1);
+        List<Integer> snapshot = map.valuesOf(A.class);
+        map.put(new A(), 2);
+        assertTrue(snapshot.size() == 1 && map.valuesOf(A.class).size() == 2);
+    }
+
+    @Test
+    public void clearNonEmptyMapThenReturnEmptyValuesOfClass() {
+        TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
+        assertTrue(map.put(new A(), 0).clear().valuesOf(A.class).isEmpty());
+    }
+
+    @Test
+    public void putRemoveAndRemoveAllThenIncrementVersionForEveryUpdate() {
+        TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
+        A key = new A();
+        int version = map.version();
+        map.put(key, 1).remove(key).put(new A(), 2).removeAll(A.class);
+        assertEquals(version + 4, map.version());
+    }
+
     @Test
     public void convertToIterableThenReturnEntrySetOfMap() {
         TypedMap<Integer> map = new TypedMap<>(new HashMap<Object,Integer>());
@@ -16,6 +16,7 @@ public class ActorLite {
     }
 
     public static void with(@NonNull Application application, ActorSystemConfiguration configuration) {
+        ActorSystemInstance.getInstance(null).setConfiguration(configuration);
         application.registerActivityLifecycleCallbacks(new ActorActivityLifeCycleCallbacks(configuration));
         if (application instanceof Actor) {
             ActorSystem.register((Actor) application);
@@ -0,0 +1,34 @@
+package com.actors;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+/**
+ * the Android parts of {@link MailboxBuilder}, which moved out of it when the Actor-System
+ * became a plain Java library in the <b>Actor-Lite-Core</b> module
+ */
+public class AndroidMailboxBuilder {
+
+    private AndroidMailboxBuilder() {
+
+    }
+
+    /**
+     * set the {@link Looper} that will create a {@link io.reactivex.Scheduler} to host the
+     * invocation of {@link MailboxBuilder#onMessageReceived(io.reactivex.functions.Consumer)}
+     *
+     * @param mailboxBuilder the {@link MailboxBuilder} of the Actor
+     * @param looper         the {@link Looper} of the Observer's {@link io.reactivex.Scheduler}
+     * @return the passed {@link MailboxBuilder} for chaining
+     * @deprecated {@code MailboxBuilder.observeOn(Looper)} is replaced by
+     * {@code mailboxBuilder.observeOn(AndroidSchedulers.from(looper))}, this method will be
+     * removed in the next major version
+     */
+    @Deprecated
+    public static MailboxBuilder observeOn(@NonNull MailboxBuilder mailboxBuilder,
+                                           @NonNull Looper looper) {
+        return mailboxBuilder.observeOn(AndroidSchedulers.from(looper));
+    }
+}
@@ -0,0 +1,75 @@
+package com.actors;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+/**
+ * delivers the messages of an Actor on a {@link Looper} within a time budget for every turn,
+ * so a burst of messages to an Activity or a Fragment does not delay drawing the next frame,
+ * when a turn uses it's budget, the rest of the messages are posted again to the end of the
+ * {@link Looper}'s queue, after the frame callbacks that are already waiting, this is set in
+ * {@link OnCreateMailbox#onCreateMailbox(MailboxBuilder)} like :
+ * <pre>
+ * {@code LooperFrameBudget.observeOnMainThread(mailboxBuilder);}
+ * </pre>
+ * or {@code LooperFrameBudget.observeOn(mailboxBuilder, looper)} for an other {@link Looper},
+ * to observe on a {@link Looper} without a budget, use
+ * {@code mailboxBuilder.observeOn(AndroidSchedulers.from(looper))}
+ * <p>
+ * the number of delayed turns is counted in {@link Mailbox#deferredTurns()}, and in the
+ * {@link MailboxSnapshot} of the Actor if the mailbox metrics are enabled
+ */
+public class LooperFrameBudget {
+
+    /**
+     * the default budget of a turn, a quarter of a 60 fps frame
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 4;
+
+    private LooperFrameBudget() {
+
+    }
+
+    /**
+     * deliver the messages on the main thread, within {@link #DEFAULT_BUDGET_MILLIS} for
+     * every turn
+     *
+     * @param mailboxBuilder the {@link MailboxBuilder} of the Actor
+     * @return the passed {@link MailboxBuilder} for chaining
+     */
+    public static MailboxBuilder observeOnMainThread(@NonNull MailboxBuilder mailboxBuilder) {
+        return observeOn(mailboxBuilder, Looper.getMainLooper());
+    }
+
+    /**
+     * deliver the messages on the passed {@link Looper}, within {@link #DEFAULT_BUDGET_MILLIS}
+     * for every turn
+     *
+     * @param mailboxBuilder the {@link MailboxBuilder} of the Actor
+     * @param looper         the {@link Looper} that will deliver the messages
+     * @return the passed {@link MailboxBuilder} for chaining
+     */
+    public static MailboxBuilder observeOn(@NonNull MailboxBuilder mailboxBuilder,
+                                           @NonNull Looper looper) {
+        return observeOn(mailboxBuilder, looper, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * deliver the messages on the passed {@link Looper}, within the passed budget for every turn
+     *
+     * @param mailboxBuilder the {@link MailboxBuilder} of the Actor
+     * @param looper         the {@link Looper} that will deliver the messages
+     * @param budgetMillis   the maximum time of a turn in milliseconds
+     * @return the passed {@link MailboxBuilder} for chaining
+     */
+    public static MailboxBuilder observeOn(@NonNull MailboxBuilder mailboxBuilder,
+                                           @NonNull Looper looper,
+                                           long budgetMillis) {
+        return mailboxBuilder.observeOn(AndroidSchedulers.from(looper),
+                budgetMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -6,6 +6,9 @@ import android.util.Log;
 import com.actors.Actor;
 import com.actors.Message;
 import com.actors.OnActorUnregistered;
+import com.actors.OnBatchReceived;
+
+import java.util.List;
 
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
@@ -14,7 +17,7 @@ import io.reactivex.schedulers.Schedulers;
  * Created by Ahmed Adel Ismail on 2/27/2018.
  */
 
-public class DatabaseDataSource implements Actor, OnActorUnregistered {
+public class DatabaseDataSource implements Actor, OnBatchReceived, OnActorUnregistered {
 
     public static final int MSG_PING = 1;
 
@@ -28,6 +31,14 @@ public class DatabaseDataSource implements Actor, OnActorUnregistered {
         Log.e(getClass().getSimpleName(), message.getContent().toString());
     }
 
+    @Override
+    public void onBatchReceived(List<Message> messages) {
+        Log.e(getClass().getSimpleName(), "Batch size : " + messages.size());
+        for (Message message : messages) {
+            onMessageReceived(message);
+        }
+    }
+
     @NonNull
     @Override
     public Scheduler observeOnScheduler() {